@@ -0,0 +1,79 @@
+package com.selimhorri.app.config.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Streams the downstream body to the client while keeping a copy, handed over once complete.
+ * Nothing is handed over when the response is not capturable or its body exceeds the maximum size.
+ * CORS headers are not kept, they answer the Origin of this request and are set again for every replay.
+ */
+class BodyCapturingResponseDecorator extends ServerHttpResponseDecorator {
+	
+	private static final String CORS_HEADER_PREFIX = "Access-Control-";
+	private static final List<String> CORS_VARY_VALUES = List.of(HttpHeaders.ORIGIN, 
+			HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+	
+	private final int maximumSize;
+	private final Predicate<ServerHttpResponse> capturable;
+	private final Consumer<CapturedResponse> onCaptured;
+	private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+	private boolean overflowed;
+	
+	BodyCapturingResponseDecorator(final ServerHttpResponse delegate, final int maximumSize, 
+			final Predicate<ServerHttpResponse> capturable, final Consumer<CapturedResponse> onCaptured) {
+		super(delegate);
+		this.maximumSize = maximumSize;
+		this.capturable = capturable;
+		this.onCaptured = onCaptured;
+	}
+	
+	@Override
+	public Mono<Void> writeWith(final Publisher<? extends DataBuffer> body) {
+		if (!this.capturable.test(this))
+			return super.writeWith(body);
+		return super.writeWith(Flux.from(body)
+				.doOnNext(this::keepCopy)
+				.doOnComplete(this::complete));
+	}
+	
+	private void keepCopy(final DataBuffer buffer) {
+		if (this.overflowed || this.copy.size() + buffer.readableByteCount() > this.maximumSize) {
+			this.overflowed = true;
+			return;
+		}
+		final byte[] bytes = new byte[buffer.readableByteCount()];
+		buffer.asByteBuffer().get(bytes);
+		this.copy.write(bytes, 0, bytes.length);
+	}
+	
+	private void complete() {
+		if (this.overflowed)
+			return;
+		final HttpHeaders headers = new HttpHeaders();
+		headers.addAll(this.getHeaders());
+		headers.remove(HttpHeaders.CONTENT_LENGTH);
+		headers.remove(HttpHeaders.TRANSFER_ENCODING);
+		headers.keySet().removeIf(name -> name.regionMatches(true, 0, CORS_HEADER_PREFIX, 0, CORS_HEADER_PREFIX.length()));
+		headers.setVary(headers.getVary().stream()
+				.filter(value -> !CORS_VARY_VALUES.contains(value))
+				.collect(Collectors.toUnmodifiableList()));
+		if (headers.getVary().isEmpty())
+			headers.remove(HttpHeaders.VARY);
+		this.onCaptured.accept(new CapturedResponse(this.getStatusCode(), 
+				HttpHeaders.readOnlyHttpHeaders(headers), this.copy.toByteArray()));
+	}
+	
+}
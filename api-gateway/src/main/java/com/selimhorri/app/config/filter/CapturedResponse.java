@@ -0,0 +1,49 @@
+package com.selimhorri.app.config.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+
+import lombok.Value;
+import reactor.core.publisher.Mono;
+
+/**
+ * Complete downstream response kept by {@link BodyCapturingResponseDecorator}, replayable on another exchange
+ */
+@Value
+class CapturedResponse {
+	
+	HttpStatus status;
+	HttpHeaders headers;
+	byte[] body;
+	
+	Mono<Void> writeTo(final ServerWebExchange exchange) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(this.status);
+		this.copyHeadersTo(response.getHeaders());
+		response.getHeaders().setContentLength(this.body.length);
+		return response.writeWith(Mono.just(response.bufferFactory().wrap(this.body)));
+	}
+	
+	/**
+	 * Replays the captured headers over the ones of the current response, except Vary whose values
+	 * are merged so the ones added for the current request (CORS) are kept
+	 */
+	void copyHeadersTo(final HttpHeaders target) {
+		this.headers.forEach((name, values) -> {
+			if (!HttpHeaders.VARY.equalsIgnoreCase(name))
+				target.put(name, values);
+		});
+		final List<String> vary = new ArrayList<>(target.getVary());
+		this.headers.getVary().stream()
+				.filter(value -> !vary.contains(value))
+				.forEach(vary::add);
+		if (!vary.isEmpty())
+			target.setVary(vary);
+	}
+	
+}
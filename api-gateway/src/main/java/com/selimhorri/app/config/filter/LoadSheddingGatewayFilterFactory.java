@@ -0,0 +1,157 @@
+package com.selimhorri.app.config.filter;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+
+/**
+ * Adaptive concurrency limit per route: requests over the limit are rejected right away with 503 and Retry-After
+ * instead of queueing on a struggling service. The limit starts at max-inflight, shrinks multiplicatively while
+ * the smoothed (EWMA) latency is over latency-threshold and grows back by one per request once it is under.
+ */
+@Component
+public class LoadSheddingGatewayFilterFactory extends AbstractGatewayFilterFactory<LoadSheddingGatewayFilterFactory.Config> {
+	
+	private final MeterRegistry meterRegistry;
+	
+	/**
+	 * State kept by route id so it survives route refreshes
+	 */
+	private final ConcurrentMap<String, ConcurrencyLimit> limits = new ConcurrentHashMap<>();
+	
+	public LoadSheddingGatewayFilterFactory(final MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		final String routeId = Objects.requireNonNullElse(config.getRouteId(), "none");
+		final ConcurrencyLimit limit = this.limits.computeIfAbsent(routeId, id -> this.register(id, config));
+		
+		return (exchange, chain) -> {
+			if (!limit.tryAcquire(config)) {
+				this.count(routeId, "shed");
+				exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+				exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, 
+						String.valueOf(Math.max(1L, config.getRetryAfter().toSeconds())));
+				return exchange.getResponse().setComplete();
+			}
+			
+			this.count(routeId, "accepted");
+			final long start = System.nanoTime();
+			return chain.filter(exchange)
+					.doFinally(signal -> limit.release(config, System.nanoTime() - start));
+		};
+	}
+	
+	private ConcurrencyLimit register(final String routeId, final Config config) {
+		final ConcurrencyLimit limit = new ConcurrencyLimit(config.getMaxInflight());
+		Gauge.builder("gateway.load.shedding.inflight", limit, ConcurrencyLimit::getInflight)
+				.tag("route", routeId)
+				.register(this.meterRegistry);
+		Gauge.builder("gateway.load.shedding.limit", limit, ConcurrencyLimit::getLimit)
+				.tag("route", routeId)
+				.register(this.meterRegistry);
+		Gauge.builder("gateway.load.shedding.latency", limit, ConcurrencyLimit::getLatencySeconds)
+				.tag("route", routeId)
+				.baseUnit("seconds")
+				.register(this.meterRegistry);
+		return limit;
+	}
+	
+	private void count(final String routeId, final String result) {
+		this.meterRegistry.counter("gateway.load.shedding.requests", "route", routeId, "result", result)
+				.increment();
+	}
+	
+	static final class ConcurrencyLimit {
+		
+		private static final double SMOOTHING = 0.2;
+		private static final double BACKOFF = 0.9;
+		
+		private final AtomicInteger inflight = new AtomicInteger();
+		private volatile double limit;
+		private volatile double latencyNanos;
+		
+		ConcurrencyLimit(final double limit) {
+			this.limit = limit;
+		}
+		
+		boolean tryAcquire(final Config config) {
+			if (this.inflight.incrementAndGet() > this.currentLimit(config)) {
+				this.inflight.decrementAndGet();
+				return false;
+			}
+			return true;
+		}
+		
+		synchronized void release(final Config config, final long latencyNanos) {
+			this.inflight.decrementAndGet();
+			this.latencyNanos = this.latencyNanos == 0 ? latencyNanos 
+					: this.latencyNanos + SMOOTHING * (latencyNanos - this.latencyNanos);
+			final double current = this.currentLimit(config);
+			this.limit = this.latencyNanos > config.getLatencyThreshold().toNanos() 
+					? Math.max(config.getMinInflight(), current * BACKOFF) 
+					: Math.min(config.getMaxInflight(), current + 1);
+		}
+		
+		private double currentLimit(final Config config) {
+			return Math.min(config.getMaxInflight(), this.limit);
+		}
+		
+		double getInflight() {
+			return this.inflight.get();
+		}
+		
+		double getLimit() {
+			return this.limit;
+		}
+		
+		double getLatencySeconds() {
+			return this.latencyNanos / TimeUnit.SECONDS.toNanos(1);
+		}
+		
+	}
+	
+	@Data
+	public static class Config implements HasRouteId {
+		
+		private String routeId;
+		
+		/**
+		 * Concurrency limit of a healthy route
+		 */
+		private int maxInflight = 200;
+		
+		/**
+		 * Floor the limit never shrinks under, keeps a route probing its recovery
+		 */
+		private int minInflight = 10;
+		
+		/**
+		 * Smoothed latency over which the limit shrinks
+		 */
+		private Duration latencyThreshold = Duration.ofSeconds(2);
+		
+		private Duration retryAfter = Duration.ofSeconds(1);
+		
+	}
+	
+	
+	
+}
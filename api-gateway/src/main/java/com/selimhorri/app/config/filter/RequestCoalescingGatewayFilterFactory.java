@@ -0,0 +1,118 @@
+package com.selimhorri.app.config.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Single-flight for anonymous GETs of a route: while a request is in flight, identical requests
+ * (same path and query) wait for it instead of calling the downstream service, the leader response
+ * is streamed to its client and replayed to every waiter once complete. Waiters fall back to their own
+ * downstream call when the leader response can not be shared (status other than 2xx or 404, Set-Cookie, 
+ * larger than maximum-size, no body, error or cancellation), so a transient failure of the leader is not 
+ * handed to every waiter.
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+	
+	static final String COALESCING_STATUS_HEADER = "X-Coalesced";
+	
+	private final MeterRegistry meterRegistry;
+	
+	public RequestCoalescingGatewayFilterFactory(final MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		final ConcurrentMap<String, Sinks.One<CapturedResponse>> inFlight = new ConcurrentHashMap<>();
+		
+		// ahead of NettyWriteResponseFilter so the decorated response is the one it writes to
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			if (!isCoalescable(exchange))
+				return chain.filter(exchange);
+			
+			final String key = exchange.getRequest().getURI().getRawPath() 
+					+ (exchange.getRequest().getURI().getRawQuery() == null ? "" : "?" + exchange.getRequest().getURI().getRawQuery());
+			final Sinks.One<CapturedResponse> sink = Sinks.one();
+			final Sinks.One<CapturedResponse> leader = inFlight.putIfAbsent(key, sink);
+			
+			if (leader != null)
+				return leader.asMono()
+						.flatMap(shared -> {
+							this.count(exchange, "collapsed");
+							exchange.getResponse().getHeaders().set(COALESCING_STATUS_HEADER, "true");
+							return shared.writeTo(exchange).thenReturn(true);
+						})
+						// no shared response, the waiter makes its own downstream call
+						.switchIfEmpty(Mono.defer(() -> {
+							this.count(exchange, "fallback");
+							return chain.filter(exchange).thenReturn(false);
+						}))
+						.then();
+			
+			this.count(exchange, "leader");
+			return chain.filter(exchange.mutate()
+					.response(new BodyCapturingResponseDecorator(exchange.getResponse(), 
+							(int) config.getMaximumSize().toBytes(), RequestCoalescingGatewayFilterFactory::isShareable, 
+							captured -> {
+								// waiters arriving from now on start a new flight
+								inFlight.remove(key, sink);
+								sink.tryEmitValue(captured);
+							}))
+					.build())
+					.doFinally(signal -> {
+						inFlight.remove(key, sink);
+						sink.tryEmitEmpty();
+					});
+		}, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+	}
+	
+	private void count(final ServerWebExchange exchange, final String result) {
+		this.meterRegistry.counter("gateway.request.coalescing.requests", 
+				"route", ResponseCacheGatewayFilterFactory.routeId(exchange), "result", result)
+				.increment();
+	}
+	
+	private static boolean isCoalescable(final ServerWebExchange exchange) {
+		return HttpMethod.GET.equals(exchange.getRequest().getMethod()) 
+				&& !exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION) 
+				&& !exchange.getRequest().getHeaders().containsKey(HttpHeaders.COOKIE);
+	}
+	
+	private static boolean isShareable(final ServerHttpResponse response) {
+		return response.getStatusCode() != null 
+				&& (response.getStatusCode().is2xxSuccessful() || HttpStatus.NOT_FOUND.equals(response.getStatusCode())) 
+				&& !response.getHeaders().containsKey(HttpHeaders.SET_COOKIE);
+	}
+	
+	@Data
+	public static class Config {
+		
+		/**
+		 * Larger leader responses are not replayed, waiters call the downstream service themselves
+		 */
+		private DataSize maximumSize = DataSize.ofKilobytes(512);
+		
+	}
+	
+	
+	
+}
@@ -0,0 +1,205 @@
+package com.selimhorri.app.config.filter;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.Value;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches successful anonymous GET responses of a route, each route gets its own cache bounded by
+ * its ttl and total body size. Cached responses carry a strong ETag (sha-256 of the body), a matching
+ * If-None-Match is answered with 304 and, like any other hit, never reaches the downstream service.
+ * The response filling the cache is streamed to the client as is (without ETag), a copy is kept
+ * up to maximum-entry-size. Responses with Set-Cookie or Cache-Control no-store/private are not cached.
+ * A successful write (POST, PUT, DELETE...) through the route drops the route cache, writes reaching the
+ * service another way (proxy-client, service to service calls such as stock reservations) do not: the ttl
+ * is the staleness bound for those, data changing that way is kept out of the cache with excluded-paths.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+	
+	static final String CACHE_STATUS_HEADER = "X-Cache";
+	
+	private final MeterRegistry meterRegistry;
+	
+	public ResponseCacheGatewayFilterFactory(final MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+	}
+	
+	@Override
+	public GatewayFilter apply(final Config config) {
+		final Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+				.expireAfterWrite(config.getTtl())
+				.maximumWeight(config.getMaximumSize().toBytes())
+				.<String, CachedResponse>weigher((key, cached) -> key.length() + cached.getResponse().getBody().length)
+				.build();
+		final List<PathPattern> excludedPaths = config.getExcludedPaths().stream()
+				.map(PathPatternParser.defaultInstance::parse)
+				.collect(Collectors.toUnmodifiableList());
+		
+		// ahead of NettyWriteResponseFilter so the decorated response is the one it writes to
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			if (isWrite(exchange))
+				return chain.filter(exchange)
+						.doOnSuccess(v -> {
+							if (exchange.getResponse().getStatusCode() != null 
+									&& exchange.getResponse().getStatusCode().is2xxSuccessful())
+								cache.invalidateAll();
+						});
+			if (!isCacheable(exchange) || excludedPaths.stream()
+					.anyMatch(pattern -> pattern.matches(exchange.getRequest().getPath().pathWithinApplication())))
+				return chain.filter(exchange);
+			
+			final String key = exchange.getRequest().getURI().getRawPath() 
+					+ (exchange.getRequest().getURI().getRawQuery() == null ? "" : "?" + exchange.getRequest().getURI().getRawQuery());
+			final CachedResponse cached = cache.getIfPresent(key);
+			if (cached != null)
+				return this.writeCached(exchange, cached);
+			
+			this.count(exchange, "miss");
+			exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+			return chain.filter(exchange.mutate()
+					.response(new BodyCapturingResponseDecorator(exchange.getResponse(), 
+							(int) config.getMaximumEntrySize().toBytes(), ResponseCacheGatewayFilterFactory::isStorable, 
+							captured -> cache.put(key, toCachedResponse(captured))))
+					.build());
+		}, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+	}
+	
+	private Mono<Void> writeCached(final ServerWebExchange exchange, final CachedResponse cached) {
+		final ServerHttpResponse response = exchange.getResponse();
+		response.getHeaders().setETag(cached.getEtag());
+		response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+		this.saved(exchange, cached.getResponse().getBody().length);
+		
+		if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.getEtag())) {
+			this.count(exchange, "not_modified");
+			cached.getResponse().copyHeadersTo(response.getHeaders());
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			return response.setComplete();
+		}
+		
+		this.count(exchange, "hit");
+		return cached.getResponse().writeTo(exchange);
+	}
+	
+	private static CachedResponse toCachedResponse(final CapturedResponse captured) {
+		final HttpHeaders headers = new HttpHeaders();
+		headers.addAll(captured.getHeaders());
+		headers.remove(HttpHeaders.ETAG);
+		headers.remove(CACHE_STATUS_HEADER);
+		return new CachedResponse(new CapturedResponse(captured.getStatus(), HttpHeaders.readOnlyHttpHeaders(headers), 
+				captured.getBody()), strongEtag(captured.getBody()));
+	}
+	
+	private static boolean isStorable(final ServerHttpResponse response) {
+		final String cacheControl = String.valueOf(response.getHeaders().getCacheControl());
+		return HttpStatus.OK.equals(response.getStatusCode()) 
+				&& !response.getHeaders().containsKey(HttpHeaders.SET_COOKIE) 
+				&& !cacheControl.contains("no-store") 
+				&& !cacheControl.contains("private");
+	}
+	
+	private void count(final ServerWebExchange exchange, final String result) {
+		this.meterRegistry.counter("gateway.response.cache.requests", "route", routeId(exchange), "result", result)
+				.increment();
+	}
+	
+	private void saved(final ServerWebExchange exchange, final long bytes) {
+		this.meterRegistry.counter("gateway.response.cache.bytes.saved", "route", routeId(exchange))
+				.increment(bytes);
+	}
+	
+	private static boolean isWrite(final ServerWebExchange exchange) {
+		final HttpMethod method = exchange.getRequest().getMethod();
+		return method != null && method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS;
+	}
+	
+	private static boolean isCacheable(final ServerWebExchange exchange) {
+		return HttpMethod.GET.equals(exchange.getRequest().getMethod()) 
+				&& !exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION);
+	}
+	
+	static boolean matches(final List<String> ifNoneMatch, final String etag) {
+		return ifNoneMatch.stream()
+				.map(String::trim)
+				.anyMatch(candidate -> candidate.equals("*") || candidate.equals(etag));
+	}
+	
+	static String routeId(final ServerWebExchange exchange) {
+		final Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		return route == null ? "none" : route.getId();
+	}
+	
+	static String strongEtag(final byte[] body) {
+		try {
+			final StringBuilder etag = new StringBuilder("\"");
+			for (final byte b : MessageDigest.getInstance("SHA-256").digest(body))
+				etag.append(String.format("%02x", b));
+			return etag.append('"').toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	@Data
+	public static class Config {
+		
+		private Duration ttl = Duration.ofSeconds(30);
+		
+		/**
+		 * Path patterns never cached, for responses changed behind the gateway that must not be served stale
+		 */
+		private List<String> excludedPaths = new ArrayList<>();
+		
+		/**
+		 * Bound of the route cache, weighed by body size
+		 */
+		private DataSize maximumSize = DataSize.ofMegabytes(16);
+		
+		/**
+		 * Larger responses go through without being cached
+		 */
+		private DataSize maximumEntrySize = DataSize.ofKilobytes(512);
+		
+	}
+	
+	@Value
+	static class CachedResponse {
+		
+		CapturedResponse response;
+		String etag;
+		
+	}
+	
+	
+	
+}
@@ -0,0 +1,131 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token bucket per route and client (key resolved by the RequestRateLimiter filter), kept in the gateway memory
+ * so each gateway instance enforces its own share of the limit. Configured per route through the
+ * {@code in-memory-rate-limiter.*} args of the RequestRateLimiter filter, which answers 429 when denied.
+ * Idle buckets are evicted, a new bucket starts full which is what an idle one would have refilled to.
+ */
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+	
+	public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+	public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+	public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+	public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+	public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+	
+	private final MeterRegistry meterRegistry;
+	private final LongSupplier nanoClock;
+	private final Config defaultConfig = new Config();
+	private final Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+			.expireAfterAccess(Duration.ofMinutes(10))
+			.maximumSize(100_000)
+			.build();
+	
+	@Autowired
+	public InMemoryRateLimiter(final ConfigurationService configurationService, final MeterRegistry meterRegistry) {
+		this(configurationService, meterRegistry, System::nanoTime);
+	}
+	
+	InMemoryRateLimiter(final ConfigurationService configurationService, final MeterRegistry meterRegistry, 
+			final LongSupplier nanoClock) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.meterRegistry = meterRegistry;
+		this.nanoClock = nanoClock;
+	}
+	
+	@Override
+	public Mono<Response> isAllowed(final String routeId, final String id) {
+		final Config config = this.getConfig().getOrDefault(routeId, this.defaultConfig);
+		final long now = this.nanoClock.getAsLong();
+		final TokenBucket bucket = this.buckets.get(routeId + ":" + id, key -> new TokenBucket(config.getBurstCapacity(), now));
+		
+		final double remaining = bucket.tryConsume(config, now);
+		final boolean allowed = remaining >= 0;
+		final Map<String, String> headers = new HashMap<>();
+		headers.put(REMAINING_HEADER, String.valueOf(allowed ? (long) remaining : 0L));
+		headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+		headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+		headers.put(REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+		if (!allowed)
+			headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(
+					Math.max(1L, (long) Math.ceil(-remaining / config.getReplenishRate()))));
+		
+		this.meterRegistry.counter("gateway.rate.limiter.requests", "route", routeId, "result", allowed ? "allowed" : "denied")
+				.increment();
+		return Mono.just(new Response(allowed, headers));
+	}
+	
+	static final class TokenBucket {
+		
+		private double tokens;
+		private long refilledAt;
+		
+		TokenBucket(final double tokens, final long refilledAt) {
+			this.tokens = tokens;
+			this.refilledAt = refilledAt;
+		}
+		
+		/**
+		 * @return tokens left once the requested ones are taken, or minus the missing ones when denied
+		 */
+		synchronized double tryConsume(final Config config, final long now) {
+			final double elapsedSeconds = Math.max(0L, now - this.refilledAt) / (double) TimeUnit.SECONDS.toNanos(1);
+			this.tokens = Math.min(config.getBurstCapacity(), this.tokens + elapsedSeconds * config.getReplenishRate());
+			this.refilledAt = now;
+			
+			if (this.tokens < config.getRequestedTokens())
+				return this.tokens - config.getRequestedTokens();
+			this.tokens -= config.getRequestedTokens();
+			return this.tokens;
+		}
+		
+	}
+	
+	@Data
+	@Validated
+	public static class Config {
+		
+		/**
+		 * Tokens added to the bucket per second, the sustained rate a client may use
+		 */
+		@Min(1)
+		private int replenishRate = 50;
+		
+		/**
+		 * Bucket size, the burst a client may send at once
+		 */
+		@Min(1)
+		private int burstCapacity = 100;
+		
+		@Min(1)
+		private int requestedTokens = 1;
+		
+	}
+	
+	
+	
+}
@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.ratelimit;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.publisher.Mono;
+
+@Configuration
+public class RateLimiterConfig {
+	
+	/**
+	 * Client of a request for rate limiting: the authenticated principal, otherwise the client address
+	 * as seen by the proxy right in front of the gateway (X-Forwarded-For entries added further away can be forged)
+	 */
+	@Bean
+	public KeyResolver clientKeyResolver() {
+		final RemoteAddressResolver remoteAddressResolver = XForwardedRemoteAddressResolver.maxTrustedIndex(1);
+		return exchange -> exchange.getPrincipal()
+				.map(Principal::getName)
+				.switchIfEmpty(Mono.fromSupplier(() -> {
+					final InetSocketAddress remoteAddress = remoteAddressResolver.resolve(exchange);
+					if (remoteAddress == null)
+						return "unknown";
+					return remoteAddress.getAddress() == null ? remoteAddress.getHostString() 
+							: remoteAddress.getAddress().getHostAddress();
+				}));
+	}
+	
+	
+	
+}
@@ -0,0 +1,83 @@
+package com.selimhorri.app.config.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class LoadSheddingGatewayFilterFactoryTest {
+	
+	private MeterRegistry meterRegistry;
+	private LoadSheddingGatewayFilterFactory.Config config;
+	private GatewayFilter filter;
+	
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		config = new LoadSheddingGatewayFilterFactory.Config();
+		config.setRouteId("PROXY-CLIENT");
+		config.setMaxInflight(2);
+		config.setMinInflight(1);
+		config.setLatencyThreshold(Duration.ofMillis(50));
+		filter = new LoadSheddingGatewayFilterFactory(meterRegistry).apply(config);
+	}
+	
+	@Test
+	void filter_InflightOverLimit_ShedWith503AndRetryAfter() {
+		final Sinks.Empty<Void> downstreamLatency = Sinks.empty();
+		final CompletableFuture<Void> first = filter.filter(exchange(), e -> downstreamLatency.asMono()).toFuture();
+		final CompletableFuture<Void> second = filter.filter(exchange(), e -> downstreamLatency.asMono()).toFuture();
+		final MockServerWebExchange shed = exchange();
+		filter.filter(shed, e -> Mono.empty()).block();
+		downstreamLatency.tryEmitEmpty();
+		first.join();
+		second.join();
+		
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, shed.getResponse().getStatusCode());
+		assertEquals("1", shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals(2.0, meterRegistry.get("gateway.load.shedding.requests").tag("result", "accepted").counter().count());
+		assertEquals(1.0, meterRegistry.get("gateway.load.shedding.requests").tag("result", "shed").counter().count());
+		assertEquals(0.0, meterRegistry.get("gateway.load.shedding.inflight").gauge().value());
+	}
+	
+	@Test
+	void release_LatencyOverThreshold_LimitShrinksThenRecovers() {
+		final LoadSheddingGatewayFilterFactory.ConcurrencyLimit limit = new LoadSheddingGatewayFilterFactory.ConcurrencyLimit(2);
+		for (int i = 0; i < 10; i++) {
+			assertTrue(limit.tryAcquire(config));
+			limit.release(config, Duration.ofMillis(60).toNanos());
+		}
+		
+		assertEquals(1.0, limit.getLimit());
+		assertTrue(limit.tryAcquire(config));
+		assertFalse(limit.tryAcquire(config));
+		limit.release(config, Duration.ofMillis(60).toNanos());
+		
+		for (int i = 0; i < 20; i++) {
+			limit.tryAcquire(config);
+			limit.release(config, Duration.ofMillis(1).toNanos());
+		}
+		
+		assertEquals(2.0, limit.getLimit());
+	}
+	
+	private static MockServerWebExchange exchange() {
+		return MockServerWebExchange.from(MockServerHttpRequest.get("/app/api/products"));
+	}
+	
+	
+	
+}
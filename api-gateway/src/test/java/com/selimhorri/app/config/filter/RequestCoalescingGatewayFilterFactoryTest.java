@@ -0,0 +1,190 @@
+package com.selimhorri.app.config.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class RequestCoalescingGatewayFilterFactoryTest {
+	
+	private static final String BODY = "{\"productId\":1,\"productTitle\":\"asus\"}";
+	
+	private MeterRegistry meterRegistry;
+	private GatewayFilter filter;
+	private AtomicInteger downstreamCalls;
+	private Sinks.Empty<Void> downstreamLatency;
+	private GatewayFilterChain downstream;
+	
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new RequestCoalescingGatewayFilterFactory(meterRegistry)
+				.apply(new RequestCoalescingGatewayFilterFactory.Config());
+		downstreamCalls = new AtomicInteger();
+		downstreamLatency = Sinks.empty();
+		downstream = exchange -> {
+			downstreamCalls.incrementAndGet();
+			return downstreamLatency.asMono().then(Mono.defer(() -> {
+				exchange.getResponse().setStatusCode(exchange.getRequest().getQueryParams().containsKey("status") ? 
+						HttpStatus.valueOf(Integer.parseInt(exchange.getRequest().getQueryParams().getFirst("status"))) : HttpStatus.OK);
+				exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+				if (exchange.getRequest().getQueryParams().containsKey("session"))
+					exchange.getResponse().getHeaders().add(HttpHeaders.SET_COOKIE, "SESSION=1");
+				return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+						.wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+			}));
+		};
+	}
+	
+	@Test
+	void filter_IdenticalGetsInFlight_CollapsedIntoOneDownstreamCall() {
+		final List<MockServerWebExchange> exchanges = IntStream.range(0, 5)
+				.mapToObj(i -> exchange(MockServerHttpRequest.get("/product-service/api/products/1")))
+				.collect(Collectors.toList());
+		final List<CompletableFuture<Void>> responses = exchanges.stream()
+				.map(exchange -> filter.filter(exchange, downstream).toFuture())
+				.collect(Collectors.toList());
+		downstreamLatency.tryEmitEmpty();
+		responses.forEach(CompletableFuture::join);
+		
+		assertEquals(1, downstreamCalls.get());
+		exchanges.forEach(exchange -> {
+			assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+			assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+			assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+		});
+		assertNull(exchanges.get(0).getResponse().getHeaders().getFirst(RequestCoalescingGatewayFilterFactory.COALESCING_STATUS_HEADER));
+		assertEquals("true", exchanges.get(4).getResponse().getHeaders().getFirst(RequestCoalescingGatewayFilterFactory.COALESCING_STATUS_HEADER));
+		assertEquals(1.0, meterRegistry.get("gateway.request.coalescing.requests").tag("result", "leader").counter().count());
+		assertEquals(4.0, meterRegistry.get("gateway.request.coalescing.requests").tag("result", "collapsed").counter().count());
+	}
+	
+	@Test
+	void filter_CompletedFlight_NextGetGoesDownstream() {
+		downstreamLatency.tryEmitEmpty();
+		filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products/1")), downstream).block();
+		filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products/1")), downstream).block();
+		
+		assertEquals(2, downstreamCalls.get());
+	}
+	
+	@Test
+	void filter_DifferentQueryOrAuthorizedGet_NotCollapsed() {
+		final List<CompletableFuture<Void>> responses = List.of(
+				filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products?page=0")), downstream).toFuture(),
+				filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products?page=1")), downstream).toFuture(),
+				filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products?page=1")
+						.header(HttpHeaders.AUTHORIZATION, "Bearer token")), downstream).toFuture());
+		downstreamLatency.tryEmitEmpty();
+		responses.forEach(CompletableFuture::join);
+		
+		assertEquals(3, downstreamCalls.get());
+	}
+	
+	@Test
+	void filter_LeaderResponseNotShareable_WaitersFallBackDownstream() {
+		final MockServerWebExchange leader = exchange(MockServerHttpRequest.get("/product-service/api/products/1?session"));
+		final MockServerWebExchange waiter = exchange(MockServerHttpRequest.get("/product-service/api/products/1?session"));
+		final List<CompletableFuture<Void>> responses = List.of(
+				filter.filter(leader, downstream).toFuture(), 
+				filter.filter(waiter, downstream).toFuture());
+		downstreamLatency.tryEmitEmpty();
+		responses.forEach(CompletableFuture::join);
+		
+		assertEquals(2, downstreamCalls.get());
+		assertEquals(BODY, waiter.getResponse().getBodyAsString().block());
+		assertEquals(1.0, meterRegistry.get("gateway.request.coalescing.requests").tag("result", "fallback").counter().count());
+	}
+	
+	@Test
+	void filter_LeaderResponseNotFound_SharedWithWaiters() {
+		final MockServerWebExchange waiter = exchange(MockServerHttpRequest.get("/product-service/api/products/404?status=404"));
+		final List<CompletableFuture<Void>> responses = List.of(
+				filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products/404?status=404")), downstream).toFuture(), 
+				filter.filter(waiter, downstream).toFuture());
+		downstreamLatency.tryEmitEmpty();
+		responses.forEach(CompletableFuture::join);
+		
+		assertEquals(1, downstreamCalls.get());
+		assertEquals(HttpStatus.NOT_FOUND, waiter.getResponse().getStatusCode());
+	}
+	
+	@Test
+	void filter_LeaderResponseServerError_WaitersMakeTheirOwnCall() {
+		final MockServerWebExchange waiter = exchange(MockServerHttpRequest.get("/product-service/api/products/1?status=503"));
+		final List<CompletableFuture<Void>> responses = List.of(
+				filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products/1?status=503")), downstream).toFuture(), 
+				filter.filter(waiter, downstream).toFuture());
+		downstreamLatency.tryEmitEmpty();
+		responses.forEach(CompletableFuture::join);
+		
+		assertEquals(2, downstreamCalls.get());
+		assertNull(waiter.getResponse().getHeaders().getFirst(RequestCoalescingGatewayFilterFactory.COALESCING_STATUS_HEADER));
+		assertEquals(1.0, meterRegistry.get("gateway.request.coalescing.requests").tag("result", "fallback").counter().count());
+	}
+	
+	@Test
+	void filter_WaiterFromAnotherOrigin_KeepsCorsHeadersOfItsOwnRequest() {
+		final MockServerWebExchange leader = corsExchange("http://shop.example");
+		final MockServerWebExchange waiter = corsExchange("http://admin.example");
+		final List<CompletableFuture<Void>> responses = List.of(
+				filter.filter(leader, downstream).toFuture(), 
+				filter.filter(waiter, downstream).toFuture());
+		downstreamLatency.tryEmitEmpty();
+		responses.forEach(CompletableFuture::join);
+		
+		assertEquals(1, downstreamCalls.get());
+		assertEquals("true", waiter.getResponse().getHeaders().getFirst(RequestCoalescingGatewayFilterFactory.COALESCING_STATUS_HEADER));
+		assertEquals("http://shop.example", leader.getResponse().getHeaders().getAccessControlAllowOrigin());
+		assertEquals("http://admin.example", waiter.getResponse().getHeaders().getAccessControlAllowOrigin());
+		assertEquals(List.of(HttpHeaders.ORIGIN), waiter.getResponse().getHeaders().getVary());
+		assertEquals(BODY, waiter.getResponse().getBodyAsString().block());
+	}
+	
+	/**
+	 * Exchange already carrying the CORS headers globalcors sets for its Origin before the route filters run
+	 */
+	private static MockServerWebExchange corsExchange(final String origin) {
+		final MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/product-service/api/products/1")
+				.header(HttpHeaders.ORIGIN, origin));
+		exchange.getResponse().getHeaders().setAccessControlAllowOrigin(origin);
+		exchange.getResponse().getHeaders().setAccessControlAllowCredentials(true);
+		exchange.getResponse().getHeaders().setVary(List.of(HttpHeaders.ORIGIN));
+		return exchange;
+	}
+	
+	private static MockServerWebExchange exchange(final MockServerHttpRequest.BaseBuilder<?> request) {
+		final MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+				.id("PRODUCT-SERVICE")
+				.uri("lb://PRODUCT-SERVICE")
+				.predicate((ServerWebExchange e) -> true)
+				.build());
+		return exchange;
+	}
+	
+	
+	
+}
@@ -0,0 +1,167 @@
+package com.selimhorri.app.config.filter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheGatewayFilterFactoryTest {
+	
+	private static final String BODY = "{\"productId\":1,\"productTitle\":\"asus\"}";
+	
+	private MeterRegistry meterRegistry;
+	private GatewayFilter filter;
+	private AtomicInteger downstreamCalls;
+	private GatewayFilterChain downstream;
+	
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		filter = new ResponseCacheGatewayFilterFactory(meterRegistry)
+				.apply(new ResponseCacheGatewayFilterFactory.Config());
+		downstreamCalls = new AtomicInteger();
+		downstream = exchange -> {
+			downstreamCalls.incrementAndGet();
+			if (!exchange.getRequest().getMethodValue().equals("GET")) {
+				exchange.getResponse().setStatusCode(HttpStatus.OK);
+				return exchange.getResponse().setComplete();
+			}
+			exchange.getResponse().setStatusCode(HttpStatus.OK);
+			exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+					.wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+		};
+	}
+	
+	@Test
+	void filter_SecondGet_ServedFromCacheWithStrongEtag() {
+		final MockServerWebExchange first = exchange(MockServerHttpRequest.get("/product-service/api/products/1"));
+		filter.filter(first, downstream).block();
+		final MockServerWebExchange second = exchange(MockServerHttpRequest.get("/product-service/api/products/1"));
+		filter.filter(second, downstream).block();
+		
+		assertEquals(1, downstreamCalls.get());
+		assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+		assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+		assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+		assertEquals(BODY, second.getResponse().getBodyAsString().block());
+		assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+		assertTrue(second.getResponse().getHeaders().getETag().matches("\"[0-9a-f]{64}\""));
+		assertEquals(1.0, meterRegistry.get("gateway.response.cache.requests").tag("result", "hit").counter().count());
+		assertEquals(BODY.length(), meterRegistry.get("gateway.response.cache.bytes.saved").counter().count());
+	}
+	
+	@Test
+	void filter_IfNoneMatchingCachedEtag_Answers304WithoutDownstreamCall() {
+		filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products/1")), downstream).block();
+		final MockServerWebExchange hit = exchange(MockServerHttpRequest.get("/product-service/api/products/1"));
+		filter.filter(hit, downstream).block();
+		final String etag = hit.getResponse().getHeaders().getETag();
+		
+		final MockServerWebExchange conditional = exchange(MockServerHttpRequest.get("/product-service/api/products/1")
+				.header(HttpHeaders.IF_NONE_MATCH, etag));
+		filter.filter(conditional, downstream).block();
+		
+		assertEquals(1, downstreamCalls.get());
+		assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+		assertEquals(etag, conditional.getResponse().getHeaders().getETag());
+		assertEquals("", conditional.getResponse().getBodyAsString().defaultIfEmpty("").block());
+		assertEquals(1.0, meterRegistry.get("gateway.response.cache.requests").tag("result", "not_modified").counter().count());
+	}
+	
+	@Test
+	void filter_DifferentQueryOrAuthorizedGet_GoesDownstream() {
+		filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products?page=0")), downstream).block();
+		filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products?page=1")), downstream).block();
+		filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products?page=1")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer token")), downstream).block();
+		
+		assertEquals(3, downstreamCalls.get());
+	}
+	
+	@Test
+	void filter_SuccessfulWriteThroughRoute_DropsCachedResponses() {
+		filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products/1")), downstream).block();
+		filter.filter(exchange(MockServerHttpRequest.put("/product-service/api/products/1")), downstream).block();
+		filter.filter(exchange(MockServerHttpRequest.get("/product-service/api/products/1")), downstream).block();
+		
+		assertEquals(3, downstreamCalls.get());
+	}
+	
+	@Test
+	void filter_ExcludedPath_NeverCached() {
+		final ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+		config.setExcludedPaths(List.of("/product-service/api/products/*"));
+		final GatewayFilter excluding = new ResponseCacheGatewayFilterFactory(meterRegistry).apply(config);
+		excluding.filter(exchange(MockServerHttpRequest.get("/product-service/api/products/1")), downstream).block();
+		excluding.filter(exchange(MockServerHttpRequest.get("/product-service/api/products/1")), downstream).block();
+		excluding.filter(exchange(MockServerHttpRequest.get("/product-service/api/products")), downstream).block();
+		final MockServerWebExchange hit = exchange(MockServerHttpRequest.get("/product-service/api/products"));
+		excluding.filter(hit, downstream).block();
+		
+		assertEquals(3, downstreamCalls.get());
+		assertEquals("HIT", hit.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+	}
+	
+	@Test
+	void filter_HitFromAnotherOrigin_KeepsCorsHeadersOfCurrentRequest() {
+		filter.filter(corsExchange("http://shop.example"), downstream).block();
+		final MockServerWebExchange hit = corsExchange("http://admin.example");
+		filter.filter(hit, downstream).block();
+		final MockServerWebExchange notModified = corsExchange("http://other.example", 
+				hit.getResponse().getHeaders().getETag());
+		filter.filter(notModified, downstream).block();
+		
+		assertEquals(1, downstreamCalls.get());
+		assertEquals("HIT", hit.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_STATUS_HEADER));
+		assertEquals("http://admin.example", hit.getResponse().getHeaders().getAccessControlAllowOrigin());
+		assertEquals(List.of(HttpHeaders.ORIGIN), hit.getResponse().getHeaders().getVary());
+		assertEquals(HttpStatus.NOT_MODIFIED, notModified.getResponse().getStatusCode());
+		assertEquals("http://other.example", notModified.getResponse().getHeaders().getAccessControlAllowOrigin());
+		assertEquals(List.of(HttpHeaders.ORIGIN), notModified.getResponse().getHeaders().getVary());
+	}
+	
+	/**
+	 * Exchange already carrying the CORS headers globalcors sets for its Origin before the route filters run
+	 */
+	private static MockServerWebExchange corsExchange(final String origin, final String... ifNoneMatch) {
+		final MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/product-service/api/products/1")
+				.header(HttpHeaders.ORIGIN, origin)
+				.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch));
+		exchange.getResponse().getHeaders().setAccessControlAllowOrigin(origin);
+		exchange.getResponse().getHeaders().setAccessControlAllowCredentials(true);
+		exchange.getResponse().getHeaders().setVary(List.of(HttpHeaders.ORIGIN));
+		return exchange;
+	}
+	
+	private static MockServerWebExchange exchange(final MockServerHttpRequest.BaseBuilder<?> request) {
+		final MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+				.id("PRODUCT-SERVICE")
+				.uri("lb://PRODUCT-SERVICE")
+				.predicate((ServerWebExchange e) -> true)
+				.build());
+		return exchange;
+	}
+	
+	
+	
+}
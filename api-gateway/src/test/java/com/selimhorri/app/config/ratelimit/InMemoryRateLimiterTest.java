@@ -0,0 +1,68 @@
+package com.selimhorri.app.config.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.http.HttpHeaders;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InMemoryRateLimiterTest {
+	
+	private MeterRegistry meterRegistry;
+	private AtomicLong nanoClock;
+	private InMemoryRateLimiter rateLimiter;
+	
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		nanoClock = new AtomicLong();
+		rateLimiter = new InMemoryRateLimiter(null, meterRegistry, nanoClock::get);
+		final InMemoryRateLimiter.Config config = new InMemoryRateLimiter.Config();
+		config.setReplenishRate(1);
+		config.setBurstCapacity(2);
+		rateLimiter.getConfig().put("PROXY-CLIENT", config);
+	}
+	
+	@Test
+	void isAllowed_BurstExhausted_DeniedWithRetryAfter() {
+		assertTrue(rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.1").block().isAllowed());
+		assertTrue(rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.1").block().isAllowed());
+		final Response denied = rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.1").block();
+		
+		assertFalse(denied.isAllowed());
+		assertEquals("1", denied.getHeaders().get(HttpHeaders.RETRY_AFTER));
+		assertEquals("0", denied.getHeaders().get(InMemoryRateLimiter.REMAINING_HEADER));
+		assertEquals(2.0, meterRegistry.get("gateway.rate.limiter.requests").tag("result", "allowed").counter().count());
+		assertEquals(1.0, meterRegistry.get("gateway.rate.limiter.requests").tag("result", "denied").counter().count());
+	}
+	
+	@Test
+	void isAllowed_OtherClientOrRoute_OwnBucket() {
+		rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.1").block();
+		rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.1").block();
+		
+		assertTrue(rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.2").block().isAllowed());
+		assertTrue(rateLimiter.isAllowed("PRODUCT-SERVICE", "10.0.0.1").block().isAllowed());
+	}
+	
+	@Test
+	void isAllowed_AfterReplenishInterval_AllowedAgain() {
+		rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.1").block();
+		rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.1").block();
+		assertFalse(rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.1").block().isAllowed());
+		
+		nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+		assertTrue(rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.1").block().isAllowed());
+		assertFalse(rateLimiter.isAllowed("PROXY-CLIENT", "10.0.0.1").block().isAllowed());
+	}
+	
+	
+	
+}
@@ -2,6 +2,7 @@ package com.selimhorri.app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
 
 @SpringBootApplication
@@ -9,7 +10,9 @@ import org.springframework.cloud.netflix.eureka.EnableEurekaClient;
 public class FavouriteServiceApplication {
 	
 	public static void main(String[] args) {
-		SpringApplication.run(FavouriteServiceApplication.class, args);
+		final SpringApplication application = new SpringApplication(FavouriteServiceApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(2048));
+		application.run(args);
 	}
 	
 	
@@ -0,0 +1,53 @@
+package com.selimhorri.app.config.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Times every public method of the service implementations as service.calls, tagged by class, method, 
+ * outcome and exception, so latency histograms and error rates come per operation with no code in the services.
+ * Wraps the transaction advice, the recorded time includes the commit
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+	
+	public static final String SERVICE_CALLS = "service.calls";
+	
+	private final MeterRegistry meterRegistry;
+	
+	@Around("execution(public * com.selimhorri.app..service.impl.*ServiceImpl.*(..))")
+	public Object time(final ProceedingJoinPoint joinPoint) throws Throwable {
+		final Timer.Sample sample = Timer.start(this.meterRegistry);
+		String exception = "None";
+		try {
+			return joinPoint.proceed();
+		}
+		catch (final Throwable e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		}
+		finally {
+			sample.stop(Timer.builder(SERVICE_CALLS)
+					.description("Service method calls")
+					.tag("class", joinPoint.getTarget().getClass().getSimpleName())
+					.tag("method", joinPoint.getSignature().getName())
+					.tag("outcome", "None".equals(exception) ? "SUCCESS" : "ERROR")
+					.tag("exception", exception)
+					.register(this.meterRegistry));
+		}
+	}
+	
+	
+	
+}
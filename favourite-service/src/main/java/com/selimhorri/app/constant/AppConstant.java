@@ -34,6 +34,22 @@ public abstract class AppConstant {
 		
 	}
 	
+	/**
+	 * Circuit breaker, bulkhead and time limiter instance ids of remote dependencies, 
+	 * configured under resilience4j.*.instances
+	 */
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class RemoteDependencies {
+		
+		public static final String USER_SERVICE = "userService";
+		public static final String PRODUCT_SERVICE = "productService";
+		public static final String ORDER_SERVICE = "orderService";
+		public static final String FAVOURITE_SERVICE = "favouriteService";
+		public static final String PAYMENT_SERVICE = "paymentService";
+		public static final String SHIPPING_SERVICE = "shippingService";
+		
+	}
+	
 	
 	
 }
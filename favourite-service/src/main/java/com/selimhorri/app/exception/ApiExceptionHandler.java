@@ -42,6 +42,7 @@ public class ApiExceptionHandler {
 	
 	@ExceptionHandler(value = {
 		FavouriteNotFoundException.class,
+		IllegalArgumentException.class,
 	})
 	public <T extends RuntimeException> ResponseEntity<ExceptionMsg> handleApiRequestException(final T e) {
 		
@@ -6,6 +6,8 @@ import java.time.format.DateTimeFormatter;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.constant.AppConstant;
@@ -39,6 +42,29 @@ public class FavouriteResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAll()));
 	}
 	
+	@GetMapping(params = "userId")
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		log.info("*** FavouriteDto List, controller; fetch favourites by userId *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.favouriteService.findAllByUserId(userId)));
+	}
+	
+	/**
+	 * Keyset cursor is {@code userId/productId/likeDate}, same shape as the find by id path
+	 */
+	@GetMapping(params = "size")
+	public ResponseEntity<DtoCollectionResponse<FavouriteDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			final Pageable pageable) {
+		log.info("*** FavouriteDto Slice, controller; fetch favourites page *");
+		final Slice<FavouriteDto> favouriteDtos = (after != null) ? 
+				this.favouriteService.findAllAfter(parseCursor(after), pageable.getPageSize()) : 
+				this.favouriteService.findAll(pageable);
+		return ResponseEntity.ok(DtoCollectionResponse.of(favouriteDtos, f -> String.format("%d/%d/%s", 
+				f.getUserId(), f.getProductId(), 
+				f.getLikeDate().format(DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT)))));
+	}
+	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
 	public ResponseEntity<FavouriteDto> findById(
 			@PathVariable("userId") final String userId, 
@@ -98,6 +124,14 @@ public class FavouriteResource {
 		return ResponseEntity.ok(true);
 	}
 	
+	private static FavouriteId parseCursor(final String cursor) {
+		final String[] parts = cursor.split("/", 3);
+		if (parts.length != 3)
+			throw new IllegalArgumentException(String.format("Invalid favourite cursor: [%s]", cursor));
+		return new FavouriteId(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), 
+				LocalDateTime.parse(parts[2], DateTimeFormatter.ofPattern(AppConstant.LOCAL_DATE_TIME_FORMAT)));
+	}
+	
 	
 	
 }
@@ -1,10 +1,24 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -13,11 +27,14 @@ import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.helper.FavouriteMappingHelper;
 import com.selimhorri.app.repository.FavouriteRepository;
 import com.selimhorri.app.service.FavouriteService;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,40 +44,67 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class FavouriteServiceImpl implements FavouriteService {
 	
+	/**
+	 * Max number of ids sent in a single bulk lookup, keeps the query string bounded
+	 */
+	private static final int BULK_FETCH_CHUNK_SIZE = 100;
+	
 	private final FavouriteRepository favouriteRepository;
 	private final RestTemplate restTemplate;
+	private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+	private final BulkheadRegistry bulkheadRegistry;
 	
 	@Override
 	public List<FavouriteDto> findAll() {
 		log.info("*** FavouriteDto List, service; fetch all favourites *");
-		return this.favouriteRepository.findAll()
+		return this.enrich(this.favouriteRepository.findAll()
 				.stream()
 					.map(FavouriteMappingHelper::map)
-					.map(f -> {
-						f.setUserDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-						f.setProductDto(this.restTemplate
-								.getForObject(AppConstant.DiscoveredDomainsApi
-										.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
-						return f;
-					})
+					.collect(Collectors.toUnmodifiableList()))
+				.stream()
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<FavouriteDto> findAll(final Pageable pageable) {
+		log.info("*** FavouriteDto Slice, service; fetch favourites page *");
+		return this.enrich(this.favouriteRepository.findAllBy(pageable)
+				.map(FavouriteMappingHelper::map));
+	}
+	
+	@Override
+	public Slice<FavouriteDto> findAllAfter(final FavouriteId favouriteId, final int size) {
+		log.info("*** FavouriteDto Slice, service; fetch favourites after cursor *");
+		return this.enrich(this.favouriteRepository.findAllAfter(
+					favouriteId.getUserId(), favouriteId.getProductId(), favouriteId.getLikeDate(), 
+					PageRequest.of(0, size, Sort.by("userId", "productId", "likeDate")))
+				.map(FavouriteMappingHelper::map));
+	}
+	
+	@Override
+	public List<FavouriteDto> findAllByUserId(final Integer userId) {
+		log.info("*** FavouriteDto List, service; fetch favourites by userId *");
+		return this.enrich(this.favouriteRepository.findAllByUserIdOrderByLikeDateDesc(userId)
+				.stream()
+					.map(FavouriteMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList()));
+	}
+	
 	@Override
 	public FavouriteDto findById(final FavouriteId favouriteId) {
 		log.info("*** FavouriteDto, service; fetch favourite by id *");
 		return this.favouriteRepository.findById(favouriteId)
 				.map(FavouriteMappingHelper::map)
 				.map(f -> {
-					f.setUserDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class));
-					f.setProductDto(this.restTemplate
-							.getForObject(AppConstant.DiscoveredDomainsApi
-									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class));
+					f.setUserDto(this.callRemote(AppConstant.RemoteDependencies.USER_SERVICE, 
+							() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+									.USER_SERVICE_API_URL + "/" + f.getUserId(), UserDto.class), 
+							f.getUserDto()));
+					f.setProductDto(this.callRemote(AppConstant.RemoteDependencies.PRODUCT_SERVICE, 
+							() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+									.PRODUCT_SERVICE_API_URL + "/" + f.getProductId(), ProductDto.class), 
+							f.getProductDto()));
 					return f;
 				})
 				.orElseThrow(() -> new FavouriteNotFoundException(
@@ -84,6 +128,81 @@ public class FavouriteServiceImpl implements FavouriteService {
 		this.favouriteRepository.deleteById(favouriteId);
 	}
 	
+	private Slice<FavouriteDto> enrich(final Slice<FavouriteDto> favouriteDtos) {
+		return new SliceImpl<>(this.enrich(favouriteDtos.getContent()), 
+				favouriteDtos.getPageable(), favouriteDtos.hasNext());
+	}
+	
+	/**
+	 * Attaches remote users and products, each remote set is resolved in bulk,
+	 * a dto keeps its un-enriched user or product when that lookup is degraded
+	 */
+	private List<FavouriteDto> enrich(final List<FavouriteDto> favouriteDtos) {
+		final Map<Integer, UserDto> userDtos = this.fetchAllById(
+				AppConstant.RemoteDependencies.USER_SERVICE,
+				AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL,
+				favouriteDtos.stream().map(FavouriteDto::getUserId).collect(Collectors.toSet()),
+				new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {},
+				UserDto::getUserId);
+		final Map<Integer, ProductDto> productDtos = this.fetchAllById(
+				AppConstant.RemoteDependencies.PRODUCT_SERVICE,
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL,
+				favouriteDtos.stream().map(FavouriteDto::getProductId).collect(Collectors.toSet()),
+				new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {},
+				ProductDto::getProductId);
+		
+		return favouriteDtos.stream()
+				.map(f -> {
+					f.setUserDto(userDtos.getOrDefault(f.getUserId(), f.getUserDto()));
+					f.setProductDto(productDtos.getOrDefault(f.getProductId(), f.getProductDto()));
+					return f;
+				})
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Resolves distinct ids against a remote bulk endpoint ({@code ?ids=...}),
+	 * one call per chunk of {@link #BULK_FETCH_CHUNK_SIZE} ids
+	 */
+	private <T> Map<Integer, T> fetchAllById(final String dependency, final String apiUrl, final Collection<Integer> ids, 
+			final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType, 
+			final Function<T, Integer> idExtractor) {
+		
+		final List<Integer> distinctIds = ids.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+		final Map<Integer, T> result = new HashMap<>();
+		
+		for (int from = 0; from < distinctIds.size(); from += BULK_FETCH_CHUNK_SIZE) {
+			final String joinedIds = distinctIds.subList(from, Math.min(from + BULK_FETCH_CHUNK_SIZE, distinctIds.size()))
+					.stream()
+						.map(String::valueOf)
+						.collect(Collectors.joining(","));
+			final DtoCollectionResponse<T> response = this.callRemote(dependency, 
+					() -> this.restTemplate
+							.exchange(apiUrl + "?ids=" + joinedIds, HttpMethod.GET, null, responseType)
+							.getBody(), 
+					null);
+			if (response != null && response.getCollection() != null)
+				response.getCollection().forEach(dto -> result.put(idExtractor.apply(dto), dto));
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Runs a remote call behind the circuit breaker, semaphore bulkhead and time limiter of its dependency,
+	 * answers the degraded value when the call fails, times out or is not permitted
+	 */
+	private <T> T callRemote(final String dependency, final Supplier<T> call, final T degraded) {
+		return this.circuitBreakerFactory.create(dependency)
+				.run(Bulkhead.decorateSupplier(this.bulkheadRegistry.bulkhead(dependency), call), throwable -> {
+					log.warn("*** {}, service; remote call degraded: {} *", dependency, throwable.toString());
+					return degraded;
+				});
+	}
+	
 	
 	
 }
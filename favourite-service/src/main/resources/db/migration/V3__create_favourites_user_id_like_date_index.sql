@@ -0,0 +1,2 @@
+
+CREATE INDEX idx_favourites_user_id_like_date ON favourites (user_id, like_date);
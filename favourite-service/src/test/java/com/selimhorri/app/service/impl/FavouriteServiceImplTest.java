@@ -6,15 +6,26 @@ import com.selimhorri.app.domain.id.FavouriteId;
 import com.selimhorri.app.dto.FavouriteDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.FavouriteNotFoundException;
 import com.selimhorri.app.repository.FavouriteRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -38,7 +49,12 @@ class FavouriteServiceImplTest {
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    @Spy
+    private CircuitBreakerFactory<?, ?> circuitBreakerFactory = new Resilience4JCircuitBreakerFactory(
+        CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), null);
+
+    private BulkheadRegistry bulkheadRegistry;
+
     private FavouriteServiceImpl favouriteService;
 
     private Favourite testFavourite;
@@ -50,6 +66,9 @@ class FavouriteServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        favouriteService = new FavouriteServiceImpl(favouriteRepository, restTemplate, circuitBreakerFactory, bulkheadRegistry);
+
         // Initialize test data
         testLikeDate = LocalDateTime.of(2024, 1, 15, 10, 30, 0);
         
@@ -89,14 +108,14 @@ class FavouriteServiceImplTest {
         // Given
         List<Favourite> favourites = Arrays.asList(testFavourite);
         when(favouriteRepository.findAll()).thenReturn(favourites);
-        when(restTemplate.getForObject(
-                AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/1", 
-                UserDto.class))
-                .thenReturn(testUserDto);
-        when(restTemplate.getForObject(
-                AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1", 
-                ProductDto.class))
-                .thenReturn(testProductDto);
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "?ids=1"),
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testUserDto))));
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "?ids=1"),
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testProductDto))));
 
         // When
         List<FavouriteDto> result = favouriteService.findAll();
@@ -114,7 +133,78 @@ class FavouriteServiceImplTest {
         assertEquals("Test Product", resultDto.getProductDto().getProductTitle());
         
         verify(favouriteRepository).findAll();
-        verify(restTemplate, times(2)).getForObject(anyString(), any(Class.class));
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
+    }
+
+    @Test
+    void findAll_WhenFavouritesShareIds_ShouldFetchEachRemoteSetOnce() {
+        // Given
+        Favourite sameUserOtherProduct = Favourite.builder()
+                .userId(1)
+                .productId(2)
+                .likeDate(testLikeDate)
+                .build();
+        Favourite otherUserSameProduct = Favourite.builder()
+                .userId(2)
+                .productId(1)
+                .likeDate(testLikeDate)
+                .build();
+        UserDto otherUserDto = UserDto.builder().userId(2).firstName("Jane").build();
+        ProductDto otherProductDto = ProductDto.builder().productId(2).productTitle("Other Product").build();
+
+        when(favouriteRepository.findAll())
+                .thenReturn(Arrays.asList(testFavourite, sameUserOtherProduct, otherUserSameProduct));
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "?ids=1,2"),
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testUserDto, otherUserDto))));
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "?ids=1,2"),
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testProductDto, otherProductDto))));
+
+        // When
+        List<FavouriteDto> result = favouriteService.findAll();
+
+        // Then
+        assertEquals(3, result.size());
+        assertEquals("Other Product", result.get(1).getProductDto().getProductTitle());
+        assertEquals("Jane", result.get(2).getUserDto().getFirstName());
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void findAllByUserId_WhenUserHasFavourites_ShouldFetchEachRemoteSetOnce() {
+        // Given
+        Favourite otherProduct = Favourite.builder()
+                .userId(1)
+                .productId(2)
+                .likeDate(testLikeDate.plusDays(1))
+                .build();
+        ProductDto otherProductDto = ProductDto.builder().productId(2).productTitle("Other Product").build();
+
+        when(favouriteRepository.findAllByUserIdOrderByLikeDateDesc(1))
+                .thenReturn(Arrays.asList(otherProduct, testFavourite));
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "?ids=1"),
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testUserDto))));
+        when(restTemplate.exchange(
+                eq(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "?ids=1,2"),
+                eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(otherProductDto, testProductDto))));
+
+        // When
+        List<FavouriteDto> result = favouriteService.findAllByUserId(1);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("Other Product", result.get(0).getProductDto().getProductTitle());
+        assertEquals("Test Product", result.get(1).getProductDto().getProductTitle());
+        assertEquals("John", result.get(1).getUserDto().getFirstName());
+        verify(favouriteRepository, never()).findAll();
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
     }
 
     @Test
@@ -147,6 +237,30 @@ class FavouriteServiceImplTest {
         verify(restTemplate, times(2)).getForObject(anyString(), any(Class.class));
     }
 
+    @Test
+    void findById_WhenProductServiceBulkheadIsFull_ShouldDegradeOnlyTheProduct() {
+        // Given
+        when(favouriteRepository.findById(testFavouriteId)).thenReturn(Optional.of(testFavourite));
+        when(restTemplate.getForObject(
+                AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "/1", 
+                UserDto.class))
+                .thenReturn(testUserDto);
+        Bulkhead productServiceBulkhead = bulkheadRegistry.bulkhead(AppConstant.RemoteDependencies.PRODUCT_SERVICE, 
+                BulkheadConfig.custom().maxConcurrentCalls(1).build());
+        productServiceBulkhead.acquirePermission();
+
+        // When
+        FavouriteDto result = favouriteService.findById(testFavouriteId);
+
+        // Then
+        assertEquals("John", result.getUserDto().getFirstName());
+        assertEquals(1, result.getProductDto().getProductId());
+        assertNull(result.getProductDto().getProductTitle());
+        verify(restTemplate, never()).getForObject(
+                AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL + "/1", 
+                ProductDto.class);
+    }
+
     @Test
     void findById_WhenFavouriteNotExists_ShouldThrowFavouriteNotFoundException() {
         // Given
@@ -0,0 +1,255 @@
+package com.selimhorri.app.cart;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind store of the carts being edited, lines live in memory and every edit only marks its cart dirty;
+ * dirty carts reach the database on flush, a cart at a time, as the full set of its lines.
+ * The store is bounded in size and a cart idle for longer than the ttl expires; an evicted cart that is still dirty
+ * is parked until the next flush writes it, and is taken back as is when edited again before that.
+ * Edits of a cart are serialized on the cart, edits of different carts never contend.
+ * Edits made since the last flush are lost if the instance dies, the flush interval bounds that window.
+ */
+@Slf4j
+public class HotCartStore implements MeterBinder {
+	
+	private final Cache<Integer, HotCart> carts;
+	private final Map<Integer, HotCart> evictedCarts = new ConcurrentHashMap<>();
+	private final Object flushLock = new Object();
+	private final int maxLines;
+	private final Function<Integer, Map<Integer, Integer>> loader;
+	private final BiConsumer<Integer, Map<Integer, Integer>> writer;
+	
+	/**
+	 * @param loader lines of a cart by product id, read on a miss, throws when the cart does not exist
+	 * @param writer replaces the stored lines of a cart
+	 */
+	public HotCartStore(final long maximumSize, final Duration ttl, final int maxLines, 
+			final Function<Integer, Map<Integer, Integer>> loader, final BiConsumer<Integer, Map<Integer, Integer>> writer) {
+		this(maximumSize, ttl, maxLines, loader, writer, Ticker.systemTicker());
+	}
+	
+	HotCartStore(final long maximumSize, final Duration ttl, final int maxLines, 
+			final Function<Integer, Map<Integer, Integer>> loader, final BiConsumer<Integer, Map<Integer, Integer>> writer, 
+			final Ticker ticker) {
+		this.maxLines = maxLines;
+		this.loader = loader;
+		this.writer = writer;
+		this.carts = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterAccess(ttl)
+				.ticker(ticker)
+				.executor(Runnable::run)
+				.evictionListener(this::evicted)
+				.recordStats()
+				.build();
+	}
+	
+	public Map<Integer, Integer> lines(final Integer cartId) {
+		return this.apply(cartId, HotCart::snapshot);
+	}
+	
+	/**
+	 * Adds the quantity to the line of the product, a line whose quantity drops to zero or below is removed
+	 */
+	public Map<Integer, Integer> add(final Integer cartId, final Integer productId, final int quantity) {
+		return this.apply(cartId, c -> c.put(productId, c.lines.getOrDefault(productId, 0) + quantity, this.maxLines));
+	}
+	
+	/**
+	 * Sets the quantity of the line of the product, zero or below removes the line
+	 */
+	public Map<Integer, Integer> set(final Integer cartId, final Integer productId, final int quantity) {
+		return this.apply(cartId, c -> c.put(productId, quantity, this.maxLines));
+	}
+	
+	public Map<Integer, Integer> remove(final Integer cartId, final Integer productId) {
+		return this.apply(cartId, c -> c.put(productId, 0, this.maxLines));
+	}
+	
+	public Map<Integer, Integer> clear(final Integer cartId) {
+		return this.apply(cartId, HotCart::clear);
+	}
+	
+	/**
+	 * Drops the cart without writing it, for a cart deleted from the database
+	 */
+	public void discard(final Integer cartId) {
+		this.carts.asMap().computeIfPresent(cartId, (id, cart) -> {
+			synchronized (cart) {
+				cart.evicted = true;
+			}
+			return null;
+		});
+		this.evictedCarts.remove(cartId);
+	}
+	
+	/**
+	 * Writes every dirty cart, resident or parked; a cart whose write fails stays dirty for the next flush.
+	 * Flushes never overlap, so the writes of a cart always land in the order of its edits.
+	 * @return number of carts written
+	 */
+	public int flush() {
+		synchronized (this.flushLock) {
+			this.carts.cleanUp();
+			final List<HotCart> candidates = new ArrayList<>(this.carts.asMap().values());
+			candidates.addAll(this.evictedCarts.values());
+			
+			int flushed = 0;
+			for (final HotCart cart : candidates) {
+				try {
+					if (this.flush(cart))
+						flushed++;
+				}
+				catch (final RuntimeException e) {
+					log.warn("*** Integer, store; flush of cart {} failed, kept dirty: {} *", cart.cartId, e.toString());
+				}
+			}
+			return flushed;
+		}
+	}
+	
+	public long size() {
+		this.carts.cleanUp();
+		return this.carts.estimatedSize();
+	}
+	
+	public int pendingEvicted() {
+		return this.evictedCarts.size();
+	}
+	
+	@Override
+	public void bindTo(final MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, this.carts, "hotCarts");
+		registry.gauge("order.cart.store.evicted.pending", this.evictedCarts, Map::size);
+	}
+	
+	/**
+	 * Runs the operation on the cart under its lock, loading or taking back the cart when absent;
+	 * a cart evicted between the lookup and the lock is looked up again
+	 */
+	private <T> T apply(final Integer cartId, final Function<HotCart, T> operation) {
+		while (true) {
+			final HotCart cart = this.carts.get(cartId, this::admit);
+			synchronized (cart) {
+				if (!cart.evicted)
+					return operation.apply(cart);
+			}
+		}
+	}
+	
+	private HotCart admit(final Integer cartId) {
+		final HotCart parked = this.evictedCarts.remove(cartId);
+		if (parked != null) {
+			synchronized (parked) {
+				parked.evicted = false;
+			}
+			return parked;
+		}
+		return new HotCart(cartId, this.loader.apply(cartId));
+	}
+	
+	/**
+	 * Runs atomically with the removal of the entry, a dirty cart is parked before a reload could miss it
+	 */
+	private void evicted(final Integer cartId, final HotCart cart, final RemovalCause cause) {
+		synchronized (cart) {
+			cart.evicted = true;
+			if (cart.isDirty())
+				this.evictedCarts.put(cartId, cart);
+		}
+	}
+	
+	private boolean flush(final HotCart cart) {
+		final Map<Integer, Integer> lines;
+		final long version;
+		synchronized (cart) {
+			if (!cart.isDirty()) {
+				this.evictedCarts.remove(cart.cartId, cart);
+				return false;
+			}
+			lines = cart.snapshot();
+			version = cart.version;
+		}
+		
+		this.writer.accept(cart.cartId, lines);
+		
+		synchronized (cart) {
+			cart.flushedVersion = version;
+			if (!cart.isDirty())
+				this.evictedCarts.remove(cart.cartId, cart);
+		}
+		return true;
+	}
+	
+	/**
+	 * Lines of a cart by product id, guarded by the cart itself; version counts the edits, 
+	 * the cart is dirty until the version it was last written at catches up
+	 */
+	static final class HotCart {
+		
+		private final Integer cartId;
+		private final Map<Integer, Integer> lines;
+		private long version;
+		private long flushedVersion;
+		private boolean evicted;
+		
+		private HotCart(final Integer cartId, final Map<Integer, Integer> lines) {
+			this.cartId = cartId;
+			this.lines = new LinkedHashMap<>(lines);
+		}
+		
+		private boolean isDirty() {
+			return this.version != this.flushedVersion;
+		}
+		
+		private Map<Integer, Integer> snapshot() {
+			return Collections.unmodifiableMap(new LinkedHashMap<>(this.lines));
+		}
+		
+		private Map<Integer, Integer> put(final Integer productId, final int quantity, final int maxLines) {
+			if (quantity <= 0) {
+				if (this.lines.remove(productId) != null)
+					this.version++;
+			}
+			else if (!Integer.valueOf(quantity).equals(this.lines.get(productId))) {
+				if (!this.lines.containsKey(productId) && this.lines.size() >= maxLines)
+					throw new IllegalStateException(String.format("Cart with id: %d holds at most %d lines", 
+							this.cartId, maxLines));
+				this.lines.put(productId, quantity);
+				this.version++;
+			}
+			return this.snapshot();
+		}
+		
+		private Map<Integer, Integer> clear() {
+			if (!this.lines.isEmpty()) {
+				this.lines.clear();
+				this.version++;
+			}
+			return this.snapshot();
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,58 @@
+package com.selimhorri.app.config.cart;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.selimhorri.app.service.CartLineService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@EnableConfigurationProperties(HotCartProperties.class)
+public class HotCartConfig {
+	
+	/**
+	 * Writes the dirty carts with a fixed delay on a scheduler thread of its own, the scheduler shared by 
+	 * the other periodic tasks (outbox relay) can stay busy for seconds and would stretch the time 
+	 * an edit stays unwritten past flush-interval. An in-flight flush completes on shutdown, 
+	 * the carts left dirty are written by the cart line service itself. Nothing injects it, so it is 
+	 * created eagerly even with spring.main.lazy-initialization or the flush would never start
+	 */
+	@Configuration
+	@Lazy(false)
+	@Slf4j
+	@RequiredArgsConstructor
+	static class HotCartFlushSchedulingConfig {
+		
+		private final CartLineService cartLineService;
+		private final HotCartProperties hotCartProperties;
+		private final ThreadPoolTaskScheduler flushScheduler = new ThreadPoolTaskScheduler();
+		
+		@PostConstruct
+		void start() {
+			log.info("*** Hot carts flush every {} *", this.hotCartProperties.getFlushInterval());
+			this.flushScheduler.setPoolSize(1);
+			this.flushScheduler.setThreadNamePrefix("hot-cart-flush-");
+			this.flushScheduler.setWaitForTasksToCompleteOnShutdown(true);
+			this.flushScheduler.setAwaitTerminationSeconds(10);
+			this.flushScheduler.initialize();
+			this.flushScheduler.scheduleWithFixedDelay(this.cartLineService::flush, 
+					this.hotCartProperties.getFlushInterval());
+		}
+		
+		@PreDestroy
+		void stop() {
+			this.flushScheduler.shutdown();
+		}
+	
+	}
+	
+	
+	
+}
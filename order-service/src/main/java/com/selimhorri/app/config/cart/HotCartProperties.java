@@ -0,0 +1,31 @@
+package com.selimhorri.app.config.cart;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Bounds of the in-memory cart store and its write-behind period, flush-interval is also 
+ * the longest time an edit can stay unwritten
+ */
+@ConfigurationProperties(prefix = "app.cart-store")
+@Data
+public class HotCartProperties {
+	
+	/**
+	 * Max carts kept in memory, least recently used carts are evicted beyond it
+	 */
+	private long maximumSize = 10_000;
+	
+	/**
+	 * A cart not read nor edited for that long is evicted
+	 */
+	private Duration ttl = Duration.ofMinutes(30);
+	
+	private Duration flushInterval = Duration.ofSeconds(1);
+	
+	private int maxLines = 100;
+	
+}
@@ -0,0 +1,48 @@
+package com.selimhorri.app.config.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import com.selimhorri.app.service.OutboxRelayService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+	
+	/**
+	 * Polls the outbox with a fixed delay, every run drains due events batch by batch 
+	 * until a partial batch is read
+	 */
+	@Configuration
+	@ConditionalOnProperty(name = "app.outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+	@EnableScheduling
+	@Slf4j
+	@RequiredArgsConstructor
+	static class OutboxRelaySchedulingConfig implements SchedulingConfigurer {
+		
+		private final OutboxRelayService outboxRelayService;
+		private final OutboxProperties outboxProperties;
+		
+		@Override
+		public void configureTasks(final ScheduledTaskRegistrar taskRegistrar) {
+			log.info("*** Outbox relay polls every {} *", this.outboxProperties.getPollInterval());
+			taskRegistrar.addFixedDelayTask(() -> {
+				int relayed;
+				do {
+					relayed = this.outboxRelayService.relayDue();
+				} while (relayed >= this.outboxProperties.getBatchSize());
+			}, this.outboxProperties.getPollInterval().toMillis());
+		}
+		
+	}
+	
+	
+	
+}
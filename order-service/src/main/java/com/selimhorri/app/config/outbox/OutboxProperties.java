@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.outbox;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Outbox relay polling and retry policy, a failed delivery is retried after an exponential backoff
+ * (initial-backoff doubled per attempt, capped at max-backoff) until max-attempts is reached
+ */
+@ConfigurationProperties(prefix = "app.outbox")
+@Data
+public class OutboxProperties {
+	
+	private boolean relayEnabled = true;
+	
+	/**
+	 * Delay between the end of a drained relay run and the next poll
+	 */
+	private Duration pollInterval = Duration.ofMillis(500);
+	
+	/**
+	 * Max events read per poll, events of a batch are sent in one request per destination
+	 */
+	private int batchSize = 100;
+	
+	private int maxAttempts = 10;
+	
+	private Duration initialBackoff = Duration.ofSeconds(1);
+	
+	private Duration maxBackoff = Duration.ofMinutes(5);
+	
+}
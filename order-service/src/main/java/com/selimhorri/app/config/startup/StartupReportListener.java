@@ -0,0 +1,77 @@
+package com.selimhorri.app.config.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs how long the instance took to become ready and, when started with a
+ * {@link BufferingApplicationStartup}, its slowest bean instantiations, to track startup regressions.
+ * With app.startup.exit-on-ready the JVM exits right after, used by the appcds training run.
+ */
+@Component
+@Slf4j
+public class StartupReportListener implements ApplicationListener<ApplicationReadyEvent> {
+	
+	private static final int SLOWEST_STEPS = 10;
+	
+	private final boolean lazyInitialization;
+	private final boolean exitOnReady;
+	
+	public StartupReportListener(
+			@Value("${spring.main.lazy-initialization:false}") final boolean lazyInitialization, 
+			@Value("${app.startup.exit-on-ready:false}") final boolean exitOnReady) {
+		this.lazyInitialization = lazyInitialization;
+		this.exitOnReady = exitOnReady;
+	}
+	
+	@Override
+	public void onApplicationEvent(final ApplicationReadyEvent event) {
+		final ConfigurableApplicationContext context = event.getApplicationContext();
+		log.info("*** Startup report; ready {} ms after JVM start, {} beans, lazy initialization {} *", 
+				ManagementFactory.getRuntimeMXBean().getUptime(), context.getBeanDefinitionCount(), this.lazyInitialization);
+		
+		if (context.getApplicationStartup() instanceof BufferingApplicationStartup)
+			((BufferingApplicationStartup) context.getApplicationStartup()).getBufferedTimeline().getEvents()
+					.stream()
+						.filter(e -> e.getStartupStep().getName().equals("spring.beans.instantiate"))
+						.sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+						.limit(SLOWEST_STEPS)
+						.forEach(e -> log.info("*** Startup report; {} ms instantiating {} *", 
+								e.getDuration().toMillis(), beanName(e.getStartupStep())));
+		
+		if (this.exitOnReady)
+			System.exit(SpringApplication.exit(context));
+	}
+	
+	private static String beanName(final StartupStep startupStep) {
+		for (final StartupStep.Tag tag : startupStep.getTags())
+			if (tag.getKey().equals("beanName"))
+				return tag.getValue();
+		return startupStep.getName();
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -11,6 +11,11 @@ public abstract class AppConstant {
 	public static final String ZONED_DATE_TIME_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	public static final String INSTANT_FORMAT = "dd-MM-yyyy__HH:mm:ss:SSSSSS";
 	
+	/**
+	 * Rows fetched per round trip by streaming exports, also the persistence context flush window
+	 */
+	public static final int EXPORT_FETCH_SIZE = 500;
+	
 	@NoArgsConstructor(access = AccessLevel.PRIVATE)
 	public abstract class DiscoveredDomainsApi {
 		
@@ -34,6 +39,22 @@ public abstract class AppConstant {
 		
 	}
 	
+	/**
+	 * Circuit breaker, bulkhead and time limiter instance ids of remote dependencies, 
+	 * configured under resilience4j.*.instances
+	 */
+	@NoArgsConstructor(access = AccessLevel.PRIVATE)
+	public abstract class RemoteDependencies {
+		
+		public static final String USER_SERVICE = "userService";
+		public static final String PRODUCT_SERVICE = "productService";
+		public static final String ORDER_SERVICE = "orderService";
+		public static final String FAVOURITE_SERVICE = "favouriteService";
+		public static final String PAYMENT_SERVICE = "paymentService";
+		public static final String SHIPPING_SERVICE = "shippingService";
+		
+	}
+	
 	
 	
 }
@@ -0,0 +1,65 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import com.selimhorri.app.domain.id.CartLineId;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "cart_lines")
+@IdClass(CartLineId.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true, exclude = {"isNew"})
+@Data
+@Builder
+public final class CartLine extends AbstractMappedEntity implements Serializable, Persistable<CartLineId> {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "cart_id", nullable = false, updatable = false)
+	private Integer cartId;
+	
+	@Id
+	@Column(name = "product_id", nullable = false, updatable = false)
+	private Integer productId;
+	
+	@Column(name = "ordered_quantity", nullable = false)
+	private Integer orderedQuantity;
+	
+	/**
+	 * Set when the lines of a cart are rewritten after a bulk delete, so save persists 
+	 * (INSERT) instead of merging (SELECT then INSERT)
+	 */
+	@Transient
+	private boolean isNew;
+	
+	@Override
+	public CartLineId getId() {
+		return new CartLineId(this.cartId, this.productId);
+	}
+	
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.isNew = false;
+	}
+	
+}
@@ -0,0 +1,96 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Denormalized read model of an order, its user, item totals and latest payment, one row per order.
+ * Order columns are projected locally, item and payment columns come from change events of shipping and payment,
+ * each guarded by the time of the snapshot it was last synced from so that a late event never overwrites a newer one.
+ */
+@Entity
+@Table(name = "order_summaries")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true, exclude = {"isNew"})
+@Data
+@Builder
+public final class OrderSummary extends AbstractMappedEntity implements Serializable, Persistable<Integer> {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@Column(name = "order_id", unique = true, nullable = false, updatable = false)
+	private Integer orderId;
+	
+	@Column(name = "user_id")
+	private Integer userId;
+	
+	@Column(name = "cart_id")
+	private Integer cartId;
+	
+	@Column(name = "order_date")
+	private LocalDateTime orderDate;
+	
+	@Column(name = "order_desc")
+	private String orderDesc;
+	
+	@Column(name = "order_fee", columnDefinition = "decimal")
+	private Double orderFee;
+	
+	@Column(name = "item_count", nullable = false)
+	private int itemCount;
+	
+	@Column(name = "total_quantity", nullable = false)
+	private int totalQuantity;
+	
+	@Column(name = "items_synced_at")
+	private Instant itemsSyncedAt;
+	
+	@Column(name = "payment_id")
+	private Integer paymentId;
+	
+	@Column(name = "is_payed")
+	private Boolean isPayed;
+	
+	@Column(name = "payment_status")
+	private String paymentStatus;
+	
+	@Column(name = "payment_synced_at")
+	private Instant paymentSyncedAt;
+	
+	/**
+	 * Set by the rebuild for rows known to be absent, so save persists instead of merging
+	 */
+	@Transient
+	private boolean isNew;
+	
+	@Override
+	public Integer getId() {
+		return this.orderId;
+	}
+	
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.isNew = false;
+	}
+	
+}
@@ -0,0 +1,23 @@
+package com.selimhorri.app.domain;
+
+import com.selimhorri.app.constant.AppConstant;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Subscriber of outbox events, every subscriber gets its own outbox row so deliveries are retried independently
+ */
+@RequiredArgsConstructor
+@Getter
+public enum OutboxDestination {
+	
+	SHIPPING(AppConstant.RemoteDependencies.SHIPPING_SERVICE, 
+			AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL + "/events/order-placed"),
+	PAYMENT(AppConstant.RemoteDependencies.PAYMENT_SERVICE, 
+			AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL + "/events/order-placed");
+	
+	private final String dependency;
+	private final String apiUrl;
+	
+}
@@ -0,0 +1,75 @@
+package com.selimhorri.app.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event written in the same local transaction as its aggregate, 
+ * delivered later to its destination by the outbox relay
+ */
+@Entity
+@Table(name = "outbox_events")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Builder
+public final class OutboxEvent extends AbstractMappedEntity implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "outbox_event_id", unique = true, nullable = false, updatable = false)
+	private Long outboxEventId;
+	
+	/**
+	 * Shared by the rows of every destination, consumers use it to drop redeliveries
+	 */
+	@Column(name = "event_id", nullable = false, updatable = false)
+	private String eventId;
+	
+	@Column(name = "event_type", nullable = false, updatable = false)
+	private String eventType;
+	
+	@Column(name = "aggregate_id", nullable = false, updatable = false)
+	private Integer aggregateId;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "destination", nullable = false, updatable = false)
+	private OutboxDestination destination;
+	
+	@Lob
+	@Column(name = "payload", columnDefinition = "text", nullable = false, updatable = false)
+	private String payload;
+	
+	@Enumerated(EnumType.STRING)
+	@Column(name = "status", nullable = false)
+	private OutboxStatus status;
+	
+	@Column(name = "attempts", nullable = false)
+	private Integer attempts;
+	
+	@Column(name = "next_attempt_at", nullable = false)
+	private Instant nextAttemptAt;
+	
+	@Column(name = "last_error")
+	private String lastError;
+	
+}
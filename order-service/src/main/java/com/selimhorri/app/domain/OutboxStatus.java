@@ -0,0 +1,16 @@
+package com.selimhorri.app.domain;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+@Getter
+public enum OutboxStatus {
+	
+	PENDING("pending"),
+	SENT("sent"),
+	FAILED("failed");
+	
+	private final String status;
+	
+}
@@ -0,0 +1,18 @@
+package com.selimhorri.app.domain.id;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class CartLineId implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private Integer cartId;
+	private Integer productId;
+	
+}
@@ -1,6 +1,7 @@
 package com.selimhorri.app.dto;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -26,6 +27,10 @@ public class CartDto implements Serializable {
 	@JsonInclude(Include.NON_NULL)
 	private Set<OrderDto> orderDtos;
 	
+	@JsonProperty("cartLines")
+	@JsonInclude(Include.NON_NULL)
+	private List<CartLineDto> cartLineDtos;
+	
 	@JsonProperty("user")
 	@JsonInclude(Include.NON_NULL)
 	private UserDto userDto;
@@ -0,0 +1,38 @@
+package com.selimhorri.app.dto.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published by shipping after its order items changed, a snapshot of the items of the order 
+ * taken at occurredAt, so the latest snapshot of an order always wins whatever the delivery order
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderItemsChangedEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotNull(message = "Input orderId must not be NULL")
+	private Integer orderId;
+	
+	private int itemCount;
+	private int totalQuantity;
+	
+	@NotNull(message = "Input occurredAt must not be NULL")
+	@JsonFormat(shape = Shape.STRING)
+	private Instant occurredAt;
+	
+}
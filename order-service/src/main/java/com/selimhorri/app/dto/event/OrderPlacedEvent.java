@@ -0,0 +1,59 @@
+package com.selimhorri.app.dto.event;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderLineDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published through the outbox once an order is placed, consumed by shipping and payment
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderPlacedEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public static final String EVENT_TYPE = "OrderPlaced";
+	
+	private String eventId;
+	private Integer orderId;
+	private Integer cartId;
+	private Integer userId;
+	
+	@JsonSerialize(using = LocalDateTimeSerializer.class)
+	@JsonDeserialize(using = LocalDateTimeDeserializer.class)
+	@JsonFormat(pattern = AppConstant.LOCAL_DATE_TIME_FORMAT, shape = Shape.STRING)
+	@DateTimeFormat(pattern = AppConstant.LOCAL_DATE_TIME_FORMAT)
+	private LocalDateTime orderDate;
+	private Double orderFee;
+	private List<OrderLineDto> orderLines;
+	
+}
+
+
+
+
+
+
+
+
+
+
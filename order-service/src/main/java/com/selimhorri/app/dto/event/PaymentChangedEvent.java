@@ -0,0 +1,39 @@
+package com.selimhorri.app.dto.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published by payment after the payments of an order changed, a snapshot of its latest payment 
+ * taken at occurredAt, paymentId is null once the order holds no payment
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class PaymentChangedEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotNull(message = "Input orderId must not be NULL")
+	private Integer orderId;
+	
+	private Integer paymentId;
+	private Boolean isPayed;
+	private String paymentStatus;
+	
+	@NotNull(message = "Input occurredAt must not be NULL")
+	@JsonFormat(shape = Shape.STRING)
+	private Instant occurredAt;
+	
+}
@@ -0,0 +1,26 @@
+package com.selimhorri.app.helper;
+
+import com.selimhorri.app.domain.OrderSummary;
+import com.selimhorri.app.dto.OrderSummaryDto;
+
+public interface OrderSummaryMappingHelper {
+	
+	public static OrderSummaryDto map(final OrderSummary orderSummary) {
+		return OrderSummaryDto.builder()
+				.orderId(orderSummary.getOrderId())
+				.userId(orderSummary.getUserId())
+				.cartId(orderSummary.getCartId())
+				.orderDate(orderSummary.getOrderDate())
+				.orderDesc(orderSummary.getOrderDesc())
+				.orderFee(orderSummary.getOrderFee())
+				.itemCount(orderSummary.getItemCount())
+				.totalQuantity(orderSummary.getTotalQuantity())
+				.paymentId(orderSummary.getPaymentId())
+				.isPayed(orderSummary.getIsPayed())
+				.paymentStatus(orderSummary.getPaymentStatus())
+				.build();
+	}
+	
+	
+	
+}
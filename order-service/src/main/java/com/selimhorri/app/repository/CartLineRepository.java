@@ -0,0 +1,21 @@
+package com.selimhorri.app.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.CartLine;
+import com.selimhorri.app.domain.id.CartLineId;
+
+public interface CartLineRepository extends JpaRepository<CartLine, CartLineId> {
+	
+	List<CartLine> findAllByCartIdOrderByProductId(final Integer cartId);
+	
+	@Modifying
+	@Query("DELETE FROM CartLine l WHERE l.cartId = :cartId")
+	int deleteAllByCartId(@Param("cartId") final Integer cartId);
+	
+}
@@ -1,11 +1,47 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Order;
 
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 	
+	Slice<Order> findAllBy(final Pageable pageable);
+	Slice<Order> findByOrderIdGreaterThan(final Integer orderId, final Pageable pageable);
+	
+	/**
+	 * Newest first, a range scan of the (cart_id, order_date) index
+	 */
+	@Query("SELECT o FROM Order o JOIN FETCH o.cart c WHERE c.cartId = :cartId ORDER BY o.orderDate DESC, o.orderId DESC")
+	List<Order> findAllByCartId(@Param("cartId") final Integer cartId);
+	
+	/**
+	 * Order history of a user, newest first, the user's carts come from the carts (user_id) index
+	 */
+	@Query("SELECT o FROM Order o JOIN FETCH o.cart c WHERE c.userId = :userId ORDER BY o.orderDate DESC, o.orderId DESC")
+	List<Order> findAllByUserId(@Param("userId") final Integer userId);
+	
+	/**
+	 * Keyset page of orders with their cart, in order id order
+	 */
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart WHERE o.orderId > :orderId ORDER BY o.orderId")
+	List<Order> findAllWithCartAfter(@Param("orderId") final Integer orderId, final Pageable pageable);
 	
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + AppConstant.EXPORT_FETCH_SIZE))
+	@Query("SELECT o FROM Order o LEFT JOIN FETCH o.cart ORDER BY o.orderId")
+	Stream<Order> streamAll();
 	
 }
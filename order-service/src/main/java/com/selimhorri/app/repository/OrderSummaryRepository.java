@@ -0,0 +1,59 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OrderSummary;
+
+public interface OrderSummaryRepository extends JpaRepository<OrderSummary, Integer> {
+	
+	/**
+	 * Order history of a user, newest first, a range scan of the (user_id, order_date) index
+	 */
+	List<OrderSummary> findAllByUserIdOrderByOrderDateDescOrderIdDesc(final Integer userId);
+	
+	/**
+	 * Applies an item snapshot unless a newer one was already applied, answers 0 when skipped or the order is unknown
+	 */
+	@Modifying
+	@Query("UPDATE OrderSummary s SET s.itemCount = :itemCount, s.totalQuantity = :totalQuantity, "
+			+ "s.itemsSyncedAt = :syncedAt "
+			+ "WHERE s.orderId = :orderId AND (s.itemsSyncedAt IS NULL OR s.itemsSyncedAt <= :syncedAt)")
+	int updateItems(
+			@Param("orderId") final Integer orderId, 
+			@Param("itemCount") final int itemCount, 
+			@Param("totalQuantity") final int totalQuantity, 
+			@Param("syncedAt") final Instant syncedAt);
+	
+	/**
+	 * Applies a payment snapshot unless a newer one was already applied, answers 0 when skipped or the order is unknown
+	 */
+	@Modifying
+	@Query("UPDATE OrderSummary s SET s.paymentId = :paymentId, s.isPayed = :isPayed, "
+			+ "s.paymentStatus = :paymentStatus, s.paymentSyncedAt = :syncedAt "
+			+ "WHERE s.orderId = :orderId AND (s.paymentSyncedAt IS NULL OR s.paymentSyncedAt <= :syncedAt)")
+	int updatePayment(
+			@Param("orderId") final Integer orderId, 
+			@Param("paymentId") final Integer paymentId, 
+			@Param("isPayed") final Boolean isPayed, 
+			@Param("paymentStatus") final String paymentStatus, 
+			@Param("syncedAt") final Instant syncedAt);
+	
+	@Modifying
+	@Query("UPDATE OrderSummary s SET s.userId = :userId WHERE s.cartId = :cartId")
+	int updateUserIdByCartId(@Param("cartId") final Integer cartId, @Param("userId") final Integer userId);
+	
+	@Modifying
+	@Query("DELETE FROM OrderSummary s WHERE s.cartId = :cartId")
+	int deleteAllByCartId(@Param("cartId") final Integer cartId);
+	
+	@Modifying
+	@Query("DELETE FROM OrderSummary s WHERE NOT EXISTS (SELECT o.orderId FROM Order o WHERE o.orderId = s.orderId)")
+	int deleteOrphans();
+	
+}
@@ -0,0 +1,26 @@
+package com.selimhorri.app.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxStatus;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+	
+	/**
+	 * Oldest events due for delivery first, served by the (status, next_attempt_at) index
+	 */
+	@Query("SELECT e FROM OutboxEvent e WHERE e.status = :status AND e.nextAttemptAt <= :now "
+			+ "ORDER BY e.outboxEventId")
+	List<OutboxEvent> findDue(
+			@Param("status") final OutboxStatus status, 
+			@Param("now") final Instant now, 
+			final Pageable pageable);
+	
+}
@@ -4,6 +4,8 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +14,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.CartLineDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.CartLineService;
 import com.selimhorri.app.service.CartService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 public class CartResource {
 	
 	private final CartService cartService;
+	private final CartLineService cartLineService;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll() {
@@ -35,6 +41,17 @@ public class CartResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartService.findAll()));
 	}
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<DtoCollectionResponse<CartDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after, 
+			final Pageable pageable) {
+		log.info("*** CartDto Slice, controller; fetch carts page *");
+		final Slice<CartDto> cartDtos = (after != null) ? 
+				this.cartService.findAllAfter(after, pageable.getPageSize()) : 
+				this.cartService.findAll(pageable);
+		return ResponseEntity.ok(DtoCollectionResponse.of(cartDtos, d -> String.valueOf(d.getCartId())));
+	}
+	
 	@GetMapping("/{cartId}")
 	public ResponseEntity<CartDto> findById(
 			@PathVariable("cartId") 
@@ -80,17 +97,47 @@ public class CartResource {
 		this.cartService.deleteById(Integer.parseInt(cartId));
 		return ResponseEntity.ok(true);
 	}
+	@GetMapping("/{cartId}/lines")
+	public ResponseEntity<DtoCollectionResponse<CartLineDto>> findAllLines(@PathVariable("cartId") final String cartId) {
+		log.info("*** CartLineDto List, resource; fetch cart lines *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartLineService.findAll(Integer.parseInt(cartId))));
+	}
+	
+	@PostMapping("/{cartId}/lines")
+	public ResponseEntity<DtoCollectionResponse<CartLineDto>> addLine(
+			@PathVariable("cartId") final String cartId,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final CartLineDto cartLineDto) {
+		log.info("*** CartLineDto List, resource; add to cart line *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartLineService.add(Integer.parseInt(cartId), cartLineDto)));
+	}
+	
+	@PutMapping("/{cartId}/lines")
+	public ResponseEntity<DtoCollectionResponse<CartLineDto>> updateLine(
+			@PathVariable("cartId") final String cartId,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final CartLineDto cartLineDto) {
+		log.info("*** CartLineDto List, resource; update cart line *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartLineService.update(Integer.parseInt(cartId), cartLineDto)));
+	}
+	
+	@DeleteMapping("/{cartId}/lines/{productId}")
+	public ResponseEntity<DtoCollectionResponse<CartLineDto>> removeLine(
+			@PathVariable("cartId") final String cartId,
+			@PathVariable("productId") final String productId) {
+		log.info("*** CartLineDto List, resource; remove cart line *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartLineService
+				.remove(Integer.parseInt(cartId), Integer.parseInt(productId))));
+	}
+	
+	@DeleteMapping("/{cartId}/lines")
+	public ResponseEntity<DtoCollectionResponse<CartLineDto>> clearLines(@PathVariable("cartId") final String cartId) {
+		log.info("*** CartLineDto List, resource; clear cart lines *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.cartLineService.clear(Integer.parseInt(cartId))));
+	}
 	
 	
 	
 }
-
-
-
-
-
-
-
-
-
-
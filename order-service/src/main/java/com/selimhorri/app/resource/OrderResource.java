@@ -1,9 +1,16 @@
 package com.selimhorri.app.resource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,9 +19,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderPlacementDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.OrderService;
 
@@ -28,13 +41,62 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderResource {
 	
 	private final OrderService orderService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll(
+			@RequestParam(value = "ids", required = false) final List<Integer> orderIds) {
+		if (orderIds != null) {
+			log.info("*** OrderDto List, controller; fetch orders by ids *");
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAllById(orderIds)));
+		}
 		log.info("*** OrderDto List, controller; fetch all orders *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAll()));
 	}
 	
+	@GetMapping(params = "cartId")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAllByCartId(
+			@RequestParam("cartId") final Integer cartId) {
+		log.info("*** OrderDto List, controller; fetch orders by cartId *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAllByCartId(cartId)));
+	}
+	
+	@GetMapping(params = "userId")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		log.info("*** OrderDto List, controller; fetch orders by userId *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderService.findAllByUserId(userId)));
+	}
+	
+	@GetMapping(params = "size")
+	public ResponseEntity<DtoCollectionResponse<OrderDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after, 
+			final Pageable pageable) {
+		log.info("*** OrderDto Slice, controller; fetch orders page *");
+		final Slice<OrderDto> orderDtos = (after != null) ? 
+				this.orderService.findAllAfter(after, pageable.getPageSize()) : 
+				this.orderService.findAll(pageable);
+		return ResponseEntity.ok(DtoCollectionResponse.of(orderDtos, d -> String.valueOf(d.getOrderId())));
+	}
+	
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		log.info("*** OrderDto Stream, resource; export all orders *");
+		final ObjectWriter writer = this.objectMapper.writer()
+				.without(SerializationFeature.INDENT_OUTPUT);
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(out -> this.orderService.exportAll(d -> {
+					try {
+						out.write(writer.writeValueAsBytes(d));
+						out.write('\n');
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}));
+	}
+	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") 
@@ -53,6 +115,19 @@ public class OrderResource {
 		return ResponseEntity.ok(this.orderService.save(orderDto));
 	}
 	
+	/**
+	 * Answers once the order and its outbox events are committed, 
+	 * order items and payment are created asynchronously by shipping and payment
+	 */
+	@PostMapping("/place")
+	public ResponseEntity<OrderDto> place(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final OrderPlacementDto orderPlacementDto) {
+		log.info("*** OrderDto, resource; place order *");
+		return ResponseEntity.accepted().body(this.orderService.place(orderPlacementDto));
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderDto> update(
 			@RequestBody 
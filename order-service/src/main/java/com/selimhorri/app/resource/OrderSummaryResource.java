@@ -0,0 +1,75 @@
+package com.selimhorri.app.resource;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.dto.OrderSummaryDto;
+import com.selimhorri.app.dto.event.OrderItemsChangedEvent;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.service.OrderSummaryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/order-summaries")
+@Slf4j
+@RequiredArgsConstructor
+public class OrderSummaryResource {
+	
+	private final OrderSummaryService orderSummaryService;
+	
+	@GetMapping(params = "userId")
+	public ResponseEntity<DtoCollectionResponse<OrderSummaryDto>> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		log.info("*** OrderSummaryDto List, controller; fetch order summaries by userId *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderSummaryService.findAllByUserId(userId)));
+	}
+	
+	/**
+	 * Batch of item snapshots published by shipping, answers the number of summaries updated
+	 */
+	@PostMapping("/events/order-items-changed")
+	public ResponseEntity<Integer> handleOrderItemsChanged(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<OrderItemsChangedEvent> orderItemsChangedEvents) {
+		log.info("*** Integer, resource; handle OrderItemsChanged events *");
+		return ResponseEntity.ok(this.orderSummaryService.handleOrderItemsChanged(orderItemsChangedEvents));
+	}
+	
+	/**
+	 * Batch of payment snapshots published by payment, answers the number of summaries updated
+	 */
+	@PostMapping("/events/payment-changed")
+	public ResponseEntity<Integer> handlePaymentChanged(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<PaymentChangedEvent> paymentChangedEvents) {
+		log.info("*** Integer, resource; handle PaymentChanged events *");
+		return ResponseEntity.ok(this.orderSummaryService.handlePaymentChanged(paymentChangedEvents));
+	}
+	
+	/**
+	 * Replays orders from their table, order items and payments from their service exports, answers the number of summaries rebuilt
+	 */
+	@PostMapping("/rebuild")
+	public ResponseEntity<Integer> rebuild() {
+		log.info("*** Integer, resource; rebuild order summaries *");
+		return ResponseEntity.ok(this.orderSummaryService.rebuild());
+	}
+	
+	
+	
+}
@@ -0,0 +1,17 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.CartLineDto;
+
+public interface CartLineService {
+	
+	List<CartLineDto> findAll(final Integer cartId);
+	List<CartLineDto> add(final Integer cartId, final CartLineDto cartLineDto);
+	List<CartLineDto> update(final Integer cartId, final CartLineDto cartLineDto);
+	List<CartLineDto> remove(final Integer cartId, final Integer productId);
+	List<CartLineDto> clear(final Integer cartId);
+	void discard(final Integer cartId);
+	int flush();
+	
+}
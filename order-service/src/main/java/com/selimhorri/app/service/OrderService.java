@@ -1,16 +1,29 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderPlacementDto;
 
 public interface OrderService {
 	
 	List<OrderDto> findAll();
+	Slice<OrderDto> findAll(final Pageable pageable);
+	Slice<OrderDto> findAllAfter(final Integer orderId, final int size);
+	List<OrderDto> findAllById(final Collection<Integer> orderIds);
+	List<OrderDto> findAllByCartId(final Integer cartId);
+	List<OrderDto> findAllByUserId(final Integer userId);
 	OrderDto findById(final Integer orderId);
 	OrderDto save(final OrderDto orderDto);
 	OrderDto update(final OrderDto orderDto);
 	OrderDto update(final Integer orderId, final OrderDto orderDto);
+	OrderDto place(final OrderPlacementDto orderPlacementDto);
 	void deleteById(final Integer orderId);
+	void exportAll(final Consumer<OrderDto> action);
 	
 }
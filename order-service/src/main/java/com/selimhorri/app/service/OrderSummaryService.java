@@ -0,0 +1,20 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.OrderSummaryDto;
+import com.selimhorri.app.dto.event.OrderItemsChangedEvent;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
+
+public interface OrderSummaryService {
+	
+	List<OrderSummaryDto> findAllByUserId(final Integer userId);
+	void project(final Integer orderId);
+	void remove(final Integer orderId);
+	void projectCartUser(final Integer cartId, final Integer userId);
+	void removeAllByCartId(final Integer cartId);
+	int handleOrderItemsChanged(final List<OrderItemsChangedEvent> orderItemsChangedEvents);
+	int handlePaymentChanged(final List<PaymentChangedEvent> paymentChangedEvents);
+	int rebuild();
+	
+}
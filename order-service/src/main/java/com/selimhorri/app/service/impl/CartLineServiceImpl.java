@@ -0,0 +1,137 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.cart.HotCartStore;
+import com.selimhorri.app.config.cart.HotCartProperties;
+import com.selimhorri.app.domain.CartLine;
+import com.selimhorri.app.dto.CartLineDto;
+import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+import com.selimhorri.app.repository.CartLineRepository;
+import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.service.CartLineService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cart lines are edited in the hot cart store, the database is read when a cart is first touched 
+ * and written by the periodic flush only, the remaining dirty carts are flushed on shutdown
+ */
+@Service
+@Slf4j
+public class CartLineServiceImpl implements CartLineService {
+	
+	private final CartRepository cartRepository;
+	private final CartLineRepository cartLineRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final HotCartStore hotCartStore;
+	
+	public CartLineServiceImpl(final CartRepository cartRepository, final CartLineRepository cartLineRepository, 
+			final TransactionTemplate transactionTemplate, final HotCartProperties hotCartProperties, 
+			final MeterRegistry meterRegistry) {
+		this.cartRepository = cartRepository;
+		this.cartLineRepository = cartLineRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.hotCartStore = new HotCartStore(hotCartProperties.getMaximumSize(), hotCartProperties.getTtl(), 
+				hotCartProperties.getMaxLines(), this::load, this::write);
+		this.hotCartStore.bindTo(meterRegistry);
+	}
+	
+	@Override
+	public List<CartLineDto> findAll(final Integer cartId) {
+		log.info("*** CartLineDto List, service; fetch cart lines *");
+		return map(this.hotCartStore.lines(cartId));
+	}
+	
+	@Override
+	public List<CartLineDto> add(final Integer cartId, final CartLineDto cartLineDto) {
+		log.info("*** CartLineDto List, service; add to cart line *");
+		return map(this.hotCartStore.add(cartId, cartLineDto.getProductId(), cartLineDto.getOrderedQuantity()));
+	}
+	
+	@Override
+	public List<CartLineDto> update(final Integer cartId, final CartLineDto cartLineDto) {
+		log.info("*** CartLineDto List, service; update cart line *");
+		return map(this.hotCartStore.set(cartId, cartLineDto.getProductId(), cartLineDto.getOrderedQuantity()));
+	}
+	
+	@Override
+	public List<CartLineDto> remove(final Integer cartId, final Integer productId) {
+		log.info("*** CartLineDto List, service; remove cart line *");
+		return map(this.hotCartStore.remove(cartId, productId));
+	}
+	
+	@Override
+	public List<CartLineDto> clear(final Integer cartId) {
+		log.info("*** CartLineDto List, service; clear cart lines *");
+		return map(this.hotCartStore.clear(cartId));
+	}
+	
+	@Override
+	public void discard(final Integer cartId) {
+		log.info("*** Void, service; discard hot cart *");
+		this.hotCartStore.discard(cartId);
+	}
+	
+	@Override
+	public int flush() {
+		final int flushed = this.hotCartStore.flush();
+		if (flushed > 0)
+			log.info("*** Integer, service; flushed {} hot carts *", flushed);
+		return flushed;
+	}
+	
+	@PreDestroy
+	void flushOnShutdown() {
+		log.info("*** Void, service; flush hot carts on shutdown *");
+		this.flush();
+	}
+	
+	private Map<Integer, Integer> load(final Integer cartId) {
+		if (!this.cartRepository.existsById(cartId))
+			throw new CartNotFoundException(String.format("Cart with id: %d not found", cartId));
+		return this.cartLineRepository.findAllByCartIdOrderByProductId(cartId).stream()
+				.collect(Collectors.toMap(CartLine::getProductId, CartLine::getOrderedQuantity, 
+						(a, b) -> a, LinkedHashMap::new));
+	}
+	
+	/**
+	 * Replaces the stored lines of the cart in one transaction, a cart deleted meanwhile is skipped
+	 */
+	private void write(final Integer cartId, final Map<Integer, Integer> lines) {
+		this.transactionTemplate.executeWithoutResult(status -> {
+			if (!this.cartRepository.existsById(cartId))
+				return;
+			this.cartLineRepository.deleteAllByCartId(cartId);
+			this.cartLineRepository.saveAll(lines.entrySet().stream()
+					.map(e -> CartLine.builder()
+							.cartId(cartId)
+							.productId(e.getKey())
+							.orderedQuantity(e.getValue())
+							.isNew(true)
+							.build())
+					.collect(Collectors.toUnmodifiableList()));
+		});
+	}
+	
+	private static List<CartLineDto> map(final Map<Integer, Integer> lines) {
+		return lines.entrySet().stream()
+				.map(e -> CartLineDto.builder()
+						.productId(e.getKey())
+						.orderedQuantity(e.getValue())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
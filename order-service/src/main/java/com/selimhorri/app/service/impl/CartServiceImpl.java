@@ -1,21 +1,39 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.helper.CartMappingHelper;
 import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.service.CartLineService;
 import com.selimhorri.app.service.CartService;
+import com.selimhorri.app.service.OrderSummaryService;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,8 +43,17 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class CartServiceImpl implements CartService {
 	
+	/**
+	 * Max number of ids sent in a single bulk lookup, keeps the query string bounded
+	 */
+	private static final int BULK_FETCH_CHUNK_SIZE = 100;
+	
 	private final CartRepository cartRepository;
+	private final CartLineService cartLineService;
+	private final OrderSummaryService orderSummaryService;
 	private final RestTemplate restTemplate;
+	private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+	private final BulkheadRegistry bulkheadRegistry;
 	
 	@Override
 	public List<CartDto> findAll() {
@@ -35,22 +62,35 @@ public class CartServiceImpl implements CartService {
 				.stream()
 					.map(CartMappingHelper::map)
 					.map(c -> {
-						c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
+						c.setUserDto(this.fetchUser(c.getUserDto()));
 						return c;
 					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<CartDto> findAll(final Pageable pageable) {
+		log.info("*** CartDto Slice, service; fetch carts page *");
+		return this.enrich(this.cartRepository.findAllBy(pageable)
+				.map(CartMappingHelper::map));
+	}
+	
+	@Override
+	public Slice<CartDto> findAllAfter(final Integer cartId, final int size) {
+		log.info("*** CartDto Slice, service; fetch carts after cursor *");
+		return this.enrich(this.cartRepository.findByCartIdGreaterThan(cartId, PageRequest.of(0, size, Sort.by("cartId")))
+				.map(CartMappingHelper::map));
+	}
+	
 	@Override
 	public CartDto findById(final Integer cartId) {
 		log.info("*** CartDto, service; fetch cart by id *");
 		return this.cartRepository.findById(cartId)
 				.map(CartMappingHelper::map)
 				.map(c -> {
-					c.setUserDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.USER_SERVICE_API_URL + "/" + c.getUserDto().getUserId(), UserDto.class));
+					c.setUserDto(this.fetchUser(c.getUserDto()));
+					c.setCartLineDtos(this.cartLineService.findAll(cartId));
 					return c;
 				})
 				.orElseThrow(() -> new CartNotFoundException(String
@@ -67,8 +107,9 @@ public class CartServiceImpl implements CartService {
 	@Override
 	public CartDto update(final CartDto cartDto) {
 		log.info("*** CartDto, service; update cart *");
-		return CartMappingHelper.map(this.cartRepository
-				.save(CartMappingHelper.map(cartDto)));
+		final Cart cart = this.cartRepository.save(CartMappingHelper.map(cartDto));
+		this.orderSummaryService.projectCartUser(cart.getCartId(), cart.getUserId());
+		return CartMappingHelper.map(cart);
 	}
 	
 	@Override
@@ -81,7 +122,75 @@ public class CartServiceImpl implements CartService {
 	@Override
 	public void deleteById(final Integer cartId) {
 		log.info("*** Void, service; delete cart by id *");
+		this.orderSummaryService.removeAllByCartId(cartId);
 		this.cartRepository.deleteById(cartId);
+		this.cartLineService.discard(cartId);
+	}
+	
+	/**
+	 * Attaches the users of a slice resolved in bulk, a cart keeps its un-enriched user 
+	 * when that lookup is degraded
+	 */
+	private Slice<CartDto> enrich(final Slice<CartDto> cartDtos) {
+		final Map<Integer, UserDto> userDtos = this.fetchUsers(cartDtos.stream()
+				.map(CartDto::getUserId)
+				.collect(Collectors.toSet()));
+		return new SliceImpl<>(cartDtos.stream()
+					.map(c -> {
+						c.setUserDto(userDtos.getOrDefault(c.getUserId(), c.getUserDto()));
+						return c;
+					})
+					.collect(Collectors.toUnmodifiableList()), 
+				cartDtos.getPageable(), cartDtos.hasNext());
+	}
+	
+	/**
+	 * Resolves distinct user ids against the user-service bulk endpoint ({@code ?ids=...}),
+	 * one call per chunk of {@link #BULK_FETCH_CHUNK_SIZE} ids
+	 */
+	private Map<Integer, UserDto> fetchUsers(final Collection<Integer> userIds) {
+		final List<Integer> distinctIds = userIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+		final Map<Integer, UserDto> result = new HashMap<>();
+		
+		for (int from = 0; from < distinctIds.size(); from += BULK_FETCH_CHUNK_SIZE) {
+			final String joinedIds = distinctIds.subList(from, Math.min(from + BULK_FETCH_CHUNK_SIZE, distinctIds.size()))
+					.stream()
+						.map(String::valueOf)
+						.collect(Collectors.joining(","));
+			final DtoCollectionResponse<UserDto> response = this.circuitBreakerFactory
+					.create(AppConstant.RemoteDependencies.USER_SERVICE)
+					.run(Bulkhead.decorateSupplier(this.bulkheadRegistry.bulkhead(AppConstant.RemoteDependencies.USER_SERVICE), 
+							() -> this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.USER_SERVICE_API_URL + "?ids=" + joinedIds, 
+									HttpMethod.GET, null, new ParameterizedTypeReference<DtoCollectionResponse<UserDto>>() {})
+								.getBody()), 
+						throwable -> {
+							log.warn("*** UserDto List, service; bulk user lookup degraded: {} *", throwable.toString());
+							return null;
+						});
+			if (response != null && response.getCollection() != null)
+				response.getCollection().forEach(userDto -> result.put(userDto.getUserId(), userDto));
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Remote user lookup behind the userService circuit breaker, bulkhead and time limiter,
+	 * degrades to the un-enriched user (id only) when the call fails or is not permitted
+	 */
+	private UserDto fetchUser(final UserDto userDto) {
+		return this.circuitBreakerFactory
+				.create(AppConstant.RemoteDependencies.USER_SERVICE)
+				.run(Bulkhead.decorateSupplier(this.bulkheadRegistry.bulkhead(AppConstant.RemoteDependencies.USER_SERVICE), 
+						() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+								.USER_SERVICE_API_URL + "/" + userDto.getUserId(), UserDto.class)), 
+					throwable -> {
+						log.warn("*** UserDto, service; user lookup degraded: {} *", throwable.toString());
+						return userDto;
+					});
 	}
 	
 	
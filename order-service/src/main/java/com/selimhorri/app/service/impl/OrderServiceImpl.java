@@ -1,17 +1,44 @@
 package com.selimhorri.app.service.impl;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Cart;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OutboxDestination;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxStatus;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderPlacementDto;
+import com.selimhorri.app.dto.event.OrderPlacedEvent;
+import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
 import com.selimhorri.app.helper.OrderMappingHelper;
+import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.repository.OutboxEventRepository;
 import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.service.OrderSummaryService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +50,11 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderServiceImpl implements OrderService {
 	
 	private final OrderRepository orderRepository;
+	private final EntityManager entityManager;
+	private final CartRepository cartRepository;
+	private final OutboxEventRepository outboxEventRepository;
+	private final OrderSummaryService orderSummaryService;
+	private final ObjectMapper objectMapper;
 	
 	@Override
 	public List<OrderDto> findAll() {
@@ -34,6 +66,48 @@ public class OrderServiceImpl implements OrderService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public List<OrderDto> findAllById(final Collection<Integer> orderIds) {
+		log.info("*** OrderDto List, service; fetch orders by ids *");
+		return this.orderRepository.findAllById(orderIds)
+				.stream()
+					.map(OrderMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public List<OrderDto> findAllByCartId(final Integer cartId) {
+		log.info("*** OrderDto List, service; fetch orders by cartId *");
+		return this.orderRepository.findAllByCartId(cartId)
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public List<OrderDto> findAllByUserId(final Integer userId) {
+		log.info("*** OrderDto List, service; fetch orders by userId *");
+		return this.orderRepository.findAllByUserId(userId)
+				.stream()
+					.map(OrderMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public Slice<OrderDto> findAll(final Pageable pageable) {
+		log.info("*** OrderDto Slice, service; fetch orders page *");
+		return this.orderRepository.findAllBy(pageable)
+				.map(OrderMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<OrderDto> findAllAfter(final Integer orderId, final int size) {
+		log.info("*** OrderDto Slice, service; fetch orders after cursor *");
+		return this.orderRepository.findByOrderIdGreaterThan(orderId, PageRequest.of(0, size, Sort.by("orderId")))
+				.map(OrderMappingHelper::map);
+	}
+	
 	@Override
 	public OrderDto findById(final Integer orderId) {
 		log.info("*** OrderDto, service; fetch order by id *");
@@ -46,28 +120,118 @@ public class OrderServiceImpl implements OrderService {
 	@Override
 	public OrderDto save(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; save order *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(orderDto)));
+		final Order order = this.orderRepository.save(OrderMappingHelper.map(orderDto));
+		this.orderSummaryService.project(order.getOrderId());
+		return OrderMappingHelper.map(order);
 	}
 	
 	@Override
 	public OrderDto update(final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(orderDto)));
+		final Order order = this.orderRepository.save(OrderMappingHelper.map(orderDto));
+		this.orderSummaryService.project(order.getOrderId());
+		return OrderMappingHelper.map(order);
 	}
 	
 	@Override
 	public OrderDto update(final Integer orderId, final OrderDto orderDto) {
 		log.info("*** OrderDto, service; update order with orderId *");
-		return OrderMappingHelper.map(this.orderRepository
-				.save(OrderMappingHelper.map(this.findById(orderId))));
+		final Order order = this.orderRepository.save(OrderMappingHelper.map(this.findById(orderId)));
+		this.orderSummaryService.project(order.getOrderId());
+		return OrderMappingHelper.map(order);
+	}
+	
+	/**
+	 * Writes the order and one OrderPlaced outbox row per destination in a single local transaction,
+	 * shipping and payment are reached later by the outbox relay, never on the checkout path
+	 */
+	@Override
+	public OrderDto place(final OrderPlacementDto orderPlacementDto) {
+		log.info("*** OrderDto, service; place order *");
+		final Cart cart = this.resolveCart(orderPlacementDto);
+		final Order order = this.orderRepository.save(Order.builder()
+				.orderDate(LocalDateTime.now())
+				.orderDesc(orderPlacementDto.getOrderDesc())
+				.orderFee(orderPlacementDto.getOrderFee())
+				.cart(cart)
+				.build());
+		
+		final OrderPlacedEvent orderPlacedEvent = OrderPlacedEvent.builder()
+				.eventId(UUID.randomUUID().toString())
+				.orderId(order.getOrderId())
+				.cartId(cart.getCartId())
+				.userId(cart.getUserId())
+				.orderDate(order.getOrderDate())
+				.orderFee(order.getOrderFee())
+				.orderLines(orderPlacementDto.getOrderLines())
+				.build();
+		final String payload = this.toPayload(orderPlacedEvent);
+		final Instant now = Instant.now();
+		this.outboxEventRepository.saveAll(Arrays.stream(OutboxDestination.values())
+				.map(destination -> OutboxEvent.builder()
+						.eventId(orderPlacedEvent.getEventId())
+						.eventType(OrderPlacedEvent.EVENT_TYPE)
+						.aggregateId(order.getOrderId())
+						.destination(destination)
+						.payload(payload)
+						.status(OutboxStatus.PENDING)
+						.attempts(0)
+						.nextAttemptAt(now)
+						.build())
+				.collect(Collectors.toUnmodifiableList()));
+		this.orderSummaryService.project(order.getOrderId());
+		
+		return OrderMappingHelper.map(order);
 	}
 	
 	@Override
 	public void deleteById(final Integer orderId) {
 		log.info("*** Void, service; delete order by id *");
 		this.orderRepository.delete(OrderMappingHelper.map(this.findById(orderId)));
+		this.orderSummaryService.remove(orderId);
+	}
+	
+	/**
+	 * Streams every row straight from the JDBC cursor, the persistence context is cleared
+	 * every {@link AppConstant#EXPORT_FETCH_SIZE} rows so memory stays flat, remote enrichment is skipped
+	 */
+	@Override
+	public void exportAll(final Consumer<OrderDto> action) {
+		log.info("*** OrderDto Stream, service; export all orders *");
+		try (final Stream<Order> orders = this.orderRepository.streamAll()) {
+			final int[] count = {0};
+			orders.forEach(e -> {
+				action.accept(OrderMappingHelper.map(e));
+				if (++count[0] % AppConstant.EXPORT_FETCH_SIZE == 0)
+					this.entityManager.clear();
+			});
+		}
+	}
+	
+	private Cart resolveCart(final OrderPlacementDto orderPlacementDto) {
+		if (orderPlacementDto.getCartId() == null)
+			return this.cartRepository.save(Cart.builder()
+					.userId(orderPlacementDto.getUserId())
+					.build());
+		final Cart cart = this.cartRepository.findById(orderPlacementDto.getCartId())
+				.orElseThrow(() -> new CartNotFoundException(String
+						.format("Cart with id: %d not found", orderPlacementDto.getCartId())));
+		if (!orderPlacementDto.getUserId().equals(cart.getUserId()))
+			throw new IllegalStateException(String.format("Cart with id: %d does not belong to user with id: %d", 
+					cart.getCartId(), orderPlacementDto.getUserId()));
+		return cart;
+	}
+	
+	private String toPayload(final OrderPlacedEvent orderPlacedEvent) {
+		try {
+			return this.objectMapper.writer()
+					.without(SerializationFeature.INDENT_OUTPUT)
+					.writeValueAsString(orderPlacedEvent);
+		}
+		catch (JsonProcessingException e) {
+			throw new IllegalStateException(String.format("OrderPlaced event of order with id: %d is not serializable", 
+					orderPlacedEvent.getOrderId()), e);
+		}
 	}
 	
 	
@@ -0,0 +1,223 @@
+package com.selimhorri.app.service.impl;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OrderSummary;
+import com.selimhorri.app.dto.OrderSummaryDto;
+import com.selimhorri.app.dto.event.OrderItemsChangedEvent;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
+import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.helper.OrderSummaryMappingHelper;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.repository.OrderSummaryRepository;
+import com.selimhorri.app.service.OrderSummaryService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the order summaries in step with their sources: order changes are projected in the transaction
+ * of the change, item and payment snapshots are applied as their events arrive.
+ * The rebuild replays every source from scratch, shipping and payment through their exports.
+ */
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class OrderSummaryServiceImpl implements OrderSummaryService {
+	
+	private final OrderSummaryRepository orderSummaryRepository;
+	private final OrderRepository orderRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	private final RestTemplate restTemplate;
+	private final ObjectMapper objectMapper;
+	
+	@Override
+	public List<OrderSummaryDto> findAllByUserId(final Integer userId) {
+		log.info("*** OrderSummaryDto List, service; fetch order summaries by userId *");
+		return this.orderSummaryRepository.findAllByUserIdOrderByOrderDateDescOrderIdDesc(userId)
+				.stream()
+					.map(OrderSummaryMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public void project(final Integer orderId) {
+		log.info("*** Void, service; project order summary *");
+		final Order order = this.orderRepository.findById(orderId)
+				.orElseThrow(() -> new OrderNotFoundException(String
+						.format("Order with id: %d not found", orderId)));
+		final OrderSummary orderSummary = this.orderSummaryRepository.findById(orderId)
+				.orElseGet(() -> OrderSummary.builder()
+						.orderId(orderId)
+						.isNew(true)
+						.build());
+		applyOrder(orderSummary, order);
+		this.orderSummaryRepository.save(orderSummary);
+	}
+	
+	@Override
+	public void remove(final Integer orderId) {
+		log.info("*** Void, service; remove order summary *");
+		this.orderSummaryRepository.findById(orderId)
+				.ifPresent(this.orderSummaryRepository::delete);
+	}
+	
+	@Override
+	public void projectCartUser(final Integer cartId, final Integer userId) {
+		log.info("*** Void, service; project cart user on order summaries *");
+		this.orderSummaryRepository.updateUserIdByCartId(cartId, userId);
+	}
+	
+	@Override
+	public void removeAllByCartId(final Integer cartId) {
+		log.info("*** Void, service; remove order summaries by cartId *");
+		this.orderSummaryRepository.deleteAllByCartId(cartId);
+	}
+	
+	@Override
+	public int handleOrderItemsChanged(final List<OrderItemsChangedEvent> orderItemsChangedEvents) {
+		log.info("*** Integer, service; handle {} OrderItemsChanged events *", orderItemsChangedEvents.size());
+		return orderItemsChangedEvents.stream()
+				.mapToInt(e -> this.orderSummaryRepository.updateItems(e.getOrderId(),
+						e.getItemCount(), e.getTotalQuantity(), e.getOccurredAt()))
+				.sum();
+	}
+	
+	@Override
+	public int handlePaymentChanged(final List<PaymentChangedEvent> paymentChangedEvents) {
+		log.info("*** Integer, service; handle {} PaymentChanged events *", paymentChangedEvents.size());
+		return paymentChangedEvents.stream()
+				.mapToInt(e -> this.orderSummaryRepository.updatePayment(e.getOrderId(),
+						e.getPaymentId(), e.getIsPayed(), e.getPaymentStatus(), e.getOccurredAt()))
+				.sum();
+	}
+	
+	/**
+	 * Reads the item and payment exports first, outside of any transaction, then rewrites the summaries
+	 * page by page of orders in one local transaction. Item and payment columns are stamped with the start
+	 * of the rebuild, so events synced after it are kept, and summaries of orders gone are removed.
+	 */
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public int rebuild() {
+		log.info("*** Integer, service; rebuild order summaries *");
+		final Instant startedAt = Instant.now();
+		
+		final Map<Integer, int[]> itemTotals = new HashMap<>();
+		this.readExport(AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL + "/export", orderItem -> {
+			final int[] totals = itemTotals.computeIfAbsent(orderItem.path("orderId").asInt(), id -> new int[2]);
+			totals[0]++;
+			totals[1] += orderItem.path("orderedQuantity").asInt();
+		});
+		final Map<Integer, JsonNode> latestPayments = new HashMap<>();
+		this.readExport(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL + "/export", payment -> {
+			final JsonNode orderId = payment.path("order").path("orderId");
+			if (orderId.isInt())
+				latestPayments.merge(orderId.asInt(), payment, (a, b) ->
+						b.path("paymentId").asInt() > a.path("paymentId").asInt() ? b : a);
+		});
+		
+		final int rebuilt = this.transactionTemplate.execute(status -> {
+			int count = 0;
+			List<Order> orders = this.orderRepository.findAllWithCartAfter(0, PageRequest.of(0, AppConstant.EXPORT_FETCH_SIZE));
+			while (!orders.isEmpty()) {
+				final Map<Integer, OrderSummary> orderSummaries = this.orderSummaryRepository.findAllById(orders.stream()
+								.map(Order::getOrderId)
+								.collect(Collectors.toUnmodifiableList()))
+						.stream()
+							.collect(Collectors.toMap(OrderSummary::getOrderId, Function.identity()));
+				for (final Order order : orders) {
+					final OrderSummary orderSummary = orderSummaries.computeIfAbsent(order.getOrderId(),
+							id -> OrderSummary.builder().orderId(id).isNew(true).build());
+					applyOrder(orderSummary, order);
+					applyItems(orderSummary, itemTotals.get(order.getOrderId()), startedAt);
+					applyPayment(orderSummary, latestPayments.get(order.getOrderId()), startedAt);
+				}
+				this.orderSummaryRepository.saveAll(orderSummaries.values());
+				this.orderSummaryRepository.flush();
+				this.entityManager.clear();
+				count += orders.size();
+				
+				final Integer lastOrderId = orders.get(orders.size() - 1).getOrderId();
+				orders = this.orderRepository.findAllWithCartAfter(lastOrderId, PageRequest.of(0, AppConstant.EXPORT_FETCH_SIZE));
+			}
+			this.orderSummaryRepository.deleteOrphans();
+			return count;
+		});
+		log.info("*** Integer, service; rebuilt {} order summaries from {} item totals and {} payments *",
+				rebuilt, itemTotals.size(), latestPayments.size());
+		return rebuilt;
+	}
+	
+	/**
+	 * Streams an NDJSON export, one node per line
+	 */
+	private void readExport(final String url, final Consumer<JsonNode> action) {
+		this.restTemplate.execute(url, HttpMethod.GET,
+				request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+				response -> {
+					try (final BufferedReader reader = new BufferedReader(
+							new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+						String line;
+						while ((line = reader.readLine()) != null)
+							if (!line.isBlank())
+								action.accept(this.objectMapper.readTree(line));
+					}
+					return null;
+				});
+	}
+	
+	private static void applyOrder(final OrderSummary orderSummary, final Order order) {
+		orderSummary.setOrderDate(order.getOrderDate());
+		orderSummary.setOrderDesc(order.getOrderDesc());
+		orderSummary.setOrderFee(order.getOrderFee());
+		orderSummary.setCartId(order.getCart() == null ? null : order.getCart().getCartId());
+		orderSummary.setUserId(order.getCart() == null ? null : order.getCart().getUserId());
+	}
+	
+	private static void applyItems(final OrderSummary orderSummary, final int[] totals, final Instant syncedAt) {
+		if (orderSummary.getItemsSyncedAt() != null && orderSummary.getItemsSyncedAt().isAfter(syncedAt))
+			return;
+		orderSummary.setItemCount(totals == null ? 0 : totals[0]);
+		orderSummary.setTotalQuantity(totals == null ? 0 : totals[1]);
+		orderSummary.setItemsSyncedAt(syncedAt);
+	}
+	
+	private static void applyPayment(final OrderSummary orderSummary, final JsonNode payment, final Instant syncedAt) {
+		if (orderSummary.getPaymentSyncedAt() != null && orderSummary.getPaymentSyncedAt().isAfter(syncedAt))
+			return;
+		orderSummary.setPaymentId(payment == null ? null : payment.path("paymentId").asInt());
+		orderSummary.setIsPayed(payment == null || payment.path("isPayed").isNull() ? null : payment.path("isPayed").asBoolean());
+		orderSummary.setPaymentStatus(payment == null ? null : payment.path("paymentStatus").textValue());
+		orderSummary.setPaymentSyncedAt(syncedAt);
+	}
+	
+	
+	
+}
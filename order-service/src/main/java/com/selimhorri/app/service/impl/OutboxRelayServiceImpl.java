@@ -0,0 +1,138 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.outbox.OutboxProperties;
+import com.selimhorri.app.domain.OutboxDestination;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxStatus;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.OutboxRelayService;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers due outbox events at least once, events of a batch are grouped by destination and sent 
+ * as one JSON array per destination, consumers drop redeliveries by eventId.
+ * Remote calls run outside of any transaction, the outcome of a batch is stored in one saveAll.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OutboxRelayServiceImpl implements OutboxRelayService {
+	
+	private static final int LAST_ERROR_MAX_LENGTH = 255;
+	
+	private final OutboxEventRepository outboxEventRepository;
+	private final RestTemplate restTemplate;
+	private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+	private final BulkheadRegistry bulkheadRegistry;
+	private final OutboxProperties outboxProperties;
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public int relayDue() {
+		final List<OutboxEvent> outboxEvents = this.outboxEventRepository.findDue(OutboxStatus.PENDING, 
+				Instant.now(), PageRequest.of(0, this.outboxProperties.getBatchSize()));
+		if (outboxEvents.isEmpty())
+			return 0;
+		
+		log.info("*** Integer, service; relay {} due outbox events *", outboxEvents.size());
+		outboxEvents.stream()
+				.collect(Collectors.groupingBy(OutboxEvent::getDestination, 
+						() -> new EnumMap<>(OutboxDestination.class), Collectors.toList()))
+				.forEach(this::deliver);
+		this.outboxEventRepository.saveAll(outboxEvents);
+		return outboxEvents.size();
+	}
+	
+	/**
+	 * A batch rejected by the destination (4xx) is split into single deliveries, 
+	 * so one malformed event cannot hold back the others
+	 */
+	private void deliver(final OutboxDestination destination, final List<OutboxEvent> outboxEvents) {
+		try {
+			this.post(destination, outboxEvents);
+			outboxEvents.forEach(e -> {
+				e.setStatus(OutboxStatus.SENT);
+				e.setAttempts(e.getAttempts() + 1);
+				e.setLastError(null);
+			});
+			this.count(destination, "sent", outboxEvents.size());
+		}
+		catch (RuntimeException e) {
+			final Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+			if (outboxEvents.size() > 1 && cause instanceof HttpClientErrorException) {
+				outboxEvents.forEach(outboxEvent -> this.deliver(destination, List.of(outboxEvent)));
+				return;
+			}
+			log.warn("*** Void, service; delivery of {} outbox events to {} failed: {} *", 
+					outboxEvents.size(), destination, cause.toString());
+			outboxEvents.forEach(outboxEvent -> this.reschedule(outboxEvent, cause));
+		}
+	}
+	
+	private void post(final OutboxDestination destination, final List<OutboxEvent> outboxEvents) {
+		final HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		final HttpEntity<String> request = new HttpEntity<>(outboxEvents.stream()
+				.map(OutboxEvent::getPayload)
+				.collect(Collectors.joining(",", "[", "]")), headers);
+		this.circuitBreakerFactory.create(destination.getDependency())
+				.run(Bulkhead.decorateSupplier(this.bulkheadRegistry.bulkhead(destination.getDependency()), 
+						() -> this.restTemplate.postForEntity(destination.getApiUrl(), request, Void.class)));
+	}
+	
+	private void reschedule(final OutboxEvent outboxEvent, final Throwable cause) {
+		final int attempts = outboxEvent.getAttempts() + 1;
+		outboxEvent.setAttempts(attempts);
+		outboxEvent.setLastError(truncate(cause.toString()));
+		if (attempts >= this.outboxProperties.getMaxAttempts()) {
+			log.error("*** Void, service; outbox event {} to {} given up after {} attempts *", 
+					outboxEvent.getEventId(), outboxEvent.getDestination(), attempts);
+			outboxEvent.setStatus(OutboxStatus.FAILED);
+			this.count(outboxEvent.getDestination(), "failed", 1);
+			return;
+		}
+		outboxEvent.setNextAttemptAt(Instant.now().plus(this.backoff(attempts)));
+		this.count(outboxEvent.getDestination(), "retried", 1);
+	}
+	
+	private Duration backoff(final int attempts) {
+		final Duration backoff = this.outboxProperties.getInitialBackoff()
+				.multipliedBy(1L << Math.min(attempts - 1, 20));
+		return (backoff.compareTo(this.outboxProperties.getMaxBackoff()) > 0) ? 
+				this.outboxProperties.getMaxBackoff() : backoff;
+	}
+	
+	private void count(final OutboxDestination destination, final String result, final int amount) {
+		this.meterRegistry.counter("order.outbox.deliveries", 
+				"destination", destination.name().toLowerCase(), "result", result)
+				.increment(amount);
+	}
+	
+	private static String truncate(final String message) {
+		return (message.length() > LAST_ERROR_MAX_LENGTH) ? message.substring(0, LAST_ERROR_MAX_LENGTH) : message;
+	}
+	
+	
+	
+}
@@ -0,0 +1,17 @@
+
+CREATE TABLE outbox_events (
+	outbox_event_id BIGINT NOT NULL PRIMARY KEY AUTO_INCREMENT,
+	event_id VARCHAR(36) NOT NULL,
+	event_type VARCHAR(64) NOT NULL,
+	aggregate_id INT(11) NOT NULL,
+	destination VARCHAR(32) NOT NULL,
+	payload TEXT NOT NULL,
+	status VARCHAR(16) NOT NULL,
+	attempts INT(11) NOT NULL DEFAULT 0,
+	next_attempt_at TIMESTAMP NOT NULL,
+	last_error VARCHAR(255),
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_events_status_next_attempt_at ON outbox_events (status, next_attempt_at);
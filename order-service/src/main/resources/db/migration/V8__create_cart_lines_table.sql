@@ -0,0 +1,13 @@
+
+CREATE TABLE cart_lines (
+	cart_id INT(11) NOT NULL,
+	product_id INT(11) NOT NULL,
+	ordered_quantity INT(11) NOT NULL,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP,
+	PRIMARY KEY (cart_id, product_id)
+);
+
+ALTER TABLE cart_lines
+  ADD CONSTRAINT fk_cart_lines_cart_id FOREIGN KEY (cart_id) REFERENCES carts (cart_id) ON DELETE CASCADE;
+
@@ -0,0 +1,25 @@
+
+CREATE TABLE order_summaries (
+	order_id INT(11) NOT NULL PRIMARY KEY,
+	user_id INT(11),
+	cart_id INT(11),
+	order_date TIMESTAMP,
+	order_desc VARCHAR(255),
+	order_fee DECIMAL(7, 2),
+	item_count INT(11) NOT NULL DEFAULT 0,
+	total_quantity INT(11) NOT NULL DEFAULT 0,
+	items_synced_at TIMESTAMP,
+	payment_id INT(11),
+	is_payed BOOLEAN,
+	payment_status VARCHAR(255),
+	payment_synced_at TIMESTAMP,
+	created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL NULL_TO_DEFAULT,
+	updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_order_summaries_user_id_order_date ON order_summaries (user_id, order_date);
+
+INSERT INTO order_summaries (order_id, user_id, cart_id, order_date, order_desc, order_fee)
+  SELECT o.order_id, c.user_id, o.cart_id, o.order_date, o.order_desc, o.order_fee
+  FROM orders o LEFT JOIN carts c ON c.cart_id = o.cart_id;
+
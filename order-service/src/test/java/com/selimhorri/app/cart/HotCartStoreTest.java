@@ -0,0 +1,197 @@
+package com.selimhorri.app.cart;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.selimhorri.app.exception.wrapper.CartNotFoundException;
+
+class HotCartStoreTest {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    private final Map<Integer, Map<Integer, Integer>> database = new ConcurrentHashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Integer> writes = new ArrayList<>();
+    private final AtomicLong nanos = new AtomicLong();
+
+    private HotCartStore hotCartStore;
+
+    @BeforeEach
+    void setUp() {
+        database.put(1, Map.of(10, 1));
+        database.put(2, Map.of());
+        database.put(3, Map.of());
+        hotCartStore = store(2);
+    }
+
+    @Test
+    void add_WhenCartEditedRepeatedly_ShouldLoadOnceAndWriteOnlyOnFlush() {
+        // When
+        hotCartStore.add(1, 10, 2);
+        hotCartStore.add(1, 11, 1);
+        hotCartStore.set(1, 11, 4);
+        Map<Integer, Integer> lines = hotCartStore.remove(1, 10);
+
+        // Then
+        assertEquals(Map.of(11, 4), lines);
+        assertEquals(1, loads.get());
+        assertTrue(writes.isEmpty());
+        assertEquals(Map.of(10, 1), database.get(1));
+
+        assertEquals(1, hotCartStore.flush());
+        assertEquals(Map.of(11, 4), database.get(1));
+        assertEquals(0, hotCartStore.flush());
+    }
+
+    @Test
+    void add_WhenQuantityDropsToZero_ShouldRemoveTheLine() {
+        // When
+        Map<Integer, Integer> lines = hotCartStore.add(1, 10, -1);
+
+        // Then
+        assertTrue(lines.isEmpty());
+    }
+
+    @Test
+    void add_WhenCartUnknown_ShouldThrowAndCacheNothing() {
+        // When / Then
+        assertThrows(CartNotFoundException.class, () -> hotCartStore.add(99, 10, 1));
+        assertEquals(0, hotCartStore.size());
+    }
+
+    @Test
+    void add_WhenCartFull_ShouldRefuseANewLineButUpdateExistingOnes() {
+        // Given
+        HotCartStore store = new HotCartStore(10, TTL, 2, this::load, this::write, nanos::get);
+        store.add(2, 10, 1);
+        store.add(2, 11, 1);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> store.add(2, 12, 1));
+        assertEquals(Map.of(10, 3, 11, 1), store.add(2, 10, 2));
+    }
+
+    @Test
+    void flush_WhenStoreOverflows_ShouldStayBoundedAndLoseNoEdit() {
+        // Given
+        hotCartStore.add(1, 20, 5);
+        hotCartStore.add(2, 30, 1);
+
+        // When
+        hotCartStore.add(3, 40, 2);
+
+        // Then
+        assertEquals(2, hotCartStore.size());
+        assertEquals(1, hotCartStore.pendingEvicted());
+
+        assertEquals(3, hotCartStore.flush());
+        assertEquals(0, hotCartStore.pendingEvicted());
+        assertEquals(Map.of(10, 1, 20, 5), database.get(1));
+        assertEquals(Map.of(30, 1), database.get(2));
+        assertEquals(Map.of(40, 2), database.get(3));
+    }
+
+    @Test
+    void flush_WhenDirtyCartExpired_ShouldParkItUntilWritten() {
+        // Given
+        hotCartStore.add(1, 20, 5);
+
+        // When
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+
+        // Then
+        assertEquals(0, hotCartStore.size());
+        assertEquals(1, hotCartStore.pendingEvicted());
+        assertEquals(Map.of(10, 1), database.get(1));
+
+        assertEquals(1, hotCartStore.flush());
+        assertEquals(0, hotCartStore.pendingEvicted());
+        assertEquals(Map.of(10, 1, 20, 5), database.get(1));
+    }
+
+    @Test
+    void add_WhenExpiredCartEditedBeforeFlush_ShouldTakeItBackWithoutLoading() {
+        // Given
+        hotCartStore.add(1, 20, 5);
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+        hotCartStore.size();
+
+        // When
+        Map<Integer, Integer> lines = hotCartStore.add(1, 20, 1);
+
+        // Then
+        assertEquals(Map.of(10, 1, 20, 6), lines);
+        assertEquals(1, loads.get());
+        assertEquals(0, hotCartStore.pendingEvicted());
+    }
+
+    @Test
+    void lines_WhenCleanCartExpired_ShouldReloadIt() {
+        // Given
+        hotCartStore.lines(1);
+        nanos.addAndGet(TTL.plusSeconds(1).toNanos());
+
+        // When
+        hotCartStore.lines(1);
+
+        // Then
+        assertEquals(2, loads.get());
+        assertEquals(0, hotCartStore.pendingEvicted());
+    }
+
+    @Test
+    void flush_WhenWriteFails_ShouldKeepTheCartDirty() {
+        // Given
+        HotCartStore store = new HotCartStore(10, TTL, 100, this::load, (id, lines) -> {
+            throw new IllegalStateException("database down");
+        }, nanos::get);
+        store.add(1, 20, 5);
+
+        // When / Then
+        assertEquals(0, store.flush());
+        assertEquals(0, store.flush());
+        assertEquals(Map.of(10, 1), database.get(1));
+    }
+
+    @Test
+    void discard_WhenCartDirty_ShouldDropItWithoutWriting() {
+        // Given
+        hotCartStore.add(1, 20, 5);
+
+        // When
+        hotCartStore.discard(1);
+
+        // Then
+        assertEquals(0, hotCartStore.flush());
+        assertTrue(writes.isEmpty());
+    }
+
+    private HotCartStore store(final long maximumSize) {
+        return new HotCartStore(maximumSize, TTL, 100, this::load, this::write, nanos::get);
+    }
+
+    private Map<Integer, Integer> load(final Integer cartId) {
+        loads.incrementAndGet();
+        Map<Integer, Integer> lines = database.get(cartId);
+        if (lines == null)
+            throw new CartNotFoundException("Cart with id: " + cartId + " not found");
+        return lines;
+    }
+
+    private void write(final Integer cartId, final Map<Integer, Integer> lines) {
+        writes.add(cartId);
+        database.put(cartId, new HashMap<>(lines));
+    }
+
+}
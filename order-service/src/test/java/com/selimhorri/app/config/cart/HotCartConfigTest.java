@@ -0,0 +1,67 @@
+package com.selimhorri.app.config.cart;
+
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.selimhorri.app.config.outbox.OutboxConfig;
+import com.selimhorri.app.service.CartLineService;
+import com.selimhorri.app.service.OutboxRelayService;
+
+class HotCartConfigTest {
+
+    @Test
+    void flush_WhenOutboxRelayHoldsTheSharedScheduler_ShouldKeepItsOwnPeriod() throws InterruptedException {
+        // Given
+        CountDownLatch relayStarted = new CountDownLatch(1);
+        CountDownLatch releaseRelay = new CountDownLatch(1);
+        OutboxRelayService outboxRelayService = () -> {
+            relayStarted.countDown();
+            try {
+                releaseRelay.await();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 0;
+        };
+        CartLineService cartLineService = mock(CartLineService.class);
+
+        // When / Then
+        new ApplicationContextRunner()
+                .withUserConfiguration(OutboxConfig.class, HotCartConfig.class)
+                .withBean(OutboxRelayService.class, () -> outboxRelayService)
+                .withBean(CartLineService.class, () -> cartLineService)
+                .withPropertyValues("app.outbox.poll-interval=10ms", "app.cart-store.flush-interval=20ms")
+                .run(context -> {
+                    try {
+                        relayStarted.await(5, TimeUnit.SECONDS);
+                        verify(cartLineService, timeout(2_000).atLeast(3)).flush();
+                    }
+                    finally {
+                        releaseRelay.countDown();
+                    }
+                });
+    }
+
+    @Test
+    void flush_WhenContextIsLazilyInitialized_ShouldStillRunPeriodically() {
+        // Given
+        CartLineService cartLineService = mock(CartLineService.class);
+
+        // When / Then
+        new ApplicationContextRunner()
+                .withInitializer(context -> context.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor()))
+                .withUserConfiguration(OutboxConfig.class, HotCartConfig.class)
+                .withBean(OutboxRelayService.class, () -> () -> 0)
+                .withBean(CartLineService.class, () -> cartLineService)
+                .withPropertyValues("app.outbox.poll-interval=10ms", "app.cart-store.flush-interval=20ms")
+                .run(context -> verify(cartLineService, timeout(2_000).atLeast(3)).flush());
+    }
+
+}
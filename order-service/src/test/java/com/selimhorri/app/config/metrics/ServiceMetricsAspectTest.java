@@ -0,0 +1,74 @@
+package com.selimhorri.app.config.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.service.OrderService;
+import com.selimhorri.app.service.impl.OrderServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @InjectMocks
+    private OrderServiceImpl orderServiceImpl;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(orderServiceImpl);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        orderService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void time_WhenServiceMethodReturns_ShouldRecordASuccessPerClassAndMethod() {
+        // Given
+        when(orderRepository.findAll()).thenReturn(List.of());
+
+        // When
+        orderService.findAll();
+        orderService.findAll();
+
+        // Then
+        assertEquals(2, meterRegistry.get(ServiceMetricsAspect.SERVICE_CALLS)
+                .tag("class", "OrderServiceImpl").tag("method", "findAll")
+                .tag("outcome", "SUCCESS").tag("exception", "None")
+                .timer().count());
+    }
+
+    @Test
+    void time_WhenServiceMethodThrows_ShouldRecordTheErrorAndRethrow() {
+        // Given
+        when(orderRepository.findById(404)).thenReturn(Optional.empty());
+
+        // When
+        assertThrows(OrderNotFoundException.class, () -> orderService.findById(404));
+
+        // Then
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.SERVICE_CALLS)
+                .tag("method", "findById").tag("outcome", "ERROR").tag("exception", "OrderNotFoundException")
+                .timer().count());
+    }
+
+}
@@ -12,16 +12,37 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.dto.CartDto;
+import com.selimhorri.app.dto.CartLineDto;
 import com.selimhorri.app.dto.UserDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.CartNotFoundException;
 import com.selimhorri.app.repository.CartRepository;
+import com.selimhorri.app.service.CartLineService;
+import com.selimhorri.app.service.OrderSummaryService;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 public class CartServiceImplTest {
@@ -29,10 +50,21 @@ public class CartServiceImplTest {
     @Mock
     private CartRepository cartRepository;
 
+    @Mock
+    private CartLineService cartLineService;
+
+    @Mock
+    private OrderSummaryService orderSummaryService;
+
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    @Spy
+    private CircuitBreakerFactory<?, ?> circuitBreakerFactory = new Resilience4JCircuitBreakerFactory(
+        CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), null);
+
+    private BulkheadRegistry bulkheadRegistry;
+
     private CartServiceImpl cartService;
 
     private Cart testCart;
@@ -41,6 +73,10 @@ public class CartServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        cartService = new CartServiceImpl(cartRepository, cartLineService, orderSummaryService, restTemplate, 
+            circuitBreakerFactory, bulkheadRegistry);
+
         testUserDto = UserDto.builder()
                 .userId(1)
                 .firstName("John")
@@ -90,12 +126,58 @@ public class CartServiceImplTest {
         verify(restTemplate, times(2)).getForObject(anyString(), eq(UserDto.class));
     }
 
+    @Test
+    void findAll_WhenPageRequested_ShouldResolveItsUsersInOneBulkCall() {
+        // Given
+        PageRequest pageable = PageRequest.of(0, 3);
+        when(cartRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(
+                Cart.builder().cartId(1).userId(1).build(),
+                Cart.builder().cartId(2).userId(2).build(),
+                Cart.builder().cartId(3).userId(1).build()), pageable, true));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), 
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any()))
+                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(
+                        testUserDto, UserDto.builder().userId(2).firstName("Jane").build()))));
+
+        // When
+        Slice<CartDto> result = cartService.findAll(pageable);
+
+        // Then
+        assertEquals(3, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+        assertEquals("John", result.getContent().get(0).getUserDto().getFirstName());
+        assertEquals("Jane", result.getContent().get(1).getUserDto().getFirstName());
+        assertEquals("John", result.getContent().get(2).getUserDto().getFirstName());
+        verify(restTemplate, times(1)).exchange(endsWith("?ids=1,2"), eq(HttpMethod.GET), isNull(), 
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any());
+        verify(restTemplate, never()).getForObject(anyString(), eq(UserDto.class));
+    }
+
+    @Test
+    void findAllAfter_WhenUserServiceFails_ShouldKeepUnenrichedUsers() {
+        // Given
+        when(cartRepository.findByCartIdGreaterThan(eq(1), any())).thenReturn(new SliceImpl<>(List.of(
+                Cart.builder().cartId(2).userId(2).build())));
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), 
+                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<UserDto>>>any()))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // When
+        Slice<CartDto> result = cartService.findAllAfter(1, 10);
+
+        // Then
+        assertEquals(1, result.getNumberOfElements());
+        assertEquals(2, result.getContent().get(0).getUserDto().getUserId());
+        assertNull(result.getContent().get(0).getUserDto().getFirstName());
+    }
+
     @Test
     void findById_WhenCartExists_ShouldReturnCartDtoWithUserData() {
         // Given
         Integer cartId = 1;
         when(cartRepository.findById(cartId)).thenReturn(Optional.of(testCart));
         when(restTemplate.getForObject(anyString(), eq(UserDto.class))).thenReturn(testUserDto);
+        when(cartLineService.findAll(cartId)).thenReturn(List.of(new CartLineDto(7, 2)));
 
         // When
         CartDto result = cartService.findById(cartId);
@@ -106,11 +188,51 @@ public class CartServiceImplTest {
         assertEquals(testCart.getUserId(), result.getUserId());
         assertEquals(testUserDto.getFirstName(), result.getUserDto().getFirstName());
         assertEquals(testUserDto.getEmail(), result.getUserDto().getEmail());
+        assertEquals(List.of(new CartLineDto(7, 2)), result.getCartLineDtos());
         
         verify(cartRepository, times(1)).findById(cartId);
         verify(restTemplate, times(1)).getForObject(anyString(), eq(UserDto.class));
     }
 
+    @Test
+    void findById_WhenUserServiceFails_ShouldReturnCartWithUnenrichedUser() {
+        // Given
+        Integer cartId = 1;
+        when(cartRepository.findById(cartId)).thenReturn(Optional.of(testCart));
+        when(restTemplate.getForObject(anyString(), eq(UserDto.class)))
+            .thenThrow(new ResourceAccessException("Connection refused"));
+
+        // When
+        CartDto result = cartService.findById(cartId);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(testCart.getCartId(), result.getCartId());
+        assertEquals(testCart.getUserId(), result.getUserDto().getUserId());
+        assertNull(result.getUserDto().getFirstName());
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(UserDto.class));
+    }
+
+    @Test
+    void findById_WhenUserServiceBulkheadIsFull_ShouldReturnCartWithUnenrichedUser() {
+        // Given
+        Integer cartId = 1;
+        when(cartRepository.findById(cartId)).thenReturn(Optional.of(testCart));
+        Bulkhead userServiceBulkhead = bulkheadRegistry.bulkhead(AppConstant.RemoteDependencies.USER_SERVICE, 
+            BulkheadConfig.custom().maxConcurrentCalls(1).build());
+        userServiceBulkhead.acquirePermission();
+
+        // When
+        CartDto result = cartService.findById(cartId);
+
+        // Then
+        assertEquals(testCart.getUserId(), result.getUserDto().getUserId());
+        assertNull(result.getUserDto().getFirstName());
+
+        verify(restTemplate, never()).getForObject(anyString(), eq(UserDto.class));
+    }
+
     @Test
     void findById_WhenCartNotExists_ShouldThrowCartNotFoundException() {
         // Given
@@ -164,5 +286,7 @@ public class CartServiceImplTest {
 
         // Then
         verify(cartRepository, times(1)).deleteById(cartId);
+        verify(cartLineService, times(1)).discard(cartId);
+        verify(orderSummaryService, times(1)).removeAllByCartId(cartId);
     }
 }
\ No newline at end of file
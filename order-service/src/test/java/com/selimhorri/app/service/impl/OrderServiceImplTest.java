@@ -5,23 +5,39 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Cart;
 import com.selimhorri.app.domain.Order;
+import com.selimhorri.app.domain.OutboxDestination;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxStatus;
 import com.selimhorri.app.dto.CartDto;
 import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderLineDto;
+import com.selimhorri.app.dto.OrderPlacementDto;
 import com.selimhorri.app.exception.wrapper.OrderNotFoundException;
+import com.selimhorri.app.repository.CartRepository;
 import com.selimhorri.app.repository.OrderRepository;
+import com.selimhorri.app.repository.OutboxEventRepository;
+import com.selimhorri.app.service.OrderSummaryService;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceImplTest {
@@ -29,6 +45,21 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OrderSummaryService orderSummaryService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -103,6 +134,45 @@ class OrderServiceImplTest {
         verify(orderRepository, times(1)).findAll();
     }
 
+    @Test
+    void findAllById_WhenOrdersExist_ShouldReturnOnlyRequestedOrders() {
+        // Given
+        List<Integer> orderIds = Arrays.asList(1, 3);
+        when(orderRepository.findAllById(orderIds)).thenReturn(Arrays.asList(testOrder));
+
+        // When
+        List<OrderDto> result = orderService.findAllById(orderIds);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("Test Order", result.get(0).getOrderDesc());
+        verify(orderRepository, times(1)).findAllById(orderIds);
+        verify(orderRepository, never()).findAll();
+    }
+
+    @Test
+    void findAllByCartId_WhenCartHasOrders_ShouldReturnThemInRepositoryOrder() {
+        // Given
+        Order olderOrder = Order.builder()
+                .orderId(2)
+                .orderDate(LocalDateTime.now().minusDays(1))
+                .orderDesc("Older Order")
+                .orderFee(50.0)
+                .cart(testCart)
+                .build();
+        when(orderRepository.findAllByCartId(1)).thenReturn(Arrays.asList(testOrder, olderOrder));
+
+        // When
+        List<OrderDto> result = orderService.findAllByCartId(1);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals("Test Order", result.get(0).getOrderDesc());
+        assertEquals("Older Order", result.get(1).getOrderDesc());
+        assertEquals(1, result.get(1).getCartDto().getCartId());
+        verify(orderRepository, never()).findAll();
+    }
+
     @Test
     void findById_WhenOrderExists_ShouldReturnOrderDto() {
         // Given
@@ -167,6 +237,7 @@ class OrderServiceImplTest {
         assertEquals(1, result.getCartDto().getCartId());
 
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderSummaryService, times(1)).project(3);
     }
 
     @Test
@@ -182,5 +253,76 @@ class OrderServiceImplTest {
         // Then
         verify(orderRepository, times(1)).findById(orderId);
         verify(orderRepository, times(1)).delete(any(Order.class));
+        verify(orderSummaryService, times(1)).remove(orderId);
+    }
+
+    @Test
+    void exportAll_WhenStreamSpansSeveralWindows_ShouldEmitEveryRowAndClearPerWindow() {
+        // Given
+        int rows = 2 * AppConstant.EXPORT_FETCH_SIZE + 1;
+        List<Integer> closed = new ArrayList<>();
+        when(orderRepository.streamAll()).thenReturn(IntStream.rangeClosed(1, rows)
+                .mapToObj(i -> Order.builder().orderId(i).cart(testCart).build())
+                .onClose(() -> closed.add(1)));
+        List<OrderDto> exported = new ArrayList<>();
+
+        // When
+        orderService.exportAll(exported::add);
+
+        // Then
+        assertEquals(rows, exported.size());
+        assertEquals(rows, exported.get(rows - 1).getOrderId());
+        assertEquals(1, closed.size());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void place_WhenNoCartGiven_ShouldOpenCartAndWriteOneOutboxEventPerDestination() {
+        // Given
+        OrderPlacementDto orderPlacementDto = OrderPlacementDto.builder()
+                .userId(1)
+                .orderDesc("Checkout")
+                .orderFee(42.0)
+                .orderLines(List.of(OrderLineDto.builder().productId(7).orderedQuantity(2).build()))
+                .build();
+        when(cartRepository.save(any(Cart.class))).thenReturn(testCart);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setOrderId(10);
+            return order;
+        });
+
+        // When
+        OrderDto result = orderService.place(orderPlacementDto);
+
+        // Then
+        assertEquals(10, result.getOrderId());
+        assertEquals(testCart.getCartId(), result.getCartDto().getCartId());
+
+        ArgumentCaptor<List<OutboxEvent>> outboxEvents = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventRepository, times(1)).saveAll(outboxEvents.capture());
+        assertEquals(OutboxDestination.values().length, outboxEvents.getValue().size());
+        assertEquals(1, outboxEvents.getValue().stream().map(OutboxEvent::getEventId).distinct().count());
+        assertTrue(outboxEvents.getValue().stream().allMatch(e -> e.getStatus() == OutboxStatus.PENDING
+                && e.getAggregateId() == 10
+                && e.getPayload().contains("\"orderId\":10")
+                && e.getPayload().contains("\"productId\":7")));
+    }
+
+    @Test
+    void place_WhenCartBelongsToAnotherUser_ShouldThrowWithoutWritingOutbox() {
+        // Given
+        OrderPlacementDto orderPlacementDto = OrderPlacementDto.builder()
+                .cartId(1)
+                .userId(2)
+                .orderLines(List.of(OrderLineDto.builder().productId(7).orderedQuantity(1).build()))
+                .build();
+        when(cartRepository.findById(1)).thenReturn(Optional.of(testCart));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> orderService.place(orderPlacementDto));
+        verify(orderRepository, never()).save(any(Order.class));
+        verifyNoInteractions(outboxEventRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,186 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.RestTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderSummary;
+import com.selimhorri.app.dto.OrderSummaryDto;
+import com.selimhorri.app.dto.event.OrderItemsChangedEvent;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
+import com.selimhorri.app.repository.OrderSummaryRepository;
+
+/**
+ * Runs against the migrated schema and its seed orders (ids 1 to 4, cart n of user n),
+ * shipping and payment exports are served by a mock server
+ */
+@DataJpaTest
+@Import({OrderSummaryServiceImpl.class, OrderSummaryServiceImplTest.RemoteConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderSummaryServiceImplTest {
+
+    @TestConfiguration
+    static class RemoteConfig {
+
+        @Bean
+        RestTemplate restTemplate() {
+            return new RestTemplate();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+    }
+
+    @Autowired
+    private OrderSummaryServiceImpl orderSummaryService;
+
+    @Autowired
+    private OrderSummaryRepository orderSummaryRepository;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        jdbcTemplate.update("UPDATE order_summaries SET item_count = 0, total_quantity = 0, items_synced_at = NULL, "
+                + "payment_id = NULL, is_payed = NULL, payment_status = NULL, payment_synced_at = NULL");
+    }
+
+    @Test
+    void rebuild_WhenExportsServed_ShouldJoinItemTotalsAndLatestPaymentPerOrder() {
+        // Given
+        expectExport(AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_API_URL,
+                "{\"productId\":1,\"orderId\":1,\"orderedQuantity\":3}\n"
+                + "{\"productId\":2,\"orderId\":1,\"orderedQuantity\":2}\n"
+                + "{\"productId\":1,\"orderId\":2,\"orderedQuantity\":1}\n");
+        expectExport(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_API_URL,
+                "{\"paymentId\":1,\"isPayed\":false,\"paymentStatus\":\"NOT_STARTED\",\"order\":{\"orderId\":1}}\n"
+                + "{\"paymentId\":3,\"isPayed\":true,\"paymentStatus\":\"COMPLETED\",\"order\":{\"orderId\":1}}\n"
+                + "{\"paymentId\":2,\"isPayed\":false,\"paymentStatus\":\"IN_PROGRESS\",\"order\":{\"orderId\":2}}\n");
+        jdbcTemplate.update("INSERT INTO order_summaries (order_id, user_id) VALUES (99, 1)");
+
+        // When
+        int rebuilt = orderSummaryService.rebuild();
+
+        // Then
+        server.verify();
+        assertEquals(4, rebuilt);
+        OrderSummary first = orderSummaryRepository.findById(1).orElseThrow();
+        assertEquals(1, first.getUserId());
+        assertEquals(2, first.getItemCount());
+        assertEquals(5, first.getTotalQuantity());
+        assertEquals(3, first.getPaymentId());
+        assertEquals(true, first.getIsPayed());
+        assertEquals("COMPLETED", first.getPaymentStatus());
+        OrderSummary third = orderSummaryRepository.findById(3).orElseThrow();
+        assertEquals(0, third.getItemCount());
+        assertNull(third.getPaymentId());
+        assertTrue(orderSummaryRepository.findById(99).isEmpty());
+    }
+
+    @Test
+    void handleOrderItemsChanged_WhenSnapshotsArriveOutOfOrder_ShouldKeepTheLatest() {
+        // Given
+        Instant now = Instant.now();
+        orderSummaryService.handleOrderItemsChanged(List.of(itemsChanged(2, 4, 9, now)));
+
+        // When
+        int applied = orderSummaryService.handleOrderItemsChanged(List.of(
+                itemsChanged(2, 1, 1, now.minusSeconds(5)), itemsChanged(404, 1, 1, now)));
+
+        // Then
+        assertEquals(0, applied);
+        OrderSummary summary = orderSummaryRepository.findById(2).orElseThrow();
+        assertEquals(4, summary.getItemCount());
+        assertEquals(9, summary.getTotalQuantity());
+    }
+
+    @Test
+    void handlePaymentChanged_WhenPaymentRemoved_ShouldClearIt() {
+        // Given
+        Instant now = Instant.now();
+        orderSummaryService.handlePaymentChanged(List.of(paymentChanged(3, 7, now.minusSeconds(1))));
+
+        // When
+        int applied = orderSummaryService.handlePaymentChanged(List.of(paymentChanged(3, null, now)));
+
+        // Then
+        assertEquals(1, applied);
+        assertNull(orderSummaryRepository.findById(3).orElseThrow().getPaymentId());
+    }
+
+    @Test
+    void findAllByUserId_WhenOrderProjected_ShouldServeItNewestFirst() {
+        // Given
+        jdbcTemplate.update("INSERT INTO orders (order_id, cart_id, order_date, order_desc, order_fee) "
+                + "VALUES (50, 4, DATEADD('DAY', 1, LOCALTIMESTAMP), 'later', 10)");
+        orderSummaryService.project(50);
+
+        // When
+        List<OrderSummaryDto> orderSummaryDtos = orderSummaryService.findAllByUserId(4);
+
+        // Then
+        assertEquals(List.of(50, 4), orderSummaryDtos.stream()
+                .map(OrderSummaryDto::getOrderId)
+                .collect(Collectors.toList()));
+        assertEquals("later", orderSummaryDtos.get(0).getOrderDesc());
+
+        jdbcTemplate.update("DELETE FROM order_summaries WHERE order_id = 50");
+        jdbcTemplate.update("DELETE FROM orders WHERE order_id = 50");
+    }
+
+    private void expectExport(final String apiUrl, final String ndjson) {
+        server.expect(requestTo(apiUrl + "/export"))
+                .andRespond(withSuccess(ndjson, MediaType.APPLICATION_NDJSON));
+    }
+
+    private static OrderItemsChangedEvent itemsChanged(final int orderId, final int itemCount,
+            final int totalQuantity, final Instant occurredAt) {
+        return OrderItemsChangedEvent.builder()
+                .orderId(orderId)
+                .itemCount(itemCount)
+                .totalQuantity(totalQuantity)
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    private static PaymentChangedEvent paymentChanged(final int orderId, final Integer paymentId, final Instant occurredAt) {
+        return PaymentChangedEvent.builder()
+                .orderId(orderId)
+                .paymentId(paymentId)
+                .isPayed(paymentId == null ? null : false)
+                .paymentStatus(paymentId == null ? null : "NOT_STARTED")
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+}
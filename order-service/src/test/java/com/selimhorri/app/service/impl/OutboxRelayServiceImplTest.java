@@ -0,0 +1,179 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.config.outbox.OutboxProperties;
+import com.selimhorri.app.domain.OutboxDestination;
+import com.selimhorri.app.domain.OutboxEvent;
+import com.selimhorri.app.domain.OutboxStatus;
+import com.selimhorri.app.repository.OutboxEventRepository;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayServiceImplTest {
+	
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+	
+	@Mock
+	private RestTemplate restTemplate;
+	
+	private OutboxProperties outboxProperties;
+	private SimpleMeterRegistry meterRegistry;
+	private OutboxRelayServiceImpl outboxRelayService;
+	
+	@BeforeEach
+	void setUp() {
+		outboxProperties = new OutboxProperties();
+		outboxProperties.setMaxAttempts(3);
+		meterRegistry = new SimpleMeterRegistry();
+		outboxRelayService = new OutboxRelayServiceImpl(outboxEventRepository, restTemplate, 
+				new Resilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), null), 
+				BulkheadRegistry.ofDefaults(), 
+				outboxProperties, meterRegistry);
+	}
+	
+	@Test
+	void relayDue_WhenDestinationsAccept_ShouldSendOneBatchPerDestinationAndMarkSent() {
+		// Given
+		final List<OutboxEvent> outboxEvents = List.of(
+				outboxEvent(1, OutboxDestination.SHIPPING, 0), outboxEvent(2, OutboxDestination.SHIPPING, 0), 
+				outboxEvent(1, OutboxDestination.PAYMENT, 0), outboxEvent(2, OutboxDestination.PAYMENT, 0));
+		when(outboxEventRepository.findDue(eq(OutboxStatus.PENDING), any(Instant.class), any(Pageable.class)))
+				.thenReturn(outboxEvents);
+		when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(Void.class)))
+				.thenReturn(ResponseEntity.ok().build());
+		
+		// When
+		final int relayed = outboxRelayService.relayDue();
+		
+		// Then
+		assertEquals(4, relayed);
+		verify(restTemplate, times(1)).postForEntity(eq(OutboxDestination.SHIPPING.getApiUrl()), 
+				argThat((HttpEntity<?> request) -> "[{\"orderId\":1},{\"orderId\":2}]".equals(request.getBody())), eq(Void.class));
+		verify(restTemplate, times(1)).postForEntity(eq(OutboxDestination.PAYMENT.getApiUrl()), any(HttpEntity.class), eq(Void.class));
+		verify(outboxEventRepository, times(1)).saveAll(outboxEvents);
+		assertTrue(outboxEvents.stream().allMatch(e -> e.getStatus() == OutboxStatus.SENT && e.getAttempts() == 1));
+		assertEquals(4.0, meterRegistry.counter("order.outbox.deliveries", "destination", "shipping", "result", "sent").count()
+				+ meterRegistry.counter("order.outbox.deliveries", "destination", "payment", "result", "sent").count());
+	}
+	
+	@Test
+	void relayDue_WhenDestinationIsDown_ShouldRescheduleOnlyItsEventsWithBackoff() {
+		// Given
+		final OutboxEvent shipping = outboxEvent(1, OutboxDestination.SHIPPING, 0);
+		final OutboxEvent payment = outboxEvent(1, OutboxDestination.PAYMENT, 1);
+		when(outboxEventRepository.findDue(eq(OutboxStatus.PENDING), any(Instant.class), any(Pageable.class)))
+				.thenReturn(List.of(shipping, payment));
+		when(restTemplate.postForEntity(eq(OutboxDestination.SHIPPING.getApiUrl()), any(HttpEntity.class), eq(Void.class)))
+				.thenReturn(ResponseEntity.ok().build());
+		when(restTemplate.postForEntity(eq(OutboxDestination.PAYMENT.getApiUrl()), any(HttpEntity.class), eq(Void.class)))
+				.thenThrow(new ResourceAccessException("Connection refused"));
+		final Instant before = Instant.now();
+		
+		// When
+		outboxRelayService.relayDue();
+		
+		// Then
+		assertEquals(OutboxStatus.SENT, shipping.getStatus());
+		assertEquals(OutboxStatus.PENDING, payment.getStatus());
+		assertEquals(2, payment.getAttempts());
+		assertTrue(payment.getLastError().contains("Connection refused"));
+		assertFalse(payment.getNextAttemptAt().isBefore(before.plus(Duration.ofSeconds(2))));
+	}
+	
+	@Test
+	void relayDue_WhenAttemptsAreExhausted_ShouldMarkFailed() {
+		// Given
+		final OutboxEvent payment = outboxEvent(1, OutboxDestination.PAYMENT, 2);
+		when(outboxEventRepository.findDue(eq(OutboxStatus.PENDING), any(Instant.class), any(Pageable.class)))
+				.thenReturn(List.of(payment));
+		when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(Void.class)))
+				.thenThrow(new ResourceAccessException("Connection refused"));
+		
+		// When
+		outboxRelayService.relayDue();
+		
+		// Then
+		assertEquals(OutboxStatus.FAILED, payment.getStatus());
+		assertEquals(3, payment.getAttempts());
+		assertEquals(1.0, meterRegistry.counter("order.outbox.deliveries", "destination", "payment", "result", "failed").count());
+	}
+	
+	@Test
+	void relayDue_WhenBatchIsRejected_ShouldDeliverEventsOneByOne() {
+		// Given
+		final OutboxEvent valid = outboxEvent(1, OutboxDestination.SHIPPING, 0);
+		final OutboxEvent malformed = outboxEvent(2, OutboxDestination.SHIPPING, 0);
+		when(outboxEventRepository.findDue(eq(OutboxStatus.PENDING), any(Instant.class), any(Pageable.class)))
+				.thenReturn(List.of(valid, malformed));
+		when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(Void.class)))
+				.thenAnswer(invocation -> {
+					final String body = (String) invocation.<HttpEntity<?>>getArgument(1).getBody();
+					if (body.contains("\"orderId\":2"))
+						throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+					return ResponseEntity.ok().build();
+				});
+		
+		// When
+		outboxRelayService.relayDue();
+		
+		// Then
+		verify(restTemplate, times(3)).postForEntity(anyString(), any(HttpEntity.class), eq(Void.class));
+		assertEquals(OutboxStatus.SENT, valid.getStatus());
+		assertEquals(OutboxStatus.PENDING, malformed.getStatus());
+		assertEquals(1, malformed.getAttempts());
+	}
+	
+	@Test
+	void relayDue_WhenNothingIsDue_ShouldNotCallDestinations() {
+		// Given
+		when(outboxEventRepository.findDue(eq(OutboxStatus.PENDING), any(Instant.class), any(Pageable.class)))
+				.thenReturn(List.of());
+		
+		// When & Then
+		assertEquals(0, outboxRelayService.relayDue());
+		verifyNoInteractions(restTemplate);
+		verify(outboxEventRepository, never()).saveAll(any());
+	}
+	
+	private static OutboxEvent outboxEvent(final int orderId, final OutboxDestination destination, final int attempts) {
+		return OutboxEvent.builder()
+				.eventId("event-" + orderId)
+				.eventType("OrderPlaced")
+				.aggregateId(orderId)
+				.destination(destination)
+				.payload("{\"orderId\":" + orderId + "}")
+				.status(OutboxStatus.PENDING)
+				.attempts(attempts)
+				.nextAttemptAt(Instant.now())
+				.build();
+	}
+	
+}
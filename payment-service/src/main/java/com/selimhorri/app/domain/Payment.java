@@ -33,7 +33,7 @@ public final class Payment extends AbstractMappedEntity implements Serializable
 	@Column(name = "payment_id", unique = true, nullable = false, updatable = false)
 	private Integer paymentId;
 	
-	@Column(name = "order_id")
+	@Column(name = "order_id", unique = true)
 	private Integer orderId;
 	
 	@Column(name = "is_payed")
@@ -0,0 +1,42 @@
+package com.selimhorri.app.dto.event;
+
+import java.io.Serializable;
+
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OrderPlaced event relayed from the order-service outbox, only the fields payment needs are bound
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderPlacedEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotNull(message = "Input eventId must not be NULL")
+	private String eventId;
+	
+	@NotNull(message = "Input orderId must not be NULL")
+	private Integer orderId;
+	
+}
+
+
+
+
+
+
+
+
+
+
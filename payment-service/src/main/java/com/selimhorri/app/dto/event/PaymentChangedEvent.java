@@ -0,0 +1,34 @@
+package com.selimhorri.app.dto.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latest payment of an order as committed at occurredAt, published to the order-service order summaries;
+ * payment fields are null once the order holds no payment
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class PaymentChangedEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	private Integer paymentId;
+	private Boolean isPayed;
+	private String paymentStatus;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant occurredAt;
+	
+}
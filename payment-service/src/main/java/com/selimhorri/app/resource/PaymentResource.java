@@ -1,9 +1,16 @@
 package com.selimhorri.app.resource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,9 +19,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.event.OrderPlacedEvent;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.PaymentService;
 
@@ -28,6 +41,7 @@ import lombok.extern.slf4j.Slf4j;
 public class PaymentResource {
 	
 	private final PaymentService paymentService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll() {
@@ -35,6 +49,42 @@ public class PaymentResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAll()));
 	}
 	
+	@GetMapping(params = "orderId")
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAllByOrderId(
+			@RequestParam("orderId") final Integer orderId) {
+		log.info("*** PaymentDto List, controller; fetch payments by orderId *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.findAllByOrderId(orderId)));
+	}
+	
+	@GetMapping(params = "size")
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after, 
+			final Pageable pageable) {
+		log.info("*** PaymentDto Slice, controller; fetch payments page *");
+		final Slice<PaymentDto> paymentDtos = (after != null) ? 
+				this.paymentService.findAllAfter(after, pageable.getPageSize()) : 
+				this.paymentService.findAll(pageable);
+		return ResponseEntity.ok(DtoCollectionResponse.of(paymentDtos, d -> String.valueOf(d.getPaymentId())));
+	}
+	
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		log.info("*** PaymentDto Stream, resource; export all payments *");
+		final ObjectWriter writer = this.objectMapper.writer()
+				.without(SerializationFeature.INDENT_OUTPUT);
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(out -> this.paymentService.exportAll(d -> {
+					try {
+						out.write(writer.writeValueAsBytes(d));
+						out.write('\n');
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}));
+	}
+	
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(
 			@PathVariable("paymentId") 
@@ -53,6 +103,18 @@ public class PaymentResource {
 		return ResponseEntity.ok(this.paymentService.save(paymentDto));
 	}
 	
+	/**
+	 * Batch of OrderPlaced events relayed by the order-service outbox, safe to redeliver
+	 */
+	@PostMapping("/events/order-placed")
+	public ResponseEntity<DtoCollectionResponse<PaymentDto>> handleOrderPlaced(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<OrderPlacedEvent> orderPlacedEvents) {
+		log.info("*** PaymentDto List, resource; handle OrderPlaced events *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.paymentService.handleOrderPlaced(orderPlacedEvents)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<PaymentDto> update(
 			@RequestBody 
@@ -1,15 +1,25 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.event.OrderPlacedEvent;
 
 public interface PaymentService {
 	
 	List<PaymentDto> findAll();
+	Slice<PaymentDto> findAll(final Pageable pageable);
+	Slice<PaymentDto> findAllAfter(final Integer paymentId, final int size);
+	List<PaymentDto> findAllByOrderId(final Integer orderId);
 	PaymentDto findById(final Integer paymentId);
 	PaymentDto save(final PaymentDto paymentDto);
 	PaymentDto update(final PaymentDto paymentDto);
 	void deleteById(final Integer paymentId);
+	List<PaymentDto> handleOrderPlaced(final List<OrderPlacedEvent> orderPlacedEvents);
+	void exportAll(final Consumer<PaymentDto> action);
 	
 }
@@ -0,0 +1,121 @@
+package com.selimhorri.app.service.impl;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
+import com.selimhorri.app.repository.PaymentRepository;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends the latest payment of the orders whose payments changed to the order-service order summaries, once the
+ * change is committed. Payments are read again after the commit in a transaction of their own and stamped with
+ * the time the read started, so the latest snapshot of an order covers every change committed before it.
+ * Delivery is best effort behind the orderService circuit breaker and bulkhead: a lost snapshot is caught up by the next change
+ * of the order or by the summary rebuild.
+ */
+@Component
+@Slf4j
+public class PaymentChangedPublisher {
+	
+	static final String PAYMENT_CHANGED_URL = AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST 
+			+ "/api/order-summaries/events/payment-changed";
+	
+	private final PaymentRepository paymentRepository;
+	private final TransactionTemplate readTransactionTemplate;
+	private final RestTemplate restTemplate;
+	private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+	private final BulkheadRegistry bulkheadRegistry;
+	
+	public PaymentChangedPublisher(final PaymentRepository paymentRepository, 
+			final PlatformTransactionManager transactionManager, final RestTemplate restTemplate, 
+			final CircuitBreakerFactory<?, ?> circuitBreakerFactory, final BulkheadRegistry bulkheadRegistry) {
+		this.paymentRepository = paymentRepository;
+		this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+		this.readTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readTransactionTemplate.setReadOnly(true);
+		this.restTemplate = restTemplate;
+		this.circuitBreakerFactory = circuitBreakerFactory;
+		this.bulkheadRegistry = bulkheadRegistry;
+	}
+	
+	public void publishAfterCommit(final Collection<Integer> orderIds) {
+		final Set<Integer> changedOrderIds = orderIds.stream()
+				.filter(Objects::nonNull)
+				.collect(Collectors.toUnmodifiableSet());
+		if (changedOrderIds.isEmpty())
+			return;
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			this.publish(changedOrderIds);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			
+			@Override
+			public void afterCommit() {
+				publish(changedOrderIds);
+			}
+		
+		});
+	}
+	
+	/**
+	 * The latest payment of an order is the one with the highest id
+	 */
+	private void publish(final Set<Integer> orderIds) {
+		final Instant occurredAt = Instant.now();
+		final Map<Integer, Payment> latestPayments = this.readTransactionTemplate.execute(status -> 
+				this.paymentRepository.findAllByOrderIdIn(orderIds)
+					.stream()
+						.collect(Collectors.toMap(Payment::getOrderId, Function.identity(), 
+								BinaryOperator.maxBy(Comparator.comparing(Payment::getPaymentId)))));
+		final List<PaymentChangedEvent> paymentChangedEvents = orderIds.stream()
+				.map(orderId -> {
+					final Payment payment = latestPayments.get(orderId);
+					return PaymentChangedEvent.builder()
+							.orderId(orderId)
+							.paymentId(payment == null ? null : payment.getPaymentId())
+							.isPayed(payment == null ? null : payment.getIsPayed())
+							.paymentStatus(payment == null || payment.getPaymentStatus() == null ? 
+									null : payment.getPaymentStatus().name())
+							.occurredAt(occurredAt)
+							.build();
+				})
+				.collect(Collectors.toUnmodifiableList());
+		
+		this.circuitBreakerFactory
+				.create(AppConstant.RemoteDependencies.ORDER_SERVICE)
+				.run(Bulkhead.decorateSupplier(this.bulkheadRegistry.bulkhead(AppConstant.RemoteDependencies.ORDER_SERVICE), 
+						() -> this.restTemplate.postForEntity(PAYMENT_CHANGED_URL, paymentChangedEvents, Integer.class)), 
+					throwable -> {
+						log.warn("*** Void, service; PaymentChanged of orders {} not delivered: {} *", 
+								orderIds, throwable.toString());
+						return null;
+					});
+	}
+	
+	
+	
+}
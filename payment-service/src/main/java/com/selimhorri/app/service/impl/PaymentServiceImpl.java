@@ -1,21 +1,47 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import javax.transaction.Transactional.TxType;
 
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.event.OrderPlacedEvent;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.helper.PaymentMappingHelper;
 import com.selimhorri.app.repository.PaymentRepository;
 import com.selimhorri.app.service.PaymentService;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,8 +51,17 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
 	
+	/**
+	 * Max number of ids sent in a single bulk lookup, keeps the query string bounded
+	 */
+	private static final int BULK_FETCH_CHUNK_SIZE = 100;
+	
 	private final PaymentRepository paymentRepository;
+	private final EntityManager entityManager;
 	private final RestTemplate restTemplate;
+	private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+	private final BulkheadRegistry bulkheadRegistry;
+	private final PaymentChangedPublisher paymentChangedPublisher;
 	
 	@Override
 	public List<PaymentDto> findAll() {
@@ -35,22 +70,52 @@ public class PaymentServiceImpl implements PaymentService {
 				.stream()
 					.map(PaymentMappingHelper::map)
 					.map(p -> {
-						p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+						p.setOrderDto(this.fetchOrder(p.getOrderDto()));
 						return p;
 					})
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<PaymentDto> findAll(final Pageable pageable) {
+		log.info("*** PaymentDto Slice, service; fetch payments page *");
+		return this.enrich(this.paymentRepository.findAllBy(pageable)
+				.map(PaymentMappingHelper::map));
+	}
+	
+	@Override
+	public Slice<PaymentDto> findAllAfter(final Integer paymentId, final int size) {
+		log.info("*** PaymentDto Slice, service; fetch payments after cursor *");
+		return this.enrich(this.paymentRepository.findByPaymentIdGreaterThan(paymentId, PageRequest.of(0, size, Sort.by("paymentId")))
+				.map(PaymentMappingHelper::map));
+	}
+	
+	/**
+	 * Payments share their order, it is looked up once for the whole list
+	 */
+	@Override
+	public List<PaymentDto> findAllByOrderId(final Integer orderId) {
+		log.info("*** PaymentDto List, service; fetch payments by orderId *");
+		final List<PaymentDto> paymentDtos = this.paymentRepository.findAllByOrderIdOrderByPaymentId(orderId)
+				.stream()
+					.map(PaymentMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+		if (paymentDtos.isEmpty())
+			return paymentDtos;
+		
+		final OrderDto orderDto = this.fetchOrder(paymentDtos.get(0).getOrderDto());
+		paymentDtos.forEach(p -> p.setOrderDto(orderDto));
+		return paymentDtos;
+	}
+	
 	@Override
 	public PaymentDto findById(final Integer paymentId) {
 		log.info("*** PaymentDto, service; fetch payment by id *");
 		return this.paymentRepository.findById(paymentId)
 				.map(PaymentMappingHelper::map)
 				.map(p -> {
-					p.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + p.getOrderDto().getOrderId(), OrderDto.class));
+					p.setOrderDto(this.fetchOrder(p.getOrderDto()));
 					return p;
 				})
 				.orElseThrow(() -> new PaymentNotFoundException(String.format("Payment with id: %d not found", paymentId)));
@@ -59,21 +124,180 @@ public class PaymentServiceImpl implements PaymentService {
 	@Override
 	public PaymentDto save(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; save payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		final Payment payment = this.paymentRepository.save(PaymentMappingHelper.map(paymentDto));
+		this.paymentChangedPublisher.publishAfterCommit(Arrays.asList(payment.getOrderId()));
+		return PaymentMappingHelper.map(payment);
 	}
 	
+	/**
+	 * A payment moved to another order changes the summaries of both orders
+	 */
 	@Override
 	public PaymentDto update(final PaymentDto paymentDto) {
 		log.info("*** PaymentDto, service; update payment *");
-		return PaymentMappingHelper.map(this.paymentRepository
-				.save(PaymentMappingHelper.map(paymentDto)));
+		final Integer previousOrderId = paymentDto.getPaymentId() == null ? null : this.paymentRepository
+				.findById(paymentDto.getPaymentId())
+				.map(Payment::getOrderId)
+				.orElse(null);
+		final Payment payment = this.paymentRepository.save(PaymentMappingHelper.map(paymentDto));
+		this.paymentChangedPublisher.publishAfterCommit(Arrays.asList(payment.getOrderId(), previousOrderId));
+		return PaymentMappingHelper.map(payment);
 	}
 	
 	@Override
 	public void deleteById(final Integer paymentId) {
 		log.info("*** Void, service; delete payment by id *");
+		final Integer orderId = this.paymentRepository.findById(paymentId)
+				.map(Payment::getOrderId)
+				.orElse(null);
 		this.paymentRepository.deleteById(paymentId);
+		this.paymentChangedPublisher.publishAfterCommit(Arrays.asList(orderId));
+	}
+	
+	/**
+	 * Opens a not started payment per placed order, orders already holding a payment are skipped
+	 * so redelivered events are idempotent. The unique order_id index settles concurrent deliveries:
+	 * runs outside of a shared transaction so a duplicate key only rolls back its own insert, 
+	 * the batch is then retried row by row and rows lost to the other delivery count as handled
+	 */
+	@Override
+	@Transactional(TxType.NOT_SUPPORTED)
+	public List<PaymentDto> handleOrderPlaced(final List<OrderPlacedEvent> orderPlacedEvents) {
+		log.info("*** PaymentDto List, service; handle {} OrderPlaced events *", orderPlacedEvents.size());
+		final Set<Integer> orderIds = orderPlacedEvents.stream()
+				.map(OrderPlacedEvent::getOrderId)
+				.collect(Collectors.toSet());
+		final Set<Integer> orderIdsWithPayment = this.paymentRepository.findAllByOrderIdIn(orderIds)
+				.stream()
+					.map(Payment::getOrderId)
+					.collect(Collectors.toUnmodifiableSet());
+		final List<Payment> payments = this.openPayments(orderIds.stream()
+					.filter(orderId -> !orderIdsWithPayment.contains(orderId))
+					.map(orderId -> Payment.builder()
+							.orderId(orderId)
+							.isPayed(false)
+							.paymentStatus(PaymentStatus.NOT_STARTED)
+							.build())
+					.collect(Collectors.toUnmodifiableList()));
+		this.paymentChangedPublisher.publishAfterCommit(payments.stream()
+				.map(Payment::getOrderId)
+				.collect(Collectors.toUnmodifiableList()));
+		return payments.stream()
+				.map(PaymentMappingHelper::map)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private List<Payment> openPayments(final List<Payment> payments) {
+		try {
+			return this.paymentRepository.saveAll(payments);
+		}
+		catch (DataIntegrityViolationException e) {
+			log.info("*** PaymentDto List, service; concurrent OrderPlaced delivery, opening payments one by one *");
+			return payments.stream()
+					.map(this::openPayment)
+					.flatMap(Optional::stream)
+					.collect(Collectors.toUnmodifiableList());
+		}
+	}
+	
+	/**
+	 * Rows of the rolled back batch may already carry an id, each row is opened from a fresh copy
+	 */
+	private Optional<Payment> openPayment(final Payment payment) {
+		try {
+			return Optional.of(this.paymentRepository.save(Payment.builder()
+					.orderId(payment.getOrderId())
+					.isPayed(payment.getIsPayed())
+					.paymentStatus(payment.getPaymentStatus())
+					.build()));
+		}
+		catch (DataIntegrityViolationException e) {
+			log.info("*** PaymentDto, service; order {} already holds a payment *", payment.getOrderId());
+			return Optional.empty();
+		}
+	}
+	
+	/**
+	 * Attaches the orders of a slice resolved in bulk, a payment keeps its un-enriched order 
+	 * when that lookup is degraded
+	 */
+	private Slice<PaymentDto> enrich(final Slice<PaymentDto> paymentDtos) {
+		final Map<Integer, OrderDto> orderDtos = this.fetchOrders(paymentDtos.stream()
+				.map(p -> p.getOrderDto().getOrderId())
+				.collect(Collectors.toSet()));
+		return new SliceImpl<>(paymentDtos.stream()
+					.map(p -> {
+						p.setOrderDto(orderDtos.getOrDefault(p.getOrderDto().getOrderId(), p.getOrderDto()));
+						return p;
+					})
+					.collect(Collectors.toUnmodifiableList()), 
+				paymentDtos.getPageable(), paymentDtos.hasNext());
+	}
+	
+	/**
+	 * Resolves distinct order ids against the order-service bulk endpoint ({@code ?ids=...}),
+	 * one call per chunk of {@link #BULK_FETCH_CHUNK_SIZE} ids
+	 */
+	private Map<Integer, OrderDto> fetchOrders(final Collection<Integer> orderIds) {
+		final List<Integer> distinctIds = orderIds.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+		final Map<Integer, OrderDto> result = new HashMap<>();
+		
+		for (int from = 0; from < distinctIds.size(); from += BULK_FETCH_CHUNK_SIZE) {
+			final String joinedIds = distinctIds.subList(from, Math.min(from + BULK_FETCH_CHUNK_SIZE, distinctIds.size()))
+					.stream()
+						.map(String::valueOf)
+						.collect(Collectors.joining(","));
+			final DtoCollectionResponse<OrderDto> response = this.circuitBreakerFactory
+					.create(AppConstant.RemoteDependencies.ORDER_SERVICE)
+					.run(Bulkhead.decorateSupplier(this.bulkheadRegistry.bulkhead(AppConstant.RemoteDependencies.ORDER_SERVICE), 
+							() -> this.restTemplate.exchange(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL + "?ids=" + joinedIds, 
+									HttpMethod.GET, null, new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {})
+								.getBody()), 
+						throwable -> {
+							log.warn("*** OrderDto List, service; bulk order lookup degraded: {} *", throwable.toString());
+							return null;
+						});
+			if (response != null && response.getCollection() != null)
+				response.getCollection().forEach(orderDto -> result.put(orderDto.getOrderId(), orderDto));
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Remote order lookup behind the orderService circuit breaker, bulkhead and time limiter,
+	 * degrades to the un-enriched order (id only) when the call fails or is not permitted
+	 */
+	private OrderDto fetchOrder(final OrderDto orderDto) {
+		return this.circuitBreakerFactory
+				.create(AppConstant.RemoteDependencies.ORDER_SERVICE)
+				.run(Bulkhead.decorateSupplier(this.bulkheadRegistry.bulkhead(AppConstant.RemoteDependencies.ORDER_SERVICE), 
+						() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+								.ORDER_SERVICE_API_URL + "/" + orderDto.getOrderId(), OrderDto.class)), 
+					throwable -> {
+						log.warn("*** OrderDto, service; order lookup degraded: {} *", throwable.toString());
+						return orderDto;
+					});
+	}
+	
+	/**
+	 * Streams every row straight from the JDBC cursor, the persistence context is cleared
+	 * every {@link AppConstant#EXPORT_FETCH_SIZE} rows so memory stays flat, remote enrichment is skipped
+	 */
+	@Override
+	public void exportAll(final Consumer<PaymentDto> action) {
+		log.info("*** PaymentDto Stream, service; export all payments *");
+		try (final Stream<Payment> payments = this.paymentRepository.streamAll()) {
+			final int[] count = {0};
+			payments.forEach(e -> {
+				action.accept(PaymentMappingHelper.map(e));
+				if (++count[0] % AppConstant.EXPORT_FETCH_SIZE == 0)
+					this.entityManager.clear();
+			});
+		}
 	}
 	
 	
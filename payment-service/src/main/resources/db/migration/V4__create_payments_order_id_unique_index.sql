@@ -0,0 +1,3 @@
+
+DROP INDEX idx_payments_order_id;
+CREATE UNIQUE INDEX uk_payments_order_id ON payments (order_id);
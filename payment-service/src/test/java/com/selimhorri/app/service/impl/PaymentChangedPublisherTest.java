@@ -0,0 +1,100 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.Payment;
+import com.selimhorri.app.domain.PaymentStatus;
+import com.selimhorri.app.dto.event.PaymentChangedEvent;
+import com.selimhorri.app.repository.PaymentRepository;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentChangedPublisherTest {
+
+        @Mock
+        private PaymentRepository paymentRepository;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        @Mock
+        private RestTemplate restTemplate;
+
+        private PaymentChangedPublisher paymentChangedPublisher;
+
+        @BeforeEach
+        void setUp() {
+                paymentChangedPublisher = new PaymentChangedPublisher(paymentRepository, transactionManager, restTemplate,
+                                new Resilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), null),
+                                BulkheadRegistry.ofDefaults());
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        void publishAfterCommit_WhenOrderHasSeveralPayments_ShouldSendTheLatestAndClearOrdersWithout() {
+                // Given
+                when(paymentRepository.findAllByOrderIdIn(Set.of(1, 2))).thenReturn(List.of(
+                                payment(4, 1, true, PaymentStatus.COMPLETED),
+                                payment(2, 1, false, PaymentStatus.NOT_STARTED)));
+
+                // When
+                paymentChangedPublisher.publishAfterCommit(List.of(1, 2));
+
+                // Then
+                ArgumentCaptor<List<PaymentChangedEvent>> events = ArgumentCaptor.forClass(List.class);
+                verify(restTemplate).postForEntity(eq(PaymentChangedPublisher.PAYMENT_CHANGED_URL), events.capture(), eq(Integer.class));
+                List<PaymentChangedEvent> sorted = events.getValue().stream()
+                                .sorted(Comparator.comparing(PaymentChangedEvent::getOrderId))
+                                .collect(Collectors.toList());
+                assertEquals(2, sorted.size());
+                assertEquals(4, sorted.get(0).getPaymentId());
+                assertEquals("COMPLETED", sorted.get(0).getPaymentStatus());
+                assertNull(sorted.get(1).getPaymentId());
+                assertNull(sorted.get(1).getIsPayed());
+                assertNotNull(sorted.get(1).getOccurredAt());
+        }
+
+        @Test
+        void publishAfterCommit_WhenOrderServiceDown_ShouldNotFail() {
+                // Given
+                when(paymentRepository.findAllByOrderIdIn(Set.of(3))).thenReturn(List.of());
+                when(restTemplate.postForEntity(any(String.class), any(), eq(Integer.class)))
+                                .thenThrow(new ResourceAccessException("connection refused"));
+
+                // When / Then
+                assertDoesNotThrow(() -> paymentChangedPublisher.publishAfterCommit(List.of(3)));
+        }
+
+        private static Payment payment(final Integer paymentId, final Integer orderId, final Boolean isPayed,
+                        final PaymentStatus paymentStatus) {
+                return Payment.builder()
+                                .paymentId(paymentId)
+                                .orderId(orderId)
+                                .isPayed(isPayed)
+                                .paymentStatus(paymentStatus)
+                                .build();
+        }
+
+}
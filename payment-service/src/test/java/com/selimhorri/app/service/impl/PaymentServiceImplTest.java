@@ -14,18 +14,38 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.Payment;
 import com.selimhorri.app.domain.PaymentStatus;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.PaymentDto;
+import com.selimhorri.app.dto.event.OrderPlacedEvent;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.PaymentNotFoundException;
 import com.selimhorri.app.repository.PaymentRepository;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class PaymentServiceImplTest {
 
@@ -35,7 +55,15 @@ class PaymentServiceImplTest {
         @Mock
         private RestTemplate restTemplate;
 
-        @InjectMocks
+        @Mock
+        private PaymentChangedPublisher paymentChangedPublisher;
+
+        @Spy
+        private CircuitBreakerFactory<?, ?> circuitBreakerFactory = new Resilience4JCircuitBreakerFactory(
+                CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), null);
+
+        private BulkheadRegistry bulkheadRegistry;
+
         private PaymentServiceImpl paymentService;
 
         private Payment testPayment;
@@ -44,6 +72,10 @@ class PaymentServiceImplTest {
 
         @BeforeEach
         void setUp() {
+                bulkheadRegistry = BulkheadRegistry.ofDefaults();
+                paymentService = new PaymentServiceImpl(paymentRepository, null, restTemplate, circuitBreakerFactory,
+                                bulkheadRegistry, paymentChangedPublisher);
+
                 testOrderDto = OrderDto.builder()
                                 .orderId(1)
                                 .orderDate(LocalDateTime.now())
@@ -127,6 +159,74 @@ class PaymentServiceImplTest {
                 verify(restTemplate, times(2)).getForObject(anyString(), eq(OrderDto.class));
         }
 
+        @Test
+        void findAll_WhenPageRequested_ShouldResolveItsOrdersInOneBulkCall() {
+                // Given
+                PageRequest pageable = PageRequest.of(0, 3);
+                when(paymentRepository.findAllBy(pageable)).thenReturn(new SliceImpl<>(List.of(
+                                Payment.builder().paymentId(1).orderId(1).build(),
+                                Payment.builder().paymentId(2).orderId(2).build(),
+                                Payment.builder().paymentId(3).orderId(1).build()), pageable, false));
+                when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), 
+                                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>>any()))
+                                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(
+                                                testOrderDto, OrderDto.builder().orderId(2).orderDesc("Second Order").build()))));
+
+                // When
+                Slice<PaymentDto> result = paymentService.findAll(pageable);
+
+                // Then
+                assertEquals(3, result.getNumberOfElements());
+                assertFalse(result.hasNext());
+                assertEquals("Test Order", result.getContent().get(0).getOrderDto().getOrderDesc());
+                assertEquals("Second Order", result.getContent().get(1).getOrderDto().getOrderDesc());
+                assertEquals("Test Order", result.getContent().get(2).getOrderDto().getOrderDesc());
+                verify(restTemplate, times(1)).exchange(endsWith("?ids=1,2"), eq(HttpMethod.GET), isNull(), 
+                                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>>any());
+                verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
+        }
+
+        @Test
+        void findAllAfter_WhenOrderServiceFails_ShouldKeepUnenrichedOrders() {
+                // Given
+                when(paymentRepository.findByPaymentIdGreaterThan(eq(1), any())).thenReturn(new SliceImpl<>(List.of(
+                                Payment.builder().paymentId(2).orderId(2).build())));
+                when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), 
+                                ArgumentMatchers.<ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>>any()))
+                                .thenThrow(new ResourceAccessException("Connection refused"));
+
+                // When
+                Slice<PaymentDto> result = paymentService.findAllAfter(1, 10);
+
+                // Then
+                assertEquals(1, result.getNumberOfElements());
+                assertEquals(2, result.getContent().get(0).getOrderDto().getOrderId());
+                assertNull(result.getContent().get(0).getOrderDto().getOrderDesc());
+        }
+
+        @Test
+        void findAllByOrderId_WhenOrderHasPayments_ShouldFetchTheOrderOnce() {
+                // Given
+                Payment retriedPayment = Payment.builder()
+                                .paymentId(2)
+                                .orderId(1)
+                                .isPayed(true)
+                                .paymentStatus(PaymentStatus.COMPLETED)
+                                .build();
+                when(paymentRepository.findAllByOrderIdOrderByPaymentId(1))
+                                .thenReturn(Arrays.asList(testPayment, retriedPayment));
+                when(restTemplate.getForObject(anyString(), eq(OrderDto.class))).thenReturn(testOrderDto);
+
+                // When
+                List<PaymentDto> result = paymentService.findAllByOrderId(1);
+
+                // Then
+                assertEquals(2, result.size());
+                assertEquals("Test Order", result.get(0).getOrderDto().getOrderDesc());
+                assertEquals("Test Order", result.get(1).getOrderDto().getOrderDesc());
+                verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDto.class));
+        }
+
         @Test
         void findById_WhenPaymentExists_ShouldReturnPaymentDtoWithOrderData() {
                 // Given
@@ -150,6 +250,24 @@ class PaymentServiceImplTest {
                 verify(restTemplate, times(1)).getForObject(anyString(), eq(OrderDto.class));
         }
 
+        @Test
+        void findById_WhenOrderServiceBulkheadIsFull_ShouldReturnPaymentWithUnenrichedOrder() {
+                // Given
+                Integer paymentId = 1;
+                when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(testPayment));
+                Bulkhead orderServiceBulkhead = bulkheadRegistry.bulkhead(AppConstant.RemoteDependencies.ORDER_SERVICE,
+                                BulkheadConfig.custom().maxConcurrentCalls(1).build());
+                orderServiceBulkhead.acquirePermission();
+
+                // When
+                PaymentDto result = paymentService.findById(paymentId);
+
+                // Then
+                assertEquals(testPayment.getOrderId(), result.getOrderDto().getOrderId());
+                assertNull(result.getOrderDto().getOrderDesc());
+                verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
+        }
+
         @Test
         void findById_WhenPaymentNotExists_ShouldThrowPaymentNotFoundException() {
                 // Given
@@ -233,6 +351,7 @@ class PaymentServiceImplTest {
         void deleteById_WhenValidPaymentId_ShouldCallRepositoryDelete() {
                 // Given
                 Integer paymentId = 1;
+                when(paymentRepository.findById(paymentId)).thenReturn(Optional.of(testPayment));
                 doNothing().when(paymentRepository).deleteById(paymentId);
 
                 // When
@@ -240,6 +359,7 @@ class PaymentServiceImplTest {
 
                 // Then
                 verify(paymentRepository, times(1)).deleteById(paymentId);
+                verify(paymentChangedPublisher).publishAfterCommit(List.of(1));
         }
 
         @Test
@@ -305,4 +425,52 @@ class PaymentServiceImplTest {
 
                 verify(paymentRepository, times(1)).save(any(Payment.class));
         }
-}
\ No newline at end of file
+
+        @Test
+        void handleOrderPlaced_WhenSomeOrdersAlreadyHavePayment_ShouldOpenPaymentsForTheOthersOnly() {
+                // Given
+                List<OrderPlacedEvent> events = Arrays.asList(
+                                OrderPlacedEvent.builder().eventId("e-1").orderId(1).build(),
+                                OrderPlacedEvent.builder().eventId("e-2").orderId(2).build(),
+                                OrderPlacedEvent.builder().eventId("e-2").orderId(2).build());
+                when(paymentRepository.findAllByOrderIdIn(any()))
+                                .thenReturn(List.of(Payment.builder().paymentId(9).orderId(1).build()));
+                when(paymentRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+                // When
+                List<PaymentDto> result = paymentService.handleOrderPlaced(events);
+
+                // Then
+                assertEquals(1, result.size());
+                assertEquals(2, result.get(0).getOrderDto().getOrderId());
+                assertEquals(PaymentStatus.NOT_STARTED, result.get(0).getPaymentStatus());
+                assertFalse(result.get(0).getIsPayed());
+                verify(restTemplate, never()).getForObject(anyString(), eq(OrderDto.class));
+                verify(paymentChangedPublisher).publishAfterCommit(List.of(2));
+        }
+
+        @Test
+        void handleOrderPlaced_WhenConcurrentDeliveryInsertedAnOrder_ShouldTreatItsDuplicateKeyAsHandled() {
+                // Given
+                List<OrderPlacedEvent> events = Arrays.asList(
+                                OrderPlacedEvent.builder().eventId("e-1").orderId(1).build(),
+                                OrderPlacedEvent.builder().eventId("e-2").orderId(2).build());
+                when(paymentRepository.findAllByOrderIdIn(any())).thenReturn(List.of());
+                when(paymentRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("uk_payments_order_id"));
+                when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> {
+                        Payment payment = invocation.getArgument(0);
+                        if (payment.getOrderId() == 1)
+                                throw new DataIntegrityViolationException("uk_payments_order_id");
+                        return payment;
+                });
+
+                // When
+                List<PaymentDto> result = paymentService.handleOrderPlaced(events);
+
+                // Then
+                assertEquals(1, result.size());
+                assertEquals(2, result.get(0).getOrderDto().getOrderId());
+                verify(paymentRepository, times(2)).save(any(Payment.class));
+                verify(paymentChangedPublisher).publishAfterCommit(List.of(2));
+        }
+}
@@ -0,0 +1,53 @@
+package com.selimhorri.app.config.cache;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+@Configuration
+@EnableConfigurationProperties(CacheRegionProperties.class)
+public class CacheConfig {
+	
+	/**
+	 * One JCache cache per configured region, handed over to Hibernate as its second level cache
+	 */
+	@Bean(destroyMethod = "close")
+	public CacheManager jCacheManagerBean(final CacheRegionProperties cacheRegionProperties, final MeterRegistry meterRegistry) {
+		final CacheManager cacheManager = Caching
+				.getCachingProvider(EhcacheCachingProvider.class.getName())
+				.getCacheManager();
+		cacheRegionProperties.getRegions().forEach((name, region) -> {
+			cacheManager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(
+					CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, 
+							ResourcePoolsBuilder.heap(region.getMaxEntries()))
+						.withExpiry(region.getTtl() == null 
+								? ExpiryPolicyBuilder.noExpiration() 
+								: ExpiryPolicyBuilder.timeToLiveExpiration(region.getTtl()))));
+			cacheManager.enableStatistics(name, true);
+			JCacheMetrics.monitor(meterRegistry, cacheManager.getCache(name));
+		});
+		return cacheManager;
+	}
+	
+	@Bean
+	public HibernatePropertiesCustomizer jCacheHibernatePropertiesCustomizer(final CacheManager jCacheManager) {
+		return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, jCacheManager);
+	}
+	
+	
+	
+}
+
@@ -0,0 +1,33 @@
+package com.selimhorri.app.config.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Hibernate second level cache regions, keyed by region name
+ */
+@ConfigurationProperties(prefix = "app.cache")
+@Data
+public class CacheRegionProperties {
+	
+	private Map<String, Region> regions = new LinkedHashMap<>();
+	
+	@Data
+	public static class Region {
+		
+		private long maxEntries = 1000;
+		
+		/**
+		 * Time to live of an entry, none means entries only leave on eviction or invalidation
+		 */
+		private Duration ttl;
+		
+	}
+	
+}
+
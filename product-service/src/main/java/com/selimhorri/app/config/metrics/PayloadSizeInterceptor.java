@@ -0,0 +1,111 @@
+package com.selimhorri.app.config.metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTags;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records the body sizes of RestTemplate calls as http.client.request.size and http.client.response.size, 
+ * tagged like http.client.requests by target service (clientName) and method. 
+ * The response size is what the caller read, chunked and streamed bodies included
+ */
+@RequiredArgsConstructor
+public class PayloadSizeInterceptor implements ClientHttpRequestInterceptor {
+	
+	public static final String REQUEST_SIZE = "http.client.request.size";
+	public static final String RESPONSE_SIZE = "http.client.response.size";
+	
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public ClientHttpResponse intercept(final HttpRequest request, final byte[] body, 
+			final ClientHttpRequestExecution execution) throws IOException {
+		final Tags tags = Tags.of(RestTemplateExchangeTags.clientName(request), RestTemplateExchangeTags.method(request));
+		record(this.meterRegistry, REQUEST_SIZE, tags, body.length);
+		return new CountingClientHttpResponse(execution.execute(request, body), 
+				count -> record(this.meterRegistry, RESPONSE_SIZE, tags, count));
+	}
+	
+	static void record(final MeterRegistry meterRegistry, final String name, final Tags tags, final long bytes) {
+		DistributionSummary.builder(name)
+				.baseUnit("bytes")
+				.tags(tags)
+				.register(meterRegistry)
+				.record(bytes);
+	}
+	
+	/**
+	 * Reports the bytes read from the body when the response is closed, zero if the body was never opened
+	 */
+	private static final class CountingClientHttpResponse implements ClientHttpResponse {
+		
+		private final ClientHttpResponse response;
+		private final LongConsumer onClose;
+		private CountingInputStream body;
+		
+		private CountingClientHttpResponse(final ClientHttpResponse response, final LongConsumer onClose) {
+			this.response = response;
+			this.onClose = onClose;
+		}
+		
+		@Override
+		public InputStream getBody() throws IOException {
+			if (this.body == null)
+				this.body = new CountingInputStream(this.response.getBody(), this.onClose);
+			return this.body;
+		}
+		
+		@Override
+		public HttpHeaders getHeaders() {
+			return this.response.getHeaders();
+		}
+		
+		@Override
+		public HttpStatus getStatusCode() throws IOException {
+			return this.response.getStatusCode();
+		}
+		
+		@Override
+		public int getRawStatusCode() throws IOException {
+			return this.response.getRawStatusCode();
+		}
+		
+		@Override
+		public String getStatusText() throws IOException {
+			return this.response.getStatusText();
+		}
+		
+		@Override
+		public void close() {
+			try {
+				if (this.body != null)
+					this.body.close();
+				else
+					this.onClose.accept(0);
+			}
+			catch (final IOException e) {
+				// the delegate close below releases the connection either way
+			}
+			finally {
+				this.response.close();
+			}
+		}
+	
+	}
+	
+	
+	
+}
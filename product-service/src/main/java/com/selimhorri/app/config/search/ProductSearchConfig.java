@@ -0,0 +1,42 @@
+package com.selimhorri.app.config.search;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.IntervalTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import com.selimhorri.app.service.ProductSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Configuration
+@EnableConfigurationProperties(ProductSearchProperties.class)
+public class ProductSearchConfig {
+	
+	/**
+	 * Builds the index once the context is up, then rebuilds it with a fixed delay
+	 */
+	@Configuration
+	@EnableScheduling
+	@Slf4j
+	@RequiredArgsConstructor
+	static class ProductSearchRefreshConfig implements SchedulingConfigurer {
+		
+		private final ProductSearchService productSearchService;
+		private final ProductSearchProperties productSearchProperties;
+		
+		@Override
+		public void configureTasks(final ScheduledTaskRegistrar taskRegistrar) {
+			log.info("*** Product search index rebuilt every {} *", this.productSearchProperties.getRefreshInterval());
+			taskRegistrar.addFixedDelayTask(new IntervalTask(this.productSearchService::reindexAll,
+					this.productSearchProperties.getRefreshInterval().toMillis(), 0L));
+		}
+	
+	}
+	
+	
+	
+}
@@ -0,0 +1,26 @@
+package com.selimhorri.app.config.search;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Product search index, kept current by the writes of this instance and rebuilt from the
+ * database on every refresh to catch up with writes made elsewhere
+ */
+@ConfigurationProperties(prefix = "app.search")
+@Data
+public class ProductSearchProperties {
+	
+	/**
+	 * Delay between the end of a full rebuild and the next one, the first runs at startup
+	 */
+	private Duration refreshInterval = Duration.ofMinutes(5);
+	
+	private int defaultLimit = 20;
+	
+	private int maxLimit = 100;
+	
+}
@@ -0,0 +1,12 @@
+package com.selimhorri.app.config.stock;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StockReservationProperties.class)
+public class StockReservationConfig {
+	
+	
+	
+}
@@ -0,0 +1,28 @@
+package com.selimhorri.app.config.stock;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Stock reservation limits and retry policy, a reservation failing on a transient lock conflict
+ * (deadlock, lock wait timeout) is retried in a new transaction after an exponential backoff
+ */
+@ConfigurationProperties(prefix = "app.stock")
+@Data
+public class StockReservationProperties {
+	
+	/**
+	 * Max distinct products reserved or released at once
+	 */
+	private int maxLines = 100;
+	
+	private int maxAttempts = 5;
+	
+	private Duration initialBackoff = Duration.ofMillis(10);
+	
+	private Duration maxBackoff = Duration.ofMillis(200);
+	
+}
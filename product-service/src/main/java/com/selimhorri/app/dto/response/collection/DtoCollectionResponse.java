@@ -1,6 +1,13 @@
 package com.selimhorri.app.dto.response.collection;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Slice;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,14 +22,35 @@ public class DtoCollectionResponse<T> {
 	
 	private Collection<T> collection;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Integer page;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer size;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Boolean hasNext;
+	
+	/**
+	 * Keyset cursor of the last returned element, to be sent back as {@code after}
+	 */
+	@JsonInclude(Include.NON_NULL)
+	private String nextCursor;
+	
+	public DtoCollectionResponse(final Collection<T> collection) {
+		this.collection = collection;
+	}
+	
+	public static <T> DtoCollectionResponse<T> of(final Slice<T> slice, final Function<T, String> cursorExtractor) {
+		final List<T> content = slice.getContent();
+		return DtoCollectionResponse.<T>builder()
+				.collection(content)
+				.page(slice.getNumber())
+				.size(slice.getSize())
+				.hasNext(slice.hasNext())
+				.nextCursor((slice.hasNext() && !content.isEmpty()) ? 
+						cursorExtractor.apply(content.get(content.size() - 1)) : null)
+				.build();
+	}
+	
 }
-
-
-
-
-
-
-
-
-
-
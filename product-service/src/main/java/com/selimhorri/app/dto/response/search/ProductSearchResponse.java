@@ -0,0 +1,29 @@
+package com.selimhorri.app.dto.response.search;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.selimhorri.app.dto.search.CategoryFacetDto;
+import com.selimhorri.app.dto.search.ProductSearchHitDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Best hits first, total counts every match beyond the returned ones,
+ * category facets ignore the category filter of the query
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductSearchResponse implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private List<ProductSearchHitDto> hits;
+	private Long total;
+	private List<CategoryFacetDto> categoryFacets;
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.dto.search;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.selimhorri.app.dto.ProductDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductSearchHitDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private Float score;
+	
+	@JsonProperty("product")
+	private ProductDto productDto;
+	
+}
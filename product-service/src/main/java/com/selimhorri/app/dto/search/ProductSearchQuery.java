@@ -0,0 +1,28 @@
+package com.selimhorri.app.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductSearchQuery {
+	
+	/**
+	 * Free text matched by prefix against title, sku and category path, blank matches everything
+	 */
+	private String q;
+	
+	/**
+	 * Category or any of its ancestors
+	 */
+	private Integer categoryId;
+	
+	private Double minPrice;
+	private Double maxPrice;
+	private Integer limit;
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.exception.wrapper;
+
+public class InsufficientStockException extends RuntimeException {
+	
+	private static final long serialVersionUID = 1L;
+	
+	public InsufficientStockException() {
+		super();
+	}
+	
+	public InsufficientStockException(String message, Throwable cause) {
+		super(message, cause);
+	}
+	
+	public InsufficientStockException(String message) {
+		super(message);
+	}
+	
+	public InsufficientStockException(Throwable cause) {
+		super(cause);
+	}
+	
+	
+	
+}
@@ -1,11 +1,30 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.selimhorri.app.domain.Category;
 
+/**
+ * Parents are lazy, every read joins the direct parent only since mapping never goes further up
+ */
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
 	
+	@Override
+	@EntityGraph(attributePaths = "parentCategory")
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	List<Category> findAll();
 	
+	@Override
+	@EntityGraph(attributePaths = "parentCategory")
+	Optional<Category> findById(final Integer categoryId);
 	
 }
@@ -1,11 +1,43 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.selimhorri.app.domain.Product;
 
+/**
+ * Category is lazy, every read that maps to a dto joins it in the same select
+ */
 public interface ProductRepository extends JpaRepository<Product, Integer> {
 	
+	@Override
+	@EntityGraph(attributePaths = "category")
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	List<Product> findAll();
+	
+	@Override
+	@EntityGraph(attributePaths = "category")
+	List<Product> findAllById(final Iterable<Integer> productIds);
+	
+	@Override
+	@EntityGraph(attributePaths = "category")
+	Optional<Product> findById(final Integer productId);
+	
+	@EntityGraph(attributePaths = "category")
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	Slice<Product> findAllBy(final Pageable pageable);
 	
+	@EntityGraph(attributePaths = "category")
+	Slice<Product> findByProductIdGreaterThan(final Integer productId, final Pageable pageable);
 	
 }
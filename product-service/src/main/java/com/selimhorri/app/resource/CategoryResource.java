@@ -35,6 +35,12 @@ public class CategoryResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findAll()));
 	}
 	
+	@GetMapping("/tree")
+	public ResponseEntity<DtoCollectionResponse<CategoryDto>> findTree() {
+		log.info("*** CategoryDto List, controller; fetch category tree *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.categoryService.findTree()));
+	}
+	
 	@GetMapping("/{categoryId}")
 	public ResponseEntity<CategoryDto> findById(
 			@PathVariable("categoryId") 
@@ -1,9 +1,13 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,11 +16,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.StockReservationLineDto;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.dto.response.search.ProductSearchResponse;
+import com.selimhorri.app.dto.search.ProductSearchQuery;
+import com.selimhorri.app.service.ProductSearchService;
 import com.selimhorri.app.service.ProductService;
+import com.selimhorri.app.service.StockReservationService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,13 +38,41 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductResource {
 	
 	private final ProductService productService;
+	private final ProductSearchService productSearchService;
+	private final StockReservationService stockReservationService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll(
+			@RequestParam(value = "ids", required = false) final List<Integer> productIds) {
+		if (productIds != null) {
+			log.info("*** ProductDto List, controller; fetch products by ids *");
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAllById(productIds)));
+		}
 		log.info("*** ProductDto List, controller; fetch all categories *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.productService.findAll()));
 	}
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<DtoCollectionResponse<ProductDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after, 
+			final Pageable pageable) {
+		log.info("*** ProductDto Slice, controller; fetch products page *");
+		final Slice<ProductDto> productDtos = (after != null) ? 
+				this.productService.findAllAfter(after, pageable.getPageSize()) : 
+				this.productService.findAll(pageable);
+		return ResponseEntity.ok(DtoCollectionResponse.of(productDtos, d -> String.valueOf(d.getProductId())));
+	}
+	
+	/**
+	 * {@code q} is matched by prefix against title, sku and category path, 
+	 * {@code categoryId}, {@code minPrice} and {@code maxPrice} filter the hits, {@code limit} caps them
+	 */
+	@GetMapping("/search")
+	public ResponseEntity<ProductSearchResponse> search(final ProductSearchQuery productSearchQuery) {
+		log.info("*** ProductSearchResponse, controller; search products *");
+		return ResponseEntity.ok(this.productSearchService.search(productSearchQuery));
+	}
+	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(
 			@PathVariable("productId") 
@@ -53,6 +91,44 @@ public class ProductResource {
 		return ResponseEntity.ok(this.productService.save(productDto));
 	}
 	
+	/**
+	 * Takes the quantity of one product off its stock, 409 when the stock is short
+	 */
+	@PostMapping("/{productId}/reserve")
+	public ResponseEntity<StockReservationLineDto> reserve(
+			@PathVariable("productId") final Integer productId, 
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final StockReservationLineDto stockReservationLineDto) {
+		log.info("*** StockReservationLineDto, resource; reserve product stock *");
+		stockReservationLineDto.setProductId(productId);
+		return ResponseEntity.ok(this.stockReservationService.reserve(List.of(stockReservationLineDto)).get(0));
+	}
+	
+	/**
+	 * Reserves the lines of a whole cart, all or nothing, 409 when one product is short
+	 */
+	@PostMapping("/reserve")
+	public ResponseEntity<DtoCollectionResponse<StockReservationLineDto>> reserve(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final List<StockReservationLineDto> stockReservationLineDtos) {
+		log.info("*** StockReservationLineDto List, resource; reserve stock *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.stockReservationService.reserve(stockReservationLineDtos)));
+	}
+	
+	/**
+	 * Puts previously reserved quantities back on stock
+	 */
+	@PostMapping("/release")
+	public ResponseEntity<DtoCollectionResponse<StockReservationLineDto>> release(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final List<StockReservationLineDto> stockReservationLineDtos) {
+		log.info("*** StockReservationLineDto List, resource; release stock *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.stockReservationService.release(stockReservationLineDtos)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<ProductDto> update(
 			@RequestBody 
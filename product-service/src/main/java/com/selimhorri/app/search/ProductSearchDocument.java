@@ -0,0 +1,30 @@
+package com.selimhorri.app.search;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Searchable view of a product, its category path runs from the root category down to the product's own
+ */
+@Value
+@Builder
+public class ProductSearchDocument {
+	
+	Integer productId;
+	String productTitle;
+	String sku;
+	Double priceUnit;
+	List<Integer> categoryIds;
+	List<String> categoryTitles;
+	
+	public Integer getCategoryId() {
+		return this.categoryIds.isEmpty() ? null : this.categoryIds.get(this.categoryIds.size() - 1);
+	}
+	
+	public String getCategoryTitle() {
+		return this.categoryTitles.isEmpty() ? null : this.categoryTitles.get(this.categoryTitles.size() - 1);
+	}
+	
+}
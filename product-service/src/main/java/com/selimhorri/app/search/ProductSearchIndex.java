@@ -0,0 +1,266 @@
+package com.selimhorri.app.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Value;
+
+/**
+ * In-memory inverted index over product title, sku and category path.
+ * Every query term matches indexed terms by prefix, a product must match all query terms,
+ * its score sums, per query term, the best field weight x match factor x idf of the terms it matched.
+ * Reads share a lock, writes (single product or whole index swap) are exclusive.
+ */
+public class ProductSearchIndex {
+	
+	static final float TITLE_WEIGHT = 3.0f;
+	static final float SKU_WEIGHT = 2.0f;
+	static final float CATEGORY_WEIGHT = 1.0f;
+	
+	/**
+	 * Score factor of a term that only starts with the query term
+	 */
+	static final float PREFIX_MATCH_FACTOR = 0.5f;
+	
+	private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+	
+	private static final Comparator<ScoredProduct> RANKING = Comparator
+			.comparing(ScoredProduct::getScore)
+			.thenComparing(ScoredProduct::getProductId, Comparator.reverseOrder());
+	
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+	private Map<Integer, ProductSearchDocument> documents = new HashMap<>();
+	
+	public static List<String> tokenize(final String text) {
+		if (text == null)
+			return List.of();
+		return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+				.filter(t -> !t.isEmpty())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	public int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.documents.size();
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	public void put(final ProductSearchDocument document) {
+		this.lock.writeLock().lock();
+		try {
+			this.remove(this.postings, this.documents, document.getProductId());
+			this.add(this.postings, this.documents, document);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	public void remove(final Integer productId) {
+		this.lock.writeLock().lock();
+		try {
+			this.remove(this.postings, this.documents, productId);
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * Builds a new index aside and swaps it in, searches keep reading the previous one meanwhile
+	 */
+	public void replaceAll(final Collection<ProductSearchDocument> documents) {
+		final NavigableMap<String, Map<Integer, Float>> newPostings = new TreeMap<>();
+		final Map<Integer, ProductSearchDocument> newDocuments = new HashMap<>();
+		documents.forEach(d -> this.add(newPostings, newDocuments, d));
+		
+		this.lock.writeLock().lock();
+		try {
+			this.postings = newPostings;
+			this.documents = newDocuments;
+		}
+		finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+	
+	/**
+	 * @param query free text, blank matches every product
+	 * @param categoryId restricts hits to this category and its sub categories, null for any
+	 * @param minPrice inclusive lower bound of the unit price, null for none
+	 * @param maxPrice inclusive upper bound of the unit price, null for none
+	 * @param limit max number of hits returned, best first
+	 * @return top hits, total number of matches and category facets, facets are counted before
+	 * the category restriction so that sibling categories keep their counts
+	 */
+	public Result search(final String query, final Integer categoryId, final Double minPrice,
+			final Double maxPrice, final int limit) {
+		
+		final List<String> queryTerms = tokenize(query);
+		
+		this.lock.readLock().lock();
+		try {
+			final Map<Integer, Float> scores = queryTerms.isEmpty() ?
+					this.documents.keySet().stream().collect(Collectors.toMap(id -> id, id -> 0.0f)) :
+					this.match(queryTerms);
+			
+			final Map<Integer, CategoryFacet> facets = new LinkedHashMap<>();
+			final PriorityQueue<ScoredProduct> topHits = new PriorityQueue<>(RANKING);
+			int total = 0;
+			
+			for (final Map.Entry<Integer, Float> score : scores.entrySet()) {
+				final ProductSearchDocument document = this.documents.get(score.getKey());
+				if (!inPriceRange(document.getPriceUnit(), minPrice, maxPrice))
+					continue;
+				
+				if (document.getCategoryId() != null)
+					facets.computeIfAbsent(document.getCategoryId(),
+							id -> new CategoryFacet(id, document.getCategoryTitle(), 0)).increment();
+				if (categoryId != null && !document.getCategoryIds().contains(categoryId))
+					continue;
+				
+				total++;
+				topHits.offer(new ScoredProduct(score.getKey(), score.getValue()));
+				if (topHits.size() > limit)
+					topHits.poll();
+			}
+			
+			final List<ScoredProduct> hits = new ArrayList<>(topHits);
+			hits.sort(RANKING.reversed());
+			return new Result(hits, total, facets.values().stream()
+					.sorted(Comparator.comparing(CategoryFacet::getCount, Comparator.reverseOrder())
+							.thenComparing(CategoryFacet::getCategoryId))
+					.collect(Collectors.toUnmodifiableList()));
+		}
+		finally {
+			this.lock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Products matching every query term, each query term is resolved by a range scan of the sorted terms
+	 */
+	private Map<Integer, Float> match(final List<String> queryTerms) {
+		Map<Integer, Float> scores = null;
+		for (final String queryTerm : queryTerms) {
+			final Map<Integer, Float> termScores = new HashMap<>();
+			this.postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, true).forEach((term, products) -> {
+				final float matchFactor = term.length() == queryTerm.length() ? 1.0f : PREFIX_MATCH_FACTOR;
+				final float idf = (float) Math.log(1.0d + (double) this.documents.size() / products.size());
+				products.forEach((productId, weight) ->
+						termScores.merge(productId, weight * matchFactor * idf, Math::max));
+			});
+			
+			if (scores == null) {
+				scores = termScores;
+			}
+			else {
+				scores.keySet().retainAll(termScores.keySet());
+				scores.replaceAll((productId, score) -> score + termScores.get(productId));
+			}
+			if (scores.isEmpty())
+				break;
+		}
+		return scores;
+	}
+	
+	private void add(final NavigableMap<String, Map<Integer, Float>> postings,
+			final Map<Integer, ProductSearchDocument> documents, final ProductSearchDocument document) {
+		documents.put(document.getProductId(), document);
+		terms(document).forEach((term, weight) ->
+				postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.getProductId(), weight));
+	}
+	
+	private void remove(final NavigableMap<String, Map<Integer, Float>> postings,
+			final Map<Integer, ProductSearchDocument> documents, final Integer productId) {
+		final ProductSearchDocument previous = documents.remove(productId);
+		if (previous == null)
+			return;
+		terms(previous).keySet().forEach(term -> {
+			final Map<Integer, Float> products = postings.get(term);
+			products.remove(productId);
+			if (products.isEmpty())
+				postings.remove(term);
+		});
+	}
+	
+	/**
+	 * Indexed terms of a document with their field weight, a term found in several fields keeps the best one;
+	 * the whole sku is a term as well so that it matches as typed
+	 */
+	private static Map<String, Float> terms(final ProductSearchDocument document) {
+		final Map<String, Float> terms = new HashMap<>();
+		tokenize(document.getProductTitle()).forEach(t -> terms.merge(t, TITLE_WEIGHT, Math::max));
+		tokenize(document.getSku()).forEach(t -> terms.merge(t, SKU_WEIGHT, Math::max));
+		if (document.getSku() != null && !document.getSku().isBlank())
+			terms.merge(document.getSku().toLowerCase(Locale.ROOT), SKU_WEIGHT, Math::max);
+		document.getCategoryTitles().stream()
+				.filter(Objects::nonNull)
+				.flatMap(c -> tokenize(c).stream())
+				.forEach(t -> terms.merge(t, CATEGORY_WEIGHT, Math::max));
+		return terms;
+	}
+	
+	private static boolean inPriceRange(final Double priceUnit, final Double minPrice, final Double maxPrice) {
+		if (minPrice == null && maxPrice == null)
+			return true;
+		return priceUnit != null
+				&& (minPrice == null || priceUnit >= minPrice)
+				&& (maxPrice == null || priceUnit <= maxPrice);
+	}
+	
+	@Value
+	public static class ScoredProduct {
+		
+		Integer productId;
+		float score;
+	
+	}
+	
+	@Data
+	@AllArgsConstructor
+	public static class CategoryFacet {
+		
+		private Integer categoryId;
+		private String categoryTitle;
+		private long count;
+		
+		private void increment() {
+			this.count++;
+		}
+	
+	}
+	
+	@Value
+	public static class Result {
+		
+		List<ScoredProduct> hits;
+		long total;
+		List<CategoryFacet> categoryFacets;
+	
+	}
+	
+	
+	
+}
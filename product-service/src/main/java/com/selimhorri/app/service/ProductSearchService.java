@@ -0,0 +1,13 @@
+package com.selimhorri.app.service;
+
+import com.selimhorri.app.dto.response.search.ProductSearchResponse;
+import com.selimhorri.app.dto.search.ProductSearchQuery;
+
+public interface ProductSearchService {
+	
+	ProductSearchResponse search(final ProductSearchQuery productSearchQuery);
+	void index(final Integer productId);
+	void remove(final Integer productId);
+	int reindexAll();
+	
+}
@@ -1,12 +1,19 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.selimhorri.app.dto.ProductDto;
 
 public interface ProductService {
 	
 	List<ProductDto> findAll();
+	Slice<ProductDto> findAll(final Pageable pageable);
+	Slice<ProductDto> findAllAfter(final Integer productId, final int size);
+	List<ProductDto> findAllById(final Collection<Integer> productIds);
 	ProductDto findById(final Integer productId);
 	ProductDto save(final ProductDto productDto);
 	ProductDto update(final ProductDto productDto);
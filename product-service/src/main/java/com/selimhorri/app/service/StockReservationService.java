@@ -0,0 +1,12 @@
+package com.selimhorri.app.service;
+
+import java.util.List;
+
+import com.selimhorri.app.dto.StockReservationLineDto;
+
+public interface StockReservationService {
+	
+	List<StockReservationLineDto> reserve(final List<StockReservationLineDto> stockReservationLineDtos);
+	List<StockReservationLineDto> release(final List<StockReservationLineDto> stockReservationLineDtos);
+	
+}
@@ -1,12 +1,15 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.exception.wrapper.CategoryNotFoundException;
 import com.selimhorri.app.helper.CategoryMappingHelper;
@@ -34,6 +37,22 @@ public class CategoryServiceImpl implements CategoryService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	/**
+	 * Loads every category in one select and links them in memory, roots first
+	 */
+	@Override
+	public List<CategoryDto> findTree() {
+		log.info("*** CategoryDto List, service; fetch category tree *");
+		final List<Category> categories = this.categoryRepository.findAll();
+		final Map<Integer, List<Category>> subCategories = categories.stream()
+				.filter(c -> c.getParentCategory() != null)
+				.collect(Collectors.groupingBy(c -> c.getParentCategory().getCategoryId()));
+		return categories.stream()
+				.filter(c -> c.getParentCategory() == null)
+				.map(c -> toTreeNode(c, subCategories))
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
 	@Override
 	public CategoryDto findById(final Integer categoryId) {
 		log.info("*** CategoryDto, service; fetch category by id *");
@@ -69,6 +88,21 @@ public class CategoryServiceImpl implements CategoryService {
 		this.categoryRepository.deleteById(categoryId);
 	}
 	
+	/**
+	 * Children are built before their parent so no dto changes once it sits in a set
+	 */
+	private static CategoryDto toTreeNode(final Category category, final Map<Integer, List<Category>> subCategories) {
+		return CategoryDto.builder()
+				.categoryId(category.getCategoryId())
+				.categoryTitle(category.getCategoryTitle())
+				.imageUrl(category.getImageUrl())
+				.subCategoriesDtos(subCategories.getOrDefault(category.getCategoryId(), List.of())
+						.stream()
+							.map(c -> toTreeNode(c, subCategories))
+							.collect(Collectors.toCollection(LinkedHashSet::new)))
+				.build();
+	}
+	
 	
 	
 }
@@ -0,0 +1,158 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.selimhorri.app.config.search.ProductSearchProperties;
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.search.ProductSearchResponse;
+import com.selimhorri.app.dto.search.CategoryFacetDto;
+import com.selimhorri.app.dto.search.ProductSearchHitDto;
+import com.selimhorri.app.dto.search.ProductSearchQuery;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.repository.CategoryRepository;
+import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.search.ProductSearchDocument;
+import com.selimhorri.app.search.ProductSearchIndex;
+import com.selimhorri.app.service.ProductSearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchServiceImpl implements ProductSearchService {
+	
+	private final ProductRepository productRepository;
+	private final CategoryRepository categoryRepository;
+	private final ProductSearchProperties productSearchProperties;
+	private final ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+	
+	/**
+	 * Ranks against the index, then loads the top hits in one query so that
+	 * stock and prices are the current ones
+	 */
+	@Override
+	public ProductSearchResponse search(final ProductSearchQuery productSearchQuery) {
+		log.info("*** ProductSearchResponse, service; search products *");
+		final int limit = Math.min(this.productSearchProperties.getMaxLimit(), Math.max(1, Objects
+				.requireNonNullElse(productSearchQuery.getLimit(), this.productSearchProperties.getDefaultLimit())));
+		final ProductSearchIndex.Result result = this.productSearchIndex.search(productSearchQuery.getQ(),
+				productSearchQuery.getCategoryId(), productSearchQuery.getMinPrice(), productSearchQuery.getMaxPrice(), limit);
+		
+		final Map<Integer, ProductDto> productDtos = this.productRepository.findAllById(result.getHits().stream()
+					.map(ProductSearchIndex.ScoredProduct::getProductId)
+					.collect(Collectors.toUnmodifiableList()))
+				.stream()
+					.map(ProductMappingHelper::map)
+					.collect(Collectors.toMap(ProductDto::getProductId, Function.identity()));
+		
+		return ProductSearchResponse.builder()
+				.hits(result.getHits().stream()
+						.filter(h -> productDtos.containsKey(h.getProductId()))
+						.map(h -> ProductSearchHitDto.builder()
+								.score(h.getScore())
+								.productDto(productDtos.get(h.getProductId()))
+								.build())
+						.collect(Collectors.toUnmodifiableList()))
+				.total(result.getTotal())
+				.categoryFacets(result.getCategoryFacets().stream()
+						.map(f -> CategoryFacetDto.builder()
+								.categoryId(f.getCategoryId())
+								.categoryTitle(f.getCategoryTitle())
+								.count(f.getCount())
+								.build())
+						.collect(Collectors.toUnmodifiableList()))
+				.build();
+	}
+	
+	/**
+	 * The document is read within the caller's transaction and applied once it commits,
+	 * a rolled back write leaves the index untouched
+	 */
+	@Override
+	public void index(final Integer productId) {
+		log.info("*** Void, service; index product *");
+		this.productRepository.findById(productId)
+				.map(ProductSearchServiceImpl::toDocument)
+				.ifPresent(d -> afterCommit(() -> this.productSearchIndex.put(d)));
+	}
+	
+	@Override
+	public void remove(final Integer productId) {
+		log.info("*** Void, service; remove product from index *");
+		afterCommit(() -> this.productSearchIndex.remove(productId));
+	}
+	
+	/**
+	 * Categories are loaded first, so walking up the category tree of each product
+	 * is answered by the persistence context
+	 */
+	@Override
+	public int reindexAll() {
+		this.categoryRepository.findAll();
+		final List<ProductSearchDocument> documents = this.productRepository.findAll()
+				.stream()
+					.map(ProductSearchServiceImpl::toDocument)
+					.collect(Collectors.toUnmodifiableList());
+		this.productSearchIndex.replaceAll(documents);
+		log.info("*** Integer, service; product search index rebuilt with {} products *", documents.size());
+		return documents.size();
+	}
+	
+	private static ProductSearchDocument toDocument(final Product product) {
+		final List<Integer> categoryIds = new ArrayList<>();
+		final List<String> categoryTitles = new ArrayList<>();
+		final Set<Integer> visited = new HashSet<>();
+		for (Category category = product.getCategory();
+				category != null && visited.add(category.getCategoryId());
+				category = category.getParentCategory()) {
+			categoryIds.add(category.getCategoryId());
+			categoryTitles.add(category.getCategoryTitle());
+		}
+		Collections.reverse(categoryIds);
+		Collections.reverse(categoryTitles);
+		
+		return ProductSearchDocument.builder()
+				.productId(product.getProductId())
+				.productTitle(product.getProductTitle())
+				.sku(product.getSku())
+				.priceUnit(product.getPriceUnit())
+				.categoryIds(List.copyOf(categoryIds))
+				.categoryTitles(Collections.unmodifiableList(categoryTitles))
+				.build();
+	}
+	
+	private static void afterCommit(final Runnable indexUpdate) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			indexUpdate.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				indexUpdate.run();
+			}
+		});
+	}
+	
+	
+	
+}
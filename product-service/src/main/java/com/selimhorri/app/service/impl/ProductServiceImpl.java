@@ -1,16 +1,23 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import com.selimhorri.app.domain.Product;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.helper.ProductMappingHelper;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.ProductSearchService;
 import com.selimhorri.app.service.ProductService;
 
 import lombok.RequiredArgsConstructor;
@@ -23,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ProductServiceImpl implements ProductService {
 	
 	private final ProductRepository productRepository;
+	private final ProductSearchService productSearchService;
 	
 	@Override
 	public List<ProductDto> findAll() {
@@ -34,6 +42,30 @@ public class ProductServiceImpl implements ProductService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public List<ProductDto> findAllById(final Collection<Integer> productIds) {
+		log.info("*** ProductDto List, service; fetch products by ids *");
+		return this.productRepository.findAllById(productIds)
+				.stream()
+					.map(ProductMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public Slice<ProductDto> findAll(final Pageable pageable) {
+		log.info("*** ProductDto Slice, service; fetch products page *");
+		return this.productRepository.findAllBy(pageable)
+				.map(ProductMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<ProductDto> findAllAfter(final Integer productId, final int size) {
+		log.info("*** ProductDto Slice, service; fetch products after cursor *");
+		return this.productRepository.findByProductIdGreaterThan(productId, PageRequest.of(0, size, Sort.by("productId")))
+				.map(ProductMappingHelper::map);
+	}
+	
 	@Override
 	public ProductDto findById(final Integer productId) {
 		log.info("*** ProductDto, service; fetch product by id *");
@@ -45,22 +77,36 @@ public class ProductServiceImpl implements ProductService {
 	@Override
 	public ProductDto save(final ProductDto productDto) {
 		log.info("*** ProductDto, service; save product *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto savedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(productDto)));
+		this.productSearchService.index(savedProductDto.getProductId());
+		return savedProductDto;
 	}
 	
+	/**
+	 * Stock only moves through the conditional reserve and release statements, 
+	 * the stored quantity is kept whatever the request carries
+	 */
 	@Override
 	public ProductDto update(final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product *");
-		return ProductMappingHelper.map(this.productRepository
-				.save(ProductMappingHelper.map(productDto)));
+		final Product product = ProductMappingHelper.map(productDto);
+		product.setQuantity(this.productRepository.findById(productDto.getProductId())
+				.map(Product::getQuantity)
+				.orElseThrow(() -> new ProductNotFoundException(String
+						.format("Product with id: %d not found", productDto.getProductId()))));
+		final ProductDto updatedProductDto = ProductMappingHelper.map(this.productRepository.save(product));
+		this.productSearchService.index(updatedProductDto.getProductId());
+		return updatedProductDto;
 	}
 	
 	@Override
 	public ProductDto update(final Integer productId, final ProductDto productDto) {
 		log.info("*** ProductDto, service; update product with productId *");
-		return ProductMappingHelper.map(this.productRepository
+		final ProductDto updatedProductDto = ProductMappingHelper.map(this.productRepository
 				.save(ProductMappingHelper.map(this.findById(productId))));
+		this.productSearchService.index(updatedProductDto.getProductId());
+		return updatedProductDto;
 	}
 	
 	@Override
@@ -68,6 +114,7 @@ public class ProductServiceImpl implements ProductService {
 		log.info("*** Void, service; delete product by id *");
 		this.productRepository.delete(ProductMappingHelper
 				.map(this.findById(productId)));
+		this.productSearchService.remove(productId);
 	}
 	
 	
@@ -0,0 +1,165 @@
+package com.selimhorri.app.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.selimhorri.app.config.stock.StockReservationProperties;
+import com.selimhorri.app.domain.Product;
+import com.selimhorri.app.dto.StockReservationLineDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
+import com.selimhorri.app.service.StockReservationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stock moves through conditional updates, the check and the decrement are one statement so
+ * concurrent reservations can never take the quantity below zero, and no version or row lock is held
+ * between a read and a write. A cart is all or nothing: its lines go out as one JDBC batch in one
+ * transaction, rolled back as soon as one line cannot be served. Lines are applied in product id order
+ * so that two carts lock shared rows in the same order.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+	
+	static final String RESERVE_SQL = "UPDATE products SET quantity = quantity - ? WHERE product_id = ? AND quantity >= ?";
+	static final String RELEASE_SQL = "UPDATE products SET quantity = quantity + ? WHERE product_id = ?";
+	
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final EntityManagerFactory entityManagerFactory;
+	private final StockReservationProperties stockReservationProperties;
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public List<StockReservationLineDto> reserve(final List<StockReservationLineDto> stockReservationLineDtos) {
+		log.info("*** StockReservationLineDto List, service; reserve stock *");
+		final Map<Integer, Integer> quantities = this.merge(stockReservationLineDtos);
+		this.execute("reserve", quantities, () -> {
+			final int[] updateCounts = this.jdbcTemplate.batchUpdate(RESERVE_SQL, quantities.entrySet().stream()
+					.map(e -> new Object[] {e.getValue(), e.getKey(), e.getValue()})
+					.collect(Collectors.toUnmodifiableList()));
+			final List<Integer> unavailable = unmatched(quantities, updateCounts);
+			if (!unavailable.isEmpty())
+				throw new InsufficientStockException(String
+						.format("Products %s are not available in the requested quantity", unavailable));
+		});
+		return toDtos(quantities);
+	}
+	
+	@Override
+	public List<StockReservationLineDto> release(final List<StockReservationLineDto> stockReservationLineDtos) {
+		log.info("*** StockReservationLineDto List, service; release stock *");
+		final Map<Integer, Integer> quantities = this.merge(stockReservationLineDtos);
+		this.execute("release", quantities, () -> {
+			final int[] updateCounts = this.jdbcTemplate.batchUpdate(RELEASE_SQL, quantities.entrySet().stream()
+					.map(e -> new Object[] {e.getValue(), e.getKey()})
+					.collect(Collectors.toUnmodifiableList()));
+			final List<Integer> unknown = unmatched(quantities, updateCounts);
+			if (!unknown.isEmpty())
+				throw new ProductNotFoundException(String.format("Products %s not found", unknown));
+		});
+		return toDtos(quantities);
+	}
+	
+	/**
+	 * Runs the batch in a new transaction per attempt, retrying transient lock conflicts only;
+	 * the statements bypass Hibernate, so the cached products are evicted once the change is committed
+	 */
+	private void execute(final String operation, final Map<Integer, Integer> quantities, final Runnable batch) {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				this.transactionTemplate.executeWithoutResult(status -> batch.run());
+				quantities.keySet().forEach(productId -> this.entityManagerFactory.getCache().evict(Product.class, productId));
+				this.count(operation, "success");
+				return;
+			}
+			catch (final InsufficientStockException | ProductNotFoundException e) {
+				this.count(operation, "rejected");
+				throw e;
+			}
+			catch (final TransientDataAccessException e) {
+				if (attempt >= this.stockReservationProperties.getMaxAttempts()) {
+					this.count(operation, "failed");
+					throw e;
+				}
+				this.meterRegistry.counter("product.stock.reservation.retries", "operation", operation).increment();
+				log.warn("*** Void, service; stock {} attempt {} conflicted, retrying: {} *", operation, attempt, e.toString());
+				this.backoff(attempt);
+			}
+		}
+	}
+	
+	/**
+	 * Sums the quantities of repeated products, keyed in product id order
+	 */
+	private Map<Integer, Integer> merge(final List<StockReservationLineDto> stockReservationLineDtos) {
+		if (stockReservationLineDtos == null || stockReservationLineDtos.isEmpty())
+			throw new IllegalArgumentException("At least one stock line is required");
+		if (stockReservationLineDtos.stream().anyMatch(l -> l.getProductId() == null
+				|| l.getQuantity() == null || l.getQuantity() <= 0))
+			throw new IllegalArgumentException("Every stock line needs a productId and a positive quantity");
+		
+		final Map<Integer, Integer> quantities = stockReservationLineDtos.stream()
+				.collect(Collectors.toMap(StockReservationLineDto::getProductId, StockReservationLineDto::getQuantity,
+						Math::addExact, TreeMap::new));
+		if (quantities.size() > this.stockReservationProperties.getMaxLines())
+			throw new IllegalArgumentException(String.format("At most %d products can be reserved at once",
+					this.stockReservationProperties.getMaxLines()));
+		return quantities;
+	}
+	
+	private void backoff(final int attempt) {
+		final long backoffMillis = Math.min(this.stockReservationProperties.getMaxBackoff().toMillis(),
+				this.stockReservationProperties.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+		try {
+			TimeUnit.MILLISECONDS.sleep(backoffMillis);
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while retrying a stock update", e);
+		}
+	}
+	
+	private void count(final String operation, final String result) {
+		this.meterRegistry.counter("product.stock.reservations", "operation", operation, "result", result).increment();
+	}
+	
+	/**
+	 * Product ids whose statement updated no row, batch update counts come back in statement order
+	 */
+	private static List<Integer> unmatched(final Map<Integer, Integer> quantities, final int[] updateCounts) {
+		final List<Integer> productIds = List.copyOf(quantities.keySet());
+		return IntStream.range(0, productIds.size())
+				.filter(i -> updateCounts[i] == 0)
+				.mapToObj(productIds::get)
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	private static List<StockReservationLineDto> toDtos(final Map<Integer, Integer> quantities) {
+		return quantities.entrySet().stream()
+				.map(e -> StockReservationLineDto.builder()
+						.productId(e.getKey())
+						.quantity(e.getValue())
+						.build())
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	
+	
+}
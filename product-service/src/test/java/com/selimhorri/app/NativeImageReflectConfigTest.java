@@ -0,0 +1,52 @@
+package com.selimhorri.app;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.TypeFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The native image reflect-config is maintained by hand, every entity, dto and error payload
+ * (builders included) bound by Jackson or Hibernate has to be listed or it fails at runtime only.
+ */
+class NativeImageReflectConfigTest {
+
+    private static final String REFLECT_CONFIG = "/META-INF/native-image/com.selimhorri/product-service/reflect-config.json";
+
+    @Test
+    void reflectConfig_ListsEveryEntityDtoAndErrorPayload() throws IOException {
+        final Set<String> registered;
+        try (InputStream in = getClass().getResourceAsStream(REFLECT_CONFIG)) {
+            registered = StreamSupport.stream(new ObjectMapper().readTree(in).spliterator(), false)
+                    .map(entry -> entry.get("name"))
+                    .map(JsonNode::asText)
+                    .collect(Collectors.toSet());
+        }
+
+        final ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((TypeFilter) (metadataReader, metadataReaderFactory) -> true);
+        final List<String> missing = Stream.of("com.selimhorri.app.domain", "com.selimhorri.app.dto",
+                        "com.selimhorri.app.exception.payload")
+                .flatMap(basePackage -> scanner.findCandidateComponents(basePackage).stream())
+                .map(BeanDefinition::getBeanClassName)
+                .filter(className -> !registered.contains(className))
+                .sorted()
+                .collect(Collectors.toList());
+
+        assertTrue(missing.isEmpty(), "missing from reflect-config.json: " + missing);
+    }
+
+}
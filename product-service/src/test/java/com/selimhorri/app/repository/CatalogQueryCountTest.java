@@ -0,0 +1,132 @@
+package com.selimhorri.app.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.selimhorri.app.domain.Category;
+import com.selimhorri.app.dto.CategoryDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.helper.CategoryMappingHelper;
+import com.selimhorri.app.helper.ProductMappingHelper;
+import com.selimhorri.app.service.impl.CategoryServiceImpl;
+
+/**
+ * Counts the JDBC statements behind catalog reads against the Flyway seed data,
+ * the second level cache is off so every read reaches the database.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"})
+class CatalogQueryCountTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_WhenProductsMapped_ShouldIssueSingleQuery() {
+        // When
+        List<ProductDto> productDtos = productRepository.findAll().stream()
+                .map(ProductMappingHelper::map)
+                .collect(Collectors.toList());
+
+        // Then
+        assertFalse(productDtos.isEmpty());
+        assertTrue(productDtos.stream().allMatch(p -> p.getCategoryDto().getCategoryTitle() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllBy_WhenSliceMapped_ShouldIssueSingleQuery() {
+        // When
+        List<ProductDto> productDtos = productRepository.findAllBy(PageRequest.of(0, 2, Sort.by("productId")))
+                .map(ProductMappingHelper::map)
+                .getContent();
+
+        // Then
+        assertEquals(2, productDtos.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findById_WhenProductMapped_ShouldIssueSingleQuery() {
+        // When
+        ProductDto productDto = ProductMappingHelper.map(productRepository.findById(1).orElseThrow());
+
+        // Then
+        assertNotNull(productDto.getCategoryDto().getCategoryTitle());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAll_WhenCategoriesMapped_ShouldIssueSingleQuery() {
+        // When
+        List<CategoryDto> categoryDtos = categoryRepository.findAll().stream()
+                .map(CategoryMappingHelper::map)
+                .collect(Collectors.toList());
+
+        // Then
+        assertFalse(categoryDtos.isEmpty());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findTree_WhenHierarchyAssembled_ShouldIssueSingleQueryAndKeepEveryCategory() {
+        // Given
+        Category computer = categoryRepository.findById(1).orElseThrow();
+        Category laptop = entityManager.persist(Category.builder().categoryTitle("Laptop").parentCategory(computer).build());
+        entityManager.persist(Category.builder().categoryTitle("Gaming laptop").parentCategory(laptop).build());
+        entityManager.persist(Category.builder().categoryTitle("Desktop").parentCategory(computer).build());
+        entityManager.flush();
+        entityManager.clear();
+        long categories = categoryRepository.count();
+        statistics.clear();
+
+        // When
+        List<CategoryDto> roots = new CategoryServiceImpl(categoryRepository).findTree();
+
+        // Then
+        assertEquals(3, roots.size());
+        assertEquals(categories, count(roots));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private static long count(final Iterable<CategoryDto> categoryDtos) {
+        long total = 0;
+        for (final CategoryDto categoryDto : categoryDtos)
+            total += 1 + count(categoryDto.getSubCategoriesDtos());
+        return total;
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.selimhorri.app.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex();
+        productSearchIndex.replaceAll(List.of(
+                document(1, "Asus ZenBook Laptop", "ASUS-LAP-001", 999.99, List.of(1, 2), List.of("Computer", "Laptops")),
+                document(2, "Lenovo ThinkPad Laptop", "LEN-LAP-002", 1299.0, List.of(1, 2), List.of("Computer", "Laptops")),
+                document(3, "Logitech Keyboard", "LOG-KEY-003", 49.9, List.of(1, 3), List.of("Computer", "Accessories")),
+                document(4, "Laptop Sleeve", "SLV-004", 19.9, List.of(4), List.of("Bags"))));
+    }
+
+    @Test
+    void search_WhenQueryIsAPrefix_ShouldMatchTitlesAndCategoryPaths() {
+        // When
+        ProductSearchIndex.Result result = productSearchIndex.search("lapt", null, null, null, 10);
+
+        // Then
+        assertEquals(3, result.getTotal());
+        assertEquals(List.of(1, 2, 4), productIds(result));
+    }
+
+    @Test
+    void search_WhenTermMatchedExactlyAndByPrefix_ShouldRankExactMatchFirst() {
+        // Given
+        productSearchIndex.put(document(5, "Mousepad XL", "PAD-005", 9.9, List.of(1, 3), List.of("Computer", "Accessories")));
+        productSearchIndex.put(document(6, "Wireless Mouse", "MOU-006", 24.9, List.of(1, 3), List.of("Computer", "Accessories")));
+
+        // When
+        ProductSearchIndex.Result result = productSearchIndex.search("mouse", null, null, null, 10);
+
+        // Then
+        assertEquals(List.of(6, 5), productIds(result));
+        assertTrue(result.getHits().get(0).getScore() > result.getHits().get(1).getScore());
+    }
+
+    @Test
+    void search_WhenSeveralTerms_ShouldRequireEveryTerm() {
+        // When
+        ProductSearchIndex.Result result = productSearchIndex.search("laptop len", null, null, null, 10);
+
+        // Then
+        assertEquals(1, result.getTotal());
+        assertEquals(2, result.getHits().get(0).getProductId());
+    }
+
+    @Test
+    void search_WhenSkuTypedAsIs_ShouldMatchIt() {
+        // When
+        ProductSearchIndex.Result result = productSearchIndex.search("LOG-KEY", null, null, null, 10);
+
+        // Then
+        assertEquals(List.of(3), productIds(result));
+    }
+
+    @Test
+    void search_WhenFiltered_ShouldCountFacetsBeforeTheCategoryFilter() {
+        // When
+        ProductSearchIndex.Result result = productSearchIndex.search("", 1, 40.0, 1000.0, 10);
+
+        // Then: the parent category matches its sub categories, the sleeve stays in the facets of the price range only
+        assertEquals(List.of(1, 3), productIds(result).stream().sorted().collect(Collectors.toList()));
+        assertEquals(2, result.getCategoryFacets().size());
+        assertTrue(result.getCategoryFacets().stream().noneMatch(f -> f.getCategoryId() == 4));
+    }
+
+    @Test
+    void search_WhenLimitBelowMatches_ShouldKeepTopHitsAndTotal() {
+        // When
+        ProductSearchIndex.Result result = productSearchIndex.search("computer", null, null, null, 2);
+
+        // Then
+        assertEquals(3, result.getTotal());
+        assertEquals(2, result.getHits().size());
+    }
+
+    @Test
+    void put_WhenProductUpdatedOrRemoved_ShouldReplaceItsTerms() {
+        // When
+        productSearchIndex.put(document(3, "Logitech Mouse", "LOG-MOU-003", 29.9, List.of(1, 3), List.of("Computer", "Accessories")));
+        productSearchIndex.remove(1);
+
+        // Then
+        assertEquals(0, productSearchIndex.search("keyboard", null, null, null, 10).getTotal());
+        assertEquals(List.of(3), productIds(productSearchIndex.search("mouse", null, null, null, 10)));
+        assertEquals(List.of(2), productIds(productSearchIndex.search("lap", 2, null, null, 10)));
+        assertEquals(3, productSearchIndex.size());
+    }
+
+    private static List<Integer> productIds(final ProductSearchIndex.Result result) {
+        return result.getHits().stream()
+                .map(ProductSearchIndex.ScoredProduct::getProductId)
+                .collect(Collectors.toList());
+    }
+
+    private static ProductSearchDocument document(final Integer productId, final String productTitle, final String sku,
+            final Double priceUnit, final List<Integer> categoryIds, final List<String> categoryTitles) {
+        return ProductSearchDocument.builder()
+                .productId(productId)
+                .productTitle(productTitle)
+                .sku(sku)
+                .priceUnit(priceUnit)
+                .categoryIds(categoryIds)
+                .categoryTitles(categoryTitles)
+                .build();
+    }
+
+}
@@ -14,6 +14,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
 import com.selimhorri.app.domain.Category;
 import com.selimhorri.app.domain.Product;
@@ -21,6 +25,7 @@ import com.selimhorri.app.dto.CategoryDto;
 import com.selimhorri.app.dto.ProductDto;
 import com.selimhorri.app.exception.wrapper.ProductNotFoundException;
 import com.selimhorri.app.repository.ProductRepository;
+import com.selimhorri.app.service.ProductSearchService;
 
 @ExtendWith(MockitoExtension.class)
 public class ProductServiceImplTest {
@@ -28,6 +33,9 @@ public class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductSearchService productSearchService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -118,6 +126,39 @@ public class ProductServiceImplTest {
         verify(productRepository, times(1)).findAll();
     }
 
+    @Test
+    void findAllById_WhenProductsExist_ShouldReturnOnlyRequestedProducts() {
+        // Given
+        List<Integer> productIds = Arrays.asList(1, 3);
+        when(productRepository.findAllById(productIds)).thenReturn(Arrays.asList(testProduct));
+
+        // When
+        List<ProductDto> result = productService.findAllById(productIds);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getProductId());
+        verify(productRepository, times(1)).findAllById(productIds);
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    void findAllAfter_WhenCursorGiven_ShouldQueryByKeysetOrderedById() {
+        // Given
+        PageRequest expectedPageable = PageRequest.of(0, 1, Sort.by("productId"));
+        when(productRepository.findByProductIdGreaterThan(0, expectedPageable))
+                .thenReturn(new SliceImpl<>(Arrays.asList(testProduct), expectedPageable, true));
+
+        // When
+        Slice<ProductDto> result = productService.findAllAfter(0, 1);
+
+        // Then
+        assertEquals(1, result.getNumberOfElements());
+        assertEquals(1, result.getContent().get(0).getProductId());
+        assertTrue(result.hasNext());
+        verify(productRepository, never()).findAll();
+    }
+
     @Test
     void findById_WhenProductExists_ShouldReturnProductDto() {
         // Given
@@ -190,10 +231,11 @@ public class ProductServiceImplTest {
         assertEquals("Electronics", result.getCategoryDto().getCategoryTitle());
         
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(productSearchService, times(1)).index(3);
     }
 
     @Test
-    void update_WhenValidProductDto_ShouldReturnUpdatedProductDto() {
+    void update_WhenValidProductDto_ShouldReturnUpdatedProductDtoKeepingTheStoredQuantity() {
         // Given
         ProductDto updateProductDto = ProductDto.builder()
                 .productId(1)
@@ -204,16 +246,8 @@ public class ProductServiceImplTest {
                 .categoryDto(testCategoryDto)
                 .build();
 
-        Product updatedProduct = Product.builder()
-                .productId(1)
-                .productTitle("Updated Laptop ASUS")
-                .sku("ASUS-LAP-001-V2")
-                .priceUnit(1199.99)
-                .quantity(25)
-                .category(testCategory)
-                .build();
-
-        when(productRepository.save(any(Product.class))).thenReturn(updatedProduct);
+        when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         ProductDto result = productService.update(updateProductDto);
@@ -224,11 +258,22 @@ public class ProductServiceImplTest {
         assertEquals("Updated Laptop ASUS", result.getProductTitle());
         assertEquals("ASUS-LAP-001-V2", result.getSku());
         assertEquals(1199.99, result.getPriceUnit());
-        assertEquals(25, result.getQuantity());
+        assertEquals(testProduct.getQuantity(), result.getQuantity());
         
         verify(productRepository, times(1)).save(any(Product.class));
     }
 
+    @Test
+    void update_WhenProductNotExists_ShouldThrowProductNotFoundException() {
+        // Given
+        when(productRepository.findById(404)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(ProductNotFoundException.class,
+                () -> productService.update(ProductDto.builder().productId(404).quantity(1).categoryDto(testCategoryDto).build()));
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
     @Test
     void update_WhenProductIdAndDto_ShouldUpdateCorrectProduct() {
         // Given
@@ -269,6 +314,7 @@ public class ProductServiceImplTest {
         // Then
         verify(productRepository, times(1)).findById(productId);
         verify(productRepository, times(1)).delete(any(Product.class));
+        verify(productSearchService, times(1)).remove(productId);
     }
 
     @Test
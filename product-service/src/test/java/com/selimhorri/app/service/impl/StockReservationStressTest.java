@@ -0,0 +1,157 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.selimhorri.app.config.cache.CacheConfig;
+import com.selimhorri.app.config.stock.StockReservationConfig;
+import com.selimhorri.app.dto.StockReservationLineDto;
+import com.selimhorri.app.exception.wrapper.InsufficientStockException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Many threads race for the same stock through the real schema, no reservation may ever be served
+ * beyond the stock and a cart that is refused must not have taken any of its lines.
+ */
+@DataJpaTest
+@Import({StockReservationServiceImpl.class, StockReservationConfig.class, CacheConfig.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationStressTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+
+    @Autowired
+    private StockReservationServiceImpl stockReservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void reserve_WhenThreadsRaceForOneProduct_ShouldServeExactlyTheStock() throws Exception {
+        // Given
+        setQuantity(1, 100);
+        double rejectedBefore = rejected();
+
+        // When
+        int reserved = race(List.of(line(1, 1)));
+
+        // Then
+        assertEquals(100, reserved);
+        assertEquals(0, quantity(1));
+        assertEquals(THREADS * ATTEMPTS_PER_THREAD - 100, rejected() - rejectedBefore);
+    }
+
+    @Test
+    void reserve_WhenCartsRaceForAShortProduct_ShouldNotTakeTheOtherLinesOfRefusedCarts() throws Exception {
+        // Given
+        setQuantity(2, 500);
+        setQuantity(3, 45);
+
+        // When: carts take 2 of product 3, the last unit of it can never be served
+        int reserved = race(List.of(line(3, 2), line(2, 1), line(2, 2)));
+
+        // Then
+        assertEquals(22, reserved);
+        assertEquals(1, quantity(3));
+        assertEquals(500 - 3 * 22, quantity(2));
+    }
+
+    @Test
+    void release_WhenReservedStockReleased_ShouldRestoreTheQuantity() {
+        // Given
+        setQuantity(4, 5);
+        stockReservationService.reserve(List.of(line(4, 5)));
+
+        // When
+        stockReservationService.release(List.of(line(4, 3)));
+
+        // Then
+        assertEquals(3, quantity(4));
+        assertThrows(InsufficientStockException.class, () -> stockReservationService.reserve(List.of(line(4, 4))));
+        assertEquals(3, quantity(4));
+    }
+
+    /**
+     * Every thread keeps reserving the cart, answers how many reservations were served
+     */
+    private int race(final List<StockReservationLineDto> cart) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger reserved = new AtomicInteger();
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        stockReservationService.reserve(cart);
+                        reserved.incrementAndGet();
+                    }
+                    catch (final InsufficientStockException e) {
+                        // refused, stock is short
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (final Future<?> future : futures)
+            future.get(60, TimeUnit.SECONDS);
+        return reserved.get();
+    }
+
+    private double rejected() {
+        return meterRegistry.counter("product.stock.reservations", "operation", "reserve", "result", "rejected").count();
+    }
+
+    private void setQuantity(final int productId, final int quantity) {
+        jdbcTemplate.update("UPDATE products SET quantity = ? WHERE product_id = ?", quantity, productId);
+    }
+
+    private int quantity(final int productId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE product_id = ?", Integer.class, productId);
+    }
+
+    private static StockReservationLineDto line(final int productId, final int quantity) {
+        return StockReservationLineDto.builder()
+                .productId(productId)
+                .quantity(quantity)
+                .build();
+    }
+
+}
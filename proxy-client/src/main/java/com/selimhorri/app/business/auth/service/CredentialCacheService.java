@@ -0,0 +1,9 @@
+package com.selimhorri.app.business.auth.service;
+
+public interface CredentialCacheService {
+	
+	void evict(final String username);
+	void evictByCredentialId(final Integer credentialId);
+	
+}
+
@@ -1,30 +1,78 @@
 package com.selimhorri.app.business.auth.service.impl;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.UserDetailsImpl;
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.jwt.cache.ValidatedTokenCache;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Credentials are cached per username for a bounded ttl,
+ * callers changing a credential evict it through {@link CredentialCacheService}
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, CredentialCacheService {
 	
+	public static final String CACHE_NAME = "credentials";
 	private static final String API_URL = AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials";
+	
 	private final RestTemplate restTemplate;
+	private final ValidatedTokenCache validatedTokenCache;
+	private final Cache<String, UserDetailsImpl> credentialCache;
+	
+	public UserDetailsServiceImpl(final RestTemplate restTemplate, final ValidatedTokenCache validatedTokenCache, 
+			final MeterRegistry meterRegistry, 
+			@Value("${app.credential.cache.maximum-size:10000}") final long maximumSize, 
+			@Value("${app.credential.cache.ttl:5m}") final Duration ttl) {
+		this.restTemplate = restTemplate;
+		this.validatedTokenCache = validatedTokenCache;
+		this.credentialCache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, this.credentialCache, CACHE_NAME);
+	}
 	
 	@Override
 	public UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
 		log.info("**UserDetails, load user by username*\n");
-		return new UserDetailsImpl(this.restTemplate.getForObject(API_URL + "/username/" + username, CredentialDto.class));
+		return this.credentialCache.get(username, u -> new UserDetailsImpl(this.restTemplate
+				.getForObject(API_URL + "/username/" + u, CredentialDto.class)));
+	}
+	
+	@Override
+	public void evict(final String username) {
+		log.info("**Evict cached credential of username: {}*\n", username);
+		this.credentialCache.invalidate(username);
+		this.validatedTokenCache.invalidate(username);
+	}
+	
+	@Override
+	public void evictByCredentialId(final Integer credentialId) {
+		final List<String> usernames = this.credentialCache.asMap().values().stream()
+				.filter(u -> credentialId.equals(u.getCredential().getCredentialId()))
+				.map(UserDetailsImpl::getUsername)
+				.collect(Collectors.toUnmodifiableList());
+		usernames.forEach(this::evict);
 	}
 	
 	
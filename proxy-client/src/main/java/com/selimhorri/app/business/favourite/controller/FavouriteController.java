@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.favourite.controller;
 
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
@@ -18,6 +22,7 @@ import com.selimhorri.app.business.favourite.service.FavouriteClientService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/favourites")
 @RequiredArgsConstructor
 public class FavouriteController {
@@ -29,6 +34,21 @@ public class FavouriteController {
 		return ResponseEntity.ok(this.favouriteClientService.findAll().getBody());
 	}
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final String after) {
+		return ResponseEntity.ok(this.favouriteClientService.findAll(page, size, sort, after).getBody());
+	}
+	
+	@GetMapping(params = "userId")
+	public ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		return ResponseEntity.ok(this.favouriteClientService.findAllByUserId(userId).getBody());
+	}
+	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
 	public ResponseEntity<FavouriteDto> findById(
 			@PathVariable("userId") final String userId, 
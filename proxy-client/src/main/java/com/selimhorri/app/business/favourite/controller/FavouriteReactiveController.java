@@ -0,0 +1,110 @@
+package com.selimhorri.app.business.favourite.controller;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.favourite.model.FavouriteId;
+import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
+import com.selimhorri.app.business.favourite.service.FavouriteReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/favourites")
+@RequiredArgsConstructor
+public class FavouriteReactiveController {
+	
+	private final FavouriteReactiveClientService favouriteReactiveClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse>> findAll() {
+		return this.favouriteReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "size")
+	public Mono<ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse>> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final String after) {
+		return this.favouriteReactiveClientService.findAll(page, size, sort, after)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "userId")
+	public Mono<ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse>> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		return this.favouriteReactiveClientService.findAllByUserId(userId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{userId}/{productId}/{likeDate}")
+	public Mono<ResponseEntity<FavouriteDto>> findById(
+			@PathVariable("userId") final String userId, 
+			@PathVariable("productId") final String productId, 
+			@PathVariable("likeDate") final String likeDate) {
+		return this.favouriteReactiveClientService.findById(userId, productId, likeDate)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/find")
+	public Mono<ResponseEntity<FavouriteDto>> findById(@RequestBody final FavouriteId favouriteId) {
+		return this.favouriteReactiveClientService.findById(favouriteId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<FavouriteDto>> save(@RequestBody final FavouriteDto favouriteDto) {
+		return this.favouriteReactiveClientService.save(favouriteDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<FavouriteDto>> update(@RequestBody final FavouriteDto favouriteDto) {
+		return this.favouriteReactiveClientService.update(favouriteDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{userId}/{productId}/{likeDate}")
+	public Mono<ResponseEntity<Boolean>> deleteById(
+			@PathVariable("userId") final String userId, 
+			@PathVariable("productId") final String productId, 
+			@PathVariable("likeDate") final String likeDate) {
+		return this.favouriteReactiveClientService.deleteById(userId, productId, likeDate)
+				.thenReturn(ResponseEntity.ok(true));
+	}
+	
+	@DeleteMapping("/delete")
+	public Mono<ResponseEntity<Boolean>> deleteById(@RequestBody final FavouriteId favouriteId) {
+		return this.favouriteReactiveClientService.deleteById(favouriteId)
+				.thenReturn(ResponseEntity.ok(true));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -3,6 +3,8 @@ package com.selimhorri.app.business.favourite.model.response;
 import java.io.Serializable;
 import java.util.Collection;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 
 import lombok.AllArgsConstructor;
@@ -19,4 +21,16 @@ public class FavouriteFavouriteServiceCollectionDtoResponse implements Serializa
 	private static final long serialVersionUID = 1L;
 	private Collection<FavouriteDto> collection;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Integer page;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer size;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Boolean hasNext;
+	
+	@JsonInclude(Include.NON_NULL)
+	private String nextCursor;
+	
 }
@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.favourite.service;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.favourite.model.FavouriteDto;
 import com.selimhorri.app.business.favourite.model.FavouriteId;
@@ -22,6 +25,17 @@ public interface FavouriteClientService {
 	@GetMapping
 	ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll();
 	
+	@GetMapping(params = "size")
+	ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final String after);
+	
+	@GetMapping(params = "userId")
+	ResponseEntity<FavouriteFavouriteServiceCollectionDtoResponse> findAllByUserId(
+			@RequestParam("userId") final Integer userId);
+	
 	@GetMapping("/{userId}/{productId}/{likeDate}")
 	public ResponseEntity<FavouriteDto> findById(
 			@PathVariable("userId") final String userId, 
@@ -0,0 +1,114 @@
+package com.selimhorri.app.business.favourite.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.favourite.model.FavouriteDto;
+import com.selimhorri.app.business.favourite.model.FavouriteId;
+import com.selimhorri.app.business.favourite.model.response.FavouriteFavouriteServiceCollectionDtoResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link FavouriteClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class FavouriteReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public FavouriteReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.FAVOURITE_SERVICE_HOST + "/api/favourites")
+				.build();
+	}
+	
+	public Mono<FavouriteFavouriteServiceCollectionDtoResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(FavouriteFavouriteServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<FavouriteFavouriteServiceCollectionDtoResponse> findAll(final Integer page, final Integer size, final List<String> sort, final String after) {
+		return this.webClient.get()
+				.uri(u -> u
+						.queryParamIfPresent("page", Optional.ofNullable(page))
+						.queryParam("size", size)
+						.queryParamIfPresent("sort", Optional.ofNullable(sort))
+						.queryParamIfPresent("after", Optional.ofNullable(after))
+						.build())
+				.retrieve()
+				.bodyToMono(FavouriteFavouriteServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<FavouriteFavouriteServiceCollectionDtoResponse> findAllByUserId(final Integer userId) {
+		return this.webClient.get()
+				.uri(u -> u.queryParam("userId", userId).build())
+				.retrieve()
+				.bodyToMono(FavouriteFavouriteServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<FavouriteDto> findById(final String userId, final String productId, final String likeDate) {
+		return this.webClient.get()
+				.uri("/{userId}/{productId}/{likeDate}", userId, productId, likeDate)
+				.retrieve()
+				.bodyToMono(FavouriteDto.class);
+	}
+	
+	public Mono<FavouriteDto> findById(final FavouriteId favouriteId) {
+		return this.webClient.method(HttpMethod.GET)
+				.uri("/find")
+				.bodyValue(favouriteId)
+				.retrieve()
+				.bodyToMono(FavouriteDto.class);
+	}
+	
+	public Mono<FavouriteDto> save(final FavouriteDto favouriteDto) {
+		return this.webClient.post()
+				.bodyValue(favouriteDto)
+				.retrieve()
+				.bodyToMono(FavouriteDto.class);
+	}
+	
+	public Mono<FavouriteDto> update(final FavouriteDto favouriteDto) {
+		return this.webClient.put()
+				.bodyValue(favouriteDto)
+				.retrieve()
+				.bodyToMono(FavouriteDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String userId, final String productId, final String likeDate) {
+		return this.webClient.delete()
+				.uri("/{userId}/{productId}/{likeDate}", userId, productId, likeDate)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	public Mono<Boolean> deleteById(final FavouriteId favouriteId) {
+		return this.webClient.method(HttpMethod.DELETE)
+				.uri("/delete")
+				.bodyValue(favouriteId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,9 +1,12 @@
 package com.selimhorri.app.business.order.controller;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.order.model.CartDto;
@@ -21,6 +25,7 @@ import com.selimhorri.app.business.order.service.CartClientService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/carts")
 @RequiredArgsConstructor
 public class CartController {
@@ -32,6 +37,15 @@ public class CartController {
 		return ResponseEntity.ok(this.cartClientService.findAll().getBody());
 	}
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<CartOrderServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after) {
+		return ResponseEntity.ok(this.cartClientService.findAll(page, size, sort, after).getBody());
+	}
+	
 	@GetMapping("/{cartId}")
 	public ResponseEntity<CartDto> findById(
 			@PathVariable("cartId") 
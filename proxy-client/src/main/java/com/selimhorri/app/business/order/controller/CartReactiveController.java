@@ -0,0 +1,99 @@
+package com.selimhorri.app.business.order.controller;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.response.CartOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.service.CartReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/carts")
+@RequiredArgsConstructor
+public class CartReactiveController {
+	
+	private final CartReactiveClientService cartReactiveClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<CartOrderServiceDtoCollectionResponse>> findAll() {
+		return this.cartReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "size")
+	public Mono<ResponseEntity<CartOrderServiceDtoCollectionResponse>> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after) {
+		return this.cartReactiveClientService.findAll(page, size, sort, after)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{cartId}")
+	public Mono<ResponseEntity<CartDto>> findById(
+			@PathVariable("cartId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String cartId) {
+		return this.cartReactiveClientService.findById(cartId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<CartDto>> save(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final CartDto cartDto) {
+		return this.cartReactiveClientService.save(cartDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<CartDto>> update(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final CartDto cartDto) {
+		return this.cartReactiveClientService.update(cartDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping("/{cartId}")
+	public Mono<ResponseEntity<CartDto>> update(
+			@PathVariable("cartId")
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String cartId,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final CartDto cartDto) {
+		return this.cartReactiveClientService.update(cartId, cartDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{cartId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(@PathVariable("cartId") final String cartId) {
+		return this.cartReactiveClientService.deleteById(cartId)
+				.thenReturn(ResponseEntity.ok(true));
+	}
+	
+	
+	
+}
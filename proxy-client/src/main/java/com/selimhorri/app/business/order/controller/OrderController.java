@@ -1,9 +1,12 @@
 package com.selimhorri.app.business.order.controller;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,15 +15,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderPlacementDto;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
 import com.selimhorri.app.business.order.service.OrderClientService;
 
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderController {
@@ -32,6 +38,27 @@ public class OrderController {
 		return ResponseEntity.ok(this.orderClientService.findAll().getBody());
 	}
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after) {
+		return ResponseEntity.ok(this.orderClientService.findAll(page, size, sort, after).getBody());
+	}
+	
+	@GetMapping(params = "cartId")
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAllByCartId(
+			@RequestParam("cartId") final Integer cartId) {
+		return ResponseEntity.ok(this.orderClientService.findAllByCartId(cartId).getBody());
+	}
+	
+	@GetMapping(params = "userId")
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		return ResponseEntity.ok(this.orderClientService.findAllByUserId(userId).getBody());
+	}
+	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") 
@@ -48,6 +75,17 @@ public class OrderController {
 		return ResponseEntity.ok(this.orderClientService.save(orderDto).getBody());
 	}
 	
+	/**
+	 * Single checkout call, order items and payment are created asynchronously behind order-service
+	 */
+	@PostMapping("/place")
+	public ResponseEntity<OrderDto> place(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderPlacementDto orderPlacementDto) {
+		return ResponseEntity.accepted().body(this.orderClientService.place(orderPlacementDto).getBody());
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderDto> update(
 			@RequestBody 
@@ -0,0 +1,126 @@
+package com.selimhorri.app.business.order.controller;
+
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderPlacementDto;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.service.OrderReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderReactiveController {
+	
+	private final OrderReactiveClientService orderReactiveClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<OrderOrderServiceDtoCollectionResponse>> findAll() {
+		return this.orderReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "size")
+	public Mono<ResponseEntity<OrderOrderServiceDtoCollectionResponse>> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after) {
+		return this.orderReactiveClientService.findAll(page, size, sort, after)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "cartId")
+	public Mono<ResponseEntity<OrderOrderServiceDtoCollectionResponse>> findAllByCartId(
+			@RequestParam("cartId") final Integer cartId) {
+		return this.orderReactiveClientService.findAllByCartId(cartId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "userId")
+	public Mono<ResponseEntity<OrderOrderServiceDtoCollectionResponse>> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		return this.orderReactiveClientService.findAllByUserId(userId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{orderId}")
+	public Mono<ResponseEntity<OrderDto>> findById(
+			@PathVariable("orderId") 
+			@NotBlank(message = "Input must not be blank!") 
+			@Valid final String orderId) {
+		return this.orderReactiveClientService.findById(orderId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<OrderDto>> save(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderDto orderDto) {
+		return this.orderReactiveClientService.save(orderDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	/**
+	 * Single checkout call, order items and payment are created asynchronously behind order-service
+	 */
+	@PostMapping("/place")
+	public Mono<ResponseEntity<OrderDto>> place(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderPlacementDto orderPlacementDto) {
+		return this.orderReactiveClientService.place(orderPlacementDto)
+				.map(orderDto -> ResponseEntity.accepted().body(orderDto));
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<OrderDto>> update(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderDto orderDto) {
+		return this.orderReactiveClientService.update(orderDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping("/{orderId}")
+	public Mono<ResponseEntity<OrderDto>> update(
+			@PathVariable("orderId")
+			@NotBlank(message = "Input must not be blank!")
+			@Valid final String orderId,
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderDto orderDto) {
+		return this.orderReactiveClientService.update(orderId, orderDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{orderId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(@PathVariable("orderId") final String orderId) {
+		return this.orderReactiveClientService.deleteById(orderId)
+				.thenReturn(ResponseEntity.ok(true));
+	}
+	
+	
+	
+}
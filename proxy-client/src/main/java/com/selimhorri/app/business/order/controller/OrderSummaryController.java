@@ -0,0 +1,35 @@
+package com.selimhorri.app.business.order.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.order.model.response.OrderSummaryOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.service.OrderSummaryClientService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Order history of a user in one call, served from the order-service summary read model
+ * instead of joining orders, order items and payments at request time
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/order-summaries")
+@RequiredArgsConstructor
+public class OrderSummaryController {
+	
+	private final OrderSummaryClientService orderSummaryClientService;
+	
+	@GetMapping(params = "userId")
+	public ResponseEntity<OrderSummaryOrderServiceDtoCollectionResponse> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		return ResponseEntity.ok(this.orderSummaryClientService.findAllByUserId(userId).getBody());
+	}
+	
+	
+	
+}
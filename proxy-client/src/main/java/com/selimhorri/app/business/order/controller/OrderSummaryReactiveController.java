@@ -0,0 +1,33 @@
+package com.selimhorri.app.business.order.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.order.model.response.OrderSummaryOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.business.order.service.OrderSummaryReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/order-summaries")
+@RequiredArgsConstructor
+public class OrderSummaryReactiveController {
+	
+	private final OrderSummaryReactiveClientService orderSummaryReactiveClientService;
+	
+	@GetMapping(params = "userId")
+	public Mono<ResponseEntity<OrderSummaryOrderServiceDtoCollectionResponse>> findAllByUserId(
+			@RequestParam("userId") final Integer userId) {
+		return this.orderSummaryReactiveClientService.findAllByUserId(userId)
+				.map(ResponseEntity::ok);
+	}
+	
+	
+	
+}
@@ -0,0 +1,38 @@
+package com.selimhorri.app.business.order.model;
+
+import java.io.Serializable;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderLineDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotNull(message = "Input productId must not be NULL")
+	private Integer productId;
+	
+	@NotNull(message = "Input orderedQuantity must not be NULL")
+	@Positive(message = "Input orderedQuantity must be positive")
+	private Integer orderedQuantity;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,48 @@
+package com.selimhorri.app.business.order.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Checkout request, the order lines are handed over to shipping and payment through the outbox, 
+ * a new cart is opened by order-service for the user when no cartId is given
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderPlacementDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer cartId;
+	
+	@NotNull(message = "Input userId must not be NULL")
+	private Integer userId;
+	
+	private String orderDesc;
+	private Double orderFee;
+	
+	@NotEmpty(message = "Input orderLines must not be empty")
+	private List<@Valid OrderLineDto> orderLines;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -3,6 +3,8 @@ package com.selimhorri.app.business.order.model.response;
 import java.io.Serializable;
 import java.util.Collection;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.selimhorri.app.business.order.model.CartDto;
 
 import lombok.AllArgsConstructor;
@@ -19,4 +21,16 @@ public class CartOrderServiceDtoCollectionResponse implements Serializable {
 	private static final long serialVersionUID = 1L;
 	private Collection<CartDto> collection;
 	
+	@JsonInclude(Include.NON_NULL)
+	private Integer page;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Integer size;
+	
+	@JsonInclude(Include.NON_NULL)
+	private Boolean hasNext;
+	
+	@JsonInclude(Include.NON_NULL)
+	private String nextCursor;
+	
 }
@@ -0,0 +1,97 @@
+package com.selimhorri.app.business.order.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.order.model.CartDto;
+import com.selimhorri.app.business.order.model.response.CartOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link CartClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class CartReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public CartReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/carts")
+				.build();
+	}
+	
+	public Mono<CartOrderServiceDtoCollectionResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(CartOrderServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<CartOrderServiceDtoCollectionResponse> findAll(final Integer page, final Integer size, final List<String> sort, final Integer after) {
+		return this.webClient.get()
+				.uri(u -> u
+						.queryParamIfPresent("page", Optional.ofNullable(page))
+						.queryParam("size", size)
+						.queryParamIfPresent("sort", Optional.ofNullable(sort))
+						.queryParamIfPresent("after", Optional.ofNullable(after))
+						.build())
+				.retrieve()
+				.bodyToMono(CartOrderServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<CartDto> findById(final String cartId) {
+		return this.webClient.get()
+				.uri("/{cartId}", cartId)
+				.retrieve()
+				.bodyToMono(CartDto.class);
+	}
+	
+	public Mono<CartDto> save(final CartDto cartDto) {
+		return this.webClient.post()
+				.bodyValue(cartDto)
+				.retrieve()
+				.bodyToMono(CartDto.class);
+	}
+	
+	public Mono<CartDto> update(final CartDto cartDto) {
+		return this.webClient.put()
+				.bodyValue(cartDto)
+				.retrieve()
+				.bodyToMono(CartDto.class);
+	}
+	
+	public Mono<CartDto> update(final String cartId, final CartDto cartDto) {
+		return this.webClient.put()
+				.uri("/{cartId}", cartId)
+				.bodyValue(cartDto)
+				.retrieve()
+				.bodyToMono(CartDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String cartId) {
+		return this.webClient.delete()
+				.uri("/{cartId}", cartId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
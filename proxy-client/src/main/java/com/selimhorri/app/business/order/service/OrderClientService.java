@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.order.service;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,8 +14,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderPlacementDto;
 import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
 
 @FeignClient(name = "ORDER-SERVICE", contextId = "orderClientService", path = "/order-service/api/orders")
@@ -22,6 +26,21 @@ public interface OrderClientService {
 	@GetMapping
 	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll();
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after);
+	
+	@GetMapping(params = "cartId")
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAllByCartId(
+			@RequestParam("cartId") final Integer cartId);
+	
+	@GetMapping(params = "userId")
+	public ResponseEntity<OrderOrderServiceDtoCollectionResponse> findAllByUserId(
+			@RequestParam("userId") final Integer userId);
+	
 	@GetMapping("/{orderId}")
 	public ResponseEntity<OrderDto> findById(
 			@PathVariable("orderId") 
@@ -34,6 +53,12 @@ public interface OrderClientService {
 			@NotNull(message = "Input must not be NULL!") 
 			@Valid final OrderDto orderDto);
 	
+	@PostMapping("/place")
+	public ResponseEntity<OrderDto> place(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL!") 
+			@Valid final OrderPlacementDto orderPlacementDto);
+	
 	@PutMapping
 	public ResponseEntity<OrderDto> update(
 			@RequestBody 
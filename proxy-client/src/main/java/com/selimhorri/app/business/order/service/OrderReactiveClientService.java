@@ -0,0 +1,120 @@
+package com.selimhorri.app.business.order.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.model.OrderPlacementDto;
+import com.selimhorri.app.business.order.model.response.OrderOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link OrderClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class OrderReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public OrderReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/orders")
+				.build();
+	}
+	
+	public Mono<OrderOrderServiceDtoCollectionResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(OrderOrderServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<OrderOrderServiceDtoCollectionResponse> findAll(final Integer page, final Integer size, final List<String> sort, final Integer after) {
+		return this.webClient.get()
+				.uri(u -> u
+						.queryParamIfPresent("page", Optional.ofNullable(page))
+						.queryParam("size", size)
+						.queryParamIfPresent("sort", Optional.ofNullable(sort))
+						.queryParamIfPresent("after", Optional.ofNullable(after))
+						.build())
+				.retrieve()
+				.bodyToMono(OrderOrderServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<OrderOrderServiceDtoCollectionResponse> findAllByCartId(final Integer cartId) {
+		return this.webClient.get()
+				.uri(u -> u.queryParam("cartId", cartId).build())
+				.retrieve()
+				.bodyToMono(OrderOrderServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<OrderOrderServiceDtoCollectionResponse> findAllByUserId(final Integer userId) {
+		return this.webClient.get()
+				.uri(u -> u.queryParam("userId", userId).build())
+				.retrieve()
+				.bodyToMono(OrderOrderServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<OrderDto> findById(final String orderId) {
+		return this.webClient.get()
+				.uri("/{orderId}", orderId)
+				.retrieve()
+				.bodyToMono(OrderDto.class);
+	}
+	
+	public Mono<OrderDto> save(final OrderDto orderDto) {
+		return this.webClient.post()
+				.bodyValue(orderDto)
+				.retrieve()
+				.bodyToMono(OrderDto.class);
+	}
+	
+	public Mono<OrderDto> place(final OrderPlacementDto orderPlacementDto) {
+		return this.webClient.post()
+				.uri("/place")
+				.bodyValue(orderPlacementDto)
+				.retrieve()
+				.bodyToMono(OrderDto.class);
+	}
+	
+	public Mono<OrderDto> update(final OrderDto orderDto) {
+		return this.webClient.put()
+				.bodyValue(orderDto)
+				.retrieve()
+				.bodyToMono(OrderDto.class);
+	}
+	
+	public Mono<OrderDto> update(final String orderId, final OrderDto orderDto) {
+		return this.webClient.put()
+				.uri("/{orderId}", orderId)
+				.bodyValue(orderDto)
+				.retrieve()
+				.bodyToMono(OrderDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String orderId) {
+		return this.webClient.delete()
+				.uri("/{orderId}", orderId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,17 @@
+package com.selimhorri.app.business.order.service;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.selimhorri.app.business.order.model.response.OrderSummaryOrderServiceDtoCollectionResponse;
+
+@FeignClient(name = "ORDER-SERVICE", contextId = "orderSummaryClientService", path = "/order-service/api/order-summaries")
+public interface OrderSummaryClientService {
+	
+	@GetMapping(params = "userId")
+	public ResponseEntity<OrderSummaryOrderServiceDtoCollectionResponse> findAllByUserId(
+			@RequestParam("userId") final Integer userId);
+	
+}
@@ -0,0 +1,36 @@
+package com.selimhorri.app.business.order.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.order.model.response.OrderSummaryOrderServiceDtoCollectionResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link OrderSummaryClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class OrderSummaryReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public OrderSummaryReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_HOST + "/api/order-summaries")
+				.build();
+	}
+	
+	public Mono<OrderSummaryOrderServiceDtoCollectionResponse> findAllByUserId(final Integer userId) {
+		return this.webClient.get()
+				.uri(u -> u.queryParam("userId", userId).build())
+				.retrieve()
+				.bodyToMono(OrderSummaryOrderServiceDtoCollectionResponse.class);
+	}
+	
+	
+	
+}
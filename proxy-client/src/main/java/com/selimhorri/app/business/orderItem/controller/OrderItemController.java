@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.orderItem.controller;
 
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.orderItem.model.OrderItemDto;
@@ -18,6 +22,7 @@ import com.selimhorri.app.business.orderItem.service.OrderItemClientService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/shippings")
 @RequiredArgsConstructor
 public class OrderItemController {
@@ -29,6 +34,15 @@ public class OrderItemController {
 		return ResponseEntity.ok(this.orderItemClientService.findAll().getBody());
 	}
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final String after) {
+		return ResponseEntity.ok(this.orderItemClientService.findAll(page, size, sort, after).getBody());
+	}
+	
 	@GetMapping("/{orderId}/{productId}")
 	public ResponseEntity<OrderItemDto> findById(
 			@PathVariable("orderId") final String orderId, 
@@ -47,6 +61,11 @@ public class OrderItemController {
 		return ResponseEntity.ok(this.orderItemClientService.save(orderItemDto).getBody());
 	}
 	
+	@PostMapping("/batch")
+	public ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> saveAll(@RequestBody final List<OrderItemDto> orderItemDtos) {
+		return ResponseEntity.ok(this.orderItemClientService.saveAll(orderItemDtos).getBody());
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderItemDto> update(@RequestBody final OrderItemDto orderItemDto) {
 		return ResponseEntity.ok(this.orderItemClientService.update(orderItemDto).getBody());
@@ -0,0 +1,109 @@
+package com.selimhorri.app.business.orderItem.controller;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.model.OrderItemId;
+import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
+import com.selimhorri.app.business.orderItem.service.OrderItemReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/shippings")
+@RequiredArgsConstructor
+public class OrderItemReactiveController {
+	
+	private final OrderItemReactiveClientService orderItemReactiveClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse>> findAll() {
+		return this.orderItemReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "size")
+	public Mono<ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse>> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final String after) {
+		return this.orderItemReactiveClientService.findAll(page, size, sort, after)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{orderId}/{productId}")
+	public Mono<ResponseEntity<OrderItemDto>> findById(
+			@PathVariable("orderId") final String orderId, 
+			@PathVariable("productId") final String productId) {
+		return this.orderItemReactiveClientService.findById(new OrderItemId(Integer.parseInt(productId), 
+				Integer.parseInt(orderId)))
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/find")
+	public Mono<ResponseEntity<OrderItemDto>> findById(@RequestBody final OrderItemId orderItemId) {
+		return this.orderItemReactiveClientService.findById(orderItemId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<OrderItemDto>> save(@RequestBody final OrderItemDto orderItemDto) {
+		return this.orderItemReactiveClientService.save(orderItemDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping("/batch")
+	public Mono<ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse>> saveAll(@RequestBody final List<OrderItemDto> orderItemDtos) {
+		return this.orderItemReactiveClientService.saveAll(orderItemDtos)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<OrderItemDto>> update(@RequestBody final OrderItemDto orderItemDto) {
+		return this.orderItemReactiveClientService.update(orderItemDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{orderId}/{productId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(
+			@PathVariable("orderId") final String orderId, 
+			@PathVariable("productId") final String productId) {
+		return this.orderItemReactiveClientService.deleteById(new OrderItemId(Integer.parseInt(orderId), 
+				Integer.parseInt(productId)))
+				.thenReturn(ResponseEntity.ok(true));
+	}
+	
+	@DeleteMapping("/delete")
+	public Mono<ResponseEntity<Boolean>> deleteById(@RequestBody final OrderItemId orderItemId) {
+		return this.orderItemReactiveClientService.deleteById(orderItemId)
+				.thenReturn(ResponseEntity.ok(true));
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
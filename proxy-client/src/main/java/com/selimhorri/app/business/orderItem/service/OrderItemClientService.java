@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.orderItem.service;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.orderItem.model.OrderItemDto;
 import com.selimhorri.app.business.orderItem.model.OrderItemId;
@@ -22,6 +25,13 @@ public interface OrderItemClientService {
 	@GetMapping
 	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAll();
 	
+	@GetMapping(params = "size")
+	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final String after);
+	
 	@GetMapping("/{orderId}/{productId}")
 	ResponseEntity<OrderItemDto> findById(
 			@PathVariable("orderId") final String orderId, 
@@ -39,6 +49,12 @@ public interface OrderItemClientService {
 			@NotNull(message = "Input must not be NULL") 
 			@Valid final OrderItemDto orderItemDto);
 	
+	@PostMapping("/batch")
+	ResponseEntity<OrderItemOrderItemServiceDtoCollectionResponse> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<OrderItemDto> orderItemDtos);
+	
 	@PutMapping
 	ResponseEntity<OrderItemDto> update(
 			@RequestBody 
@@ -0,0 +1,115 @@
+package com.selimhorri.app.business.orderItem.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.orderItem.model.OrderItemDto;
+import com.selimhorri.app.business.orderItem.model.OrderItemId;
+import com.selimhorri.app.business.orderItem.model.response.OrderItemOrderItemServiceDtoCollectionResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link OrderItemClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class OrderItemReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public OrderItemReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.SHIPPING_SERVICE_HOST + "/api/shippings")
+				.build();
+	}
+	
+	public Mono<OrderItemOrderItemServiceDtoCollectionResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(OrderItemOrderItemServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<OrderItemOrderItemServiceDtoCollectionResponse> findAll(final Integer page, final Integer size, final List<String> sort, final String after) {
+		return this.webClient.get()
+				.uri(u -> u
+						.queryParamIfPresent("page", Optional.ofNullable(page))
+						.queryParam("size", size)
+						.queryParamIfPresent("sort", Optional.ofNullable(sort))
+						.queryParamIfPresent("after", Optional.ofNullable(after))
+						.build())
+				.retrieve()
+				.bodyToMono(OrderItemOrderItemServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<OrderItemDto> findById(final String orderId, final String productId) {
+		return this.webClient.get()
+				.uri("/{orderId}/{productId}", orderId, productId)
+				.retrieve()
+				.bodyToMono(OrderItemDto.class);
+	}
+	
+	public Mono<OrderItemDto> findById(final OrderItemId orderItemId) {
+		return this.webClient.method(HttpMethod.GET)
+				.uri("/find")
+				.bodyValue(orderItemId)
+				.retrieve()
+				.bodyToMono(OrderItemDto.class);
+	}
+	
+	public Mono<OrderItemDto> save(final OrderItemDto orderItemDto) {
+		return this.webClient.post()
+				.bodyValue(orderItemDto)
+				.retrieve()
+				.bodyToMono(OrderItemDto.class);
+	}
+	
+	public Mono<OrderItemOrderItemServiceDtoCollectionResponse> saveAll(final List<OrderItemDto> orderItemDtos) {
+		return this.webClient.post()
+				.uri("/batch")
+				.bodyValue(orderItemDtos)
+				.retrieve()
+				.bodyToMono(OrderItemOrderItemServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<OrderItemDto> update(final OrderItemDto orderItemDto) {
+		return this.webClient.put()
+				.bodyValue(orderItemDto)
+				.retrieve()
+				.bodyToMono(OrderItemDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String orderId, final String productId) {
+		return this.webClient.delete()
+				.uri("/{orderId}/{productId}", orderId, productId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	public Mono<Boolean> deleteById(final OrderItemId orderItemId) {
+		return this.webClient.method(HttpMethod.DELETE)
+				.uri("/delete")
+				.bodyValue(orderItemId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.payment.controller;
 
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.payment.model.PaymentDto;
@@ -17,6 +21,7 @@ import com.selimhorri.app.business.payment.service.PaymentClientService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/payments")
 @RequiredArgsConstructor
 public class PaymentController {
@@ -28,6 +33,21 @@ public class PaymentController {
 		return ResponseEntity.ok(this.paymentClientService.findAll().getBody());
 	}
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after) {
+		return ResponseEntity.ok(this.paymentClientService.findAll(page, size, sort, after).getBody());
+	}
+	
+	@GetMapping(params = "orderId")
+	public ResponseEntity<PaymentPaymentServiceDtoCollectionResponse> findAllByOrderId(
+			@RequestParam("orderId") final Integer orderId) {
+		return ResponseEntity.ok(this.paymentClientService.findAllByOrderId(orderId).getBody());
+	}
+	
 	@GetMapping("/{paymentId}")
 	public ResponseEntity<PaymentDto> findById(@PathVariable("paymentId") final String paymentId) {
 		return ResponseEntity.ok(this.paymentClientService.findById(paymentId).getBody());
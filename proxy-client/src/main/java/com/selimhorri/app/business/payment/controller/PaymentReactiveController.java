@@ -0,0 +1,91 @@
+package com.selimhorri.app.business.payment.controller;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
+import com.selimhorri.app.business.payment.service.PaymentReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/payments")
+@RequiredArgsConstructor
+public class PaymentReactiveController {
+	
+	private final PaymentReactiveClientService paymentReactiveClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<PaymentPaymentServiceDtoCollectionResponse>> findAll() {
+		return this.paymentReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "size")
+	public Mono<ResponseEntity<PaymentPaymentServiceDtoCollectionResponse>> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after) {
+		return this.paymentReactiveClientService.findAll(page, size, sort, after)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "orderId")
+	public Mono<ResponseEntity<PaymentPaymentServiceDtoCollectionResponse>> findAllByOrderId(
+			@RequestParam("orderId") final Integer orderId) {
+		return this.paymentReactiveClientService.findAllByOrderId(orderId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{paymentId}")
+	public Mono<ResponseEntity<PaymentDto>> findById(@PathVariable("paymentId") final String paymentId) {
+		return this.paymentReactiveClientService.findById(paymentId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<PaymentDto>> save(@RequestBody final PaymentDto paymentDto) {
+		return this.paymentReactiveClientService.save(paymentDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<PaymentDto>> update(@RequestBody final PaymentDto paymentDto) {
+		return this.paymentReactiveClientService.update(paymentDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{paymentId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(@PathVariable("paymentId") final String paymentId) {
+		return this.paymentReactiveClientService.deleteById(paymentId)
+				.map(ResponseEntity::ok);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
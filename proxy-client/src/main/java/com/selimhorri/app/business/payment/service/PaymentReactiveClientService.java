@@ -0,0 +1,96 @@
+package com.selimhorri.app.business.payment.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.payment.model.PaymentDto;
+import com.selimhorri.app.business.payment.model.response.PaymentPaymentServiceDtoCollectionResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link PaymentClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class PaymentReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public PaymentReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.PAYMENT_SERVICE_HOST + "/api/payments")
+				.build();
+	}
+	
+	public Mono<PaymentPaymentServiceDtoCollectionResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(PaymentPaymentServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<PaymentPaymentServiceDtoCollectionResponse> findAll(final Integer page, final Integer size, final List<String> sort, final Integer after) {
+		return this.webClient.get()
+				.uri(u -> u
+						.queryParamIfPresent("page", Optional.ofNullable(page))
+						.queryParam("size", size)
+						.queryParamIfPresent("sort", Optional.ofNullable(sort))
+						.queryParamIfPresent("after", Optional.ofNullable(after))
+						.build())
+				.retrieve()
+				.bodyToMono(PaymentPaymentServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<PaymentPaymentServiceDtoCollectionResponse> findAllByOrderId(final Integer orderId) {
+		return this.webClient.get()
+				.uri(u -> u.queryParam("orderId", orderId).build())
+				.retrieve()
+				.bodyToMono(PaymentPaymentServiceDtoCollectionResponse.class);
+	}
+	
+	public Mono<PaymentDto> findById(final String paymentId) {
+		return this.webClient.get()
+				.uri("/{paymentId}", paymentId)
+				.retrieve()
+				.bodyToMono(PaymentDto.class);
+	}
+	
+	public Mono<PaymentDto> save(final PaymentDto paymentDto) {
+		return this.webClient.post()
+				.bodyValue(paymentDto)
+				.retrieve()
+				.bodyToMono(PaymentDto.class);
+	}
+	
+	public Mono<PaymentDto> update(final PaymentDto paymentDto) {
+		return this.webClient.put()
+				.bodyValue(paymentDto)
+				.retrieve()
+				.bodyToMono(PaymentDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String paymentId) {
+		return this.webClient.delete()
+				.uri("/{paymentId}", paymentId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
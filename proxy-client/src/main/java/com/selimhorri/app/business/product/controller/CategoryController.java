@@ -1,5 +1,6 @@
 package com.selimhorri.app.business.product.controller;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,6 +18,7 @@ import com.selimhorri.app.business.product.service.CategoryClientService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/categories")
 @RequiredArgsConstructor
 public class CategoryController {
@@ -0,0 +1,78 @@
+package com.selimhorri.app.business.product.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.service.CategoryReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/categories")
+@RequiredArgsConstructor
+public class CategoryReactiveController {
+	
+	private final CategoryReactiveClientService categoryReactiveClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<CategoryProductServiceCollectionDtoResponse>> findAll() {
+		return this.categoryReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{categoryId}")
+	public Mono<ResponseEntity<CategoryDto>> findById(@PathVariable("categoryId") final String categoryId) {
+		return this.categoryReactiveClientService.findById(categoryId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<CategoryDto>> save(@RequestBody final CategoryDto categoryDto) {
+		return this.categoryReactiveClientService.save(categoryDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<CategoryDto>> update(@RequestBody final CategoryDto categoryDto) {
+		return this.categoryReactiveClientService.update(categoryDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping("/{categoryId}")
+	public Mono<ResponseEntity<CategoryDto>> update(@PathVariable("categoryId") final String categoryId, 
+			@RequestBody final CategoryDto categoryDto) {
+		return this.categoryReactiveClientService.update(categoryId, categoryDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{categoryId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(@PathVariable("categoryId") final String categoryId) {
+		return this.categoryReactiveClientService.deleteById(categoryId)
+				.map(ResponseEntity::ok);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
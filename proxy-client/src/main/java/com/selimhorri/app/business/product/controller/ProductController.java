@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.product.controller;
 
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,15 +11,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductSearchResponse;
 import com.selimhorri.app.business.product.service.ProductClientService;
 
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
@@ -28,6 +34,25 @@ public class ProductController {
 		return ResponseEntity.ok(this.productClientService.findAll().getBody());
 	}
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after) {
+		return ResponseEntity.ok(this.productClientService.findAll(page, size, sort, after).getBody());
+	}
+	
+	@GetMapping("/search")
+	public ResponseEntity<ProductSearchResponse> search(
+			@RequestParam(value = "q", required = false) final String q, 
+			@RequestParam(value = "categoryId", required = false) final Integer categoryId, 
+			@RequestParam(value = "minPrice", required = false) final Double minPrice, 
+			@RequestParam(value = "maxPrice", required = false) final Double maxPrice, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return ResponseEntity.ok(this.productClientService.search(q, categoryId, minPrice, maxPrice, limit).getBody());
+	}
+	
 	@GetMapping("/{productId}")
 	public ResponseEntity<ProductDto> findById(@PathVariable("productId") final String productId) {
 		return ResponseEntity.ok(this.productClientService.findById(productId).getBody());
@@ -0,0 +1,103 @@
+package com.selimhorri.app.business.product.controller;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductSearchResponse;
+import com.selimhorri.app.business.product.service.ProductReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class ProductReactiveController {
+	
+	private final ProductReactiveClientService productReactiveClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<ProductProductServiceCollectionDtoResponse>> findAll() {
+		return this.productReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "size")
+	public Mono<ResponseEntity<ProductProductServiceCollectionDtoResponse>> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after) {
+		return this.productReactiveClientService.findAll(page, size, sort, after)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/search")
+	public Mono<ResponseEntity<ProductSearchResponse>> search(
+			@RequestParam(value = "q", required = false) final String q, 
+			@RequestParam(value = "categoryId", required = false) final Integer categoryId, 
+			@RequestParam(value = "minPrice", required = false) final Double minPrice, 
+			@RequestParam(value = "maxPrice", required = false) final Double maxPrice, 
+			@RequestParam(value = "limit", required = false) final Integer limit) {
+		return this.productReactiveClientService.search(q, categoryId, minPrice, maxPrice, limit)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{productId}")
+	public Mono<ResponseEntity<ProductDto>> findById(@PathVariable("productId") final String productId) {
+		return this.productReactiveClientService.findById(productId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<ProductDto>> save(@RequestBody final ProductDto productDto) {
+		return this.productReactiveClientService.save(productDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<ProductDto>> update(@RequestBody final ProductDto productDto) {
+		return this.productReactiveClientService.update(productDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping("/{productId}")
+	public Mono<ResponseEntity<ProductDto>> update(@PathVariable("productId") final String productId, 
+			@RequestBody final ProductDto productDto) {
+		return this.productReactiveClientService.update(productId, productDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{productId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(@PathVariable("productId") final String productId) {
+		return this.productReactiveClientService.deleteById(productId)
+				.map(ResponseEntity::ok);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,21 @@
+package com.selimhorri.app.business.product.model;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CategoryFacetDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private Integer categoryId;
+	private String categoryTitle;
+	private Long count;
+	
+}
@@ -0,0 +1,24 @@
+package com.selimhorri.app.business.product.model;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductSearchHitDto implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private Float score;
+	
+	@JsonProperty("product")
+	private ProductDto productDto;
+	
+}
@@ -0,0 +1,25 @@
+package com.selimhorri.app.business.product.model.response;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.selimhorri.app.business.product.model.CategoryFacetDto;
+import com.selimhorri.app.business.product.model.ProductSearchHitDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class ProductSearchResponse implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	private List<ProductSearchHitDto> hits;
+	private Long total;
+	private List<CategoryFacetDto> categoryFacets;
+	
+}
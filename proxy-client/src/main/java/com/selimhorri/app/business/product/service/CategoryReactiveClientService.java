@@ -0,0 +1,82 @@
+package com.selimhorri.app.business.product.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.product.model.CategoryDto;
+import com.selimhorri.app.business.product.model.response.CategoryProductServiceCollectionDtoResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link CategoryClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class CategoryReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public CategoryReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_HOST + "/api/categories")
+				.build();
+	}
+	
+	public Mono<CategoryProductServiceCollectionDtoResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(CategoryProductServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<CategoryDto> findById(final String categoryId) {
+		return this.webClient.get()
+				.uri("/{categoryId}", categoryId)
+				.retrieve()
+				.bodyToMono(CategoryDto.class);
+	}
+	
+	public Mono<CategoryDto> save(final CategoryDto categoryDto) {
+		return this.webClient.post()
+				.bodyValue(categoryDto)
+				.retrieve()
+				.bodyToMono(CategoryDto.class);
+	}
+	
+	public Mono<CategoryDto> update(final CategoryDto categoryDto) {
+		return this.webClient.put()
+				.bodyValue(categoryDto)
+				.retrieve()
+				.bodyToMono(CategoryDto.class);
+	}
+	
+	public Mono<CategoryDto> update(final String categoryId, final CategoryDto categoryDto) {
+		return this.webClient.put()
+				.uri("/{categoryId}", categoryId)
+				.bodyValue(categoryDto)
+				.retrieve()
+				.bodyToMono(CategoryDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String categoryId) {
+		return this.webClient.delete()
+				.uri("/{categoryId}", categoryId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.product.service;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,9 +14,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.product.model.ProductDto;
 import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductSearchResponse;
 
 @FeignClient(name = "PRODUCT-SERVICE", contextId = "productClientService", path = "/product-service/api/products")
 public interface ProductClientService {
@@ -22,6 +26,21 @@ public interface ProductClientService {
 	@GetMapping
 	ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll();
 	
+	@GetMapping(params = "size")
+	ResponseEntity<ProductProductServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after);
+	
+	@GetMapping("/search")
+	ResponseEntity<ProductSearchResponse> search(
+			@RequestParam(value = "q", required = false) final String q, 
+			@RequestParam(value = "categoryId", required = false) final Integer categoryId, 
+			@RequestParam(value = "minPrice", required = false) final Double minPrice, 
+			@RequestParam(value = "maxPrice", required = false) final Double maxPrice, 
+			@RequestParam(value = "limit", required = false) final Integer limit);
+	
 	@GetMapping("/{productId}")
 	ResponseEntity<ProductDto> findById(
 			@PathVariable("productId") 
@@ -0,0 +1,114 @@
+package com.selimhorri.app.business.product.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.product.model.ProductDto;
+import com.selimhorri.app.business.product.model.response.ProductProductServiceCollectionDtoResponse;
+import com.selimhorri.app.business.product.model.response.ProductSearchResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ProductClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class ProductReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public ProductReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_HOST + "/api/products")
+				.build();
+	}
+	
+	public Mono<ProductProductServiceCollectionDtoResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(ProductProductServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<ProductProductServiceCollectionDtoResponse> findAll(final Integer page, final Integer size, final List<String> sort, final Integer after) {
+		return this.webClient.get()
+				.uri(u -> u
+						.queryParamIfPresent("page", Optional.ofNullable(page))
+						.queryParam("size", size)
+						.queryParamIfPresent("sort", Optional.ofNullable(sort))
+						.queryParamIfPresent("after", Optional.ofNullable(after))
+						.build())
+				.retrieve()
+				.bodyToMono(ProductProductServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<ProductSearchResponse> search(final String q, final Integer categoryId, final Double minPrice, final Double maxPrice, final Integer limit) {
+		return this.webClient.get()
+				.uri(u -> u
+						.path("/search")
+						// free text, expanded as a variable so it is encoded as a whole query value
+						.queryParamIfPresent("q", Optional.ofNullable(q).map(value -> "{q}"))
+						.queryParamIfPresent("categoryId", Optional.ofNullable(categoryId))
+						.queryParamIfPresent("minPrice", Optional.ofNullable(minPrice))
+						.queryParamIfPresent("maxPrice", Optional.ofNullable(maxPrice))
+						.queryParamIfPresent("limit", Optional.ofNullable(limit))
+						.build(Collections.singletonMap("q", q)))
+				.retrieve()
+				.bodyToMono(ProductSearchResponse.class);
+	}
+	
+	public Mono<ProductDto> findById(final String productId) {
+		return this.webClient.get()
+				.uri("/{productId}", productId)
+				.retrieve()
+				.bodyToMono(ProductDto.class);
+	}
+	
+	public Mono<ProductDto> save(final ProductDto productDto) {
+		return this.webClient.post()
+				.bodyValue(productDto)
+				.retrieve()
+				.bodyToMono(ProductDto.class);
+	}
+	
+	public Mono<ProductDto> update(final ProductDto productDto) {
+		return this.webClient.put()
+				.bodyValue(productDto)
+				.retrieve()
+				.bodyToMono(ProductDto.class);
+	}
+	
+	public Mono<ProductDto> update(final String productId, final ProductDto productDto) {
+		return this.webClient.put()
+				.uri("/{productId}", productId)
+				.bodyValue(productDto)
+				.retrieve()
+				.bodyToMono(ProductDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String productId) {
+		return this.webClient.delete()
+				.uri("/{productId}", productId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
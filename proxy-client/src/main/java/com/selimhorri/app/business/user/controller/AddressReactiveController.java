@@ -0,0 +1,77 @@
+package com.selimhorri.app.business.user.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.user.model.AddressDto;
+import com.selimhorri.app.business.user.model.response.AddressUserServiceCollectionDtoResponse;
+import com.selimhorri.app.business.user.service.AddressReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/address")
+@RequiredArgsConstructor
+public class AddressReactiveController {
+	
+	private final AddressReactiveClientService addressReactiveClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<AddressUserServiceCollectionDtoResponse>> findAll() {
+		return this.addressReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{addressId}")
+	public Mono<ResponseEntity<AddressDto>> findById(@PathVariable("addressId") final String addressId) {
+		return this.addressReactiveClientService.findById(addressId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<AddressDto>> save(@RequestBody final AddressDto addressDto) {
+		return this.addressReactiveClientService.save(addressDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<AddressDto>> update(@RequestBody final AddressDto addressDto) {
+		return this.addressReactiveClientService.update(addressDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping("/{addressId}")
+	public Mono<ResponseEntity<AddressDto>> update(@PathVariable("addressId") final String addressId, @RequestBody final AddressDto addressDto) {
+		return this.addressReactiveClientService.update(addressDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{addressId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(@PathVariable("addressId") final String addressId) {
+		return this.addressReactiveClientService.deleteById(addressId)
+				.map(ResponseEntity::ok);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
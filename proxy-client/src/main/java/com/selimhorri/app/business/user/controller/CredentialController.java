@@ -1,5 +1,6 @@
 package com.selimhorri.app.business.user.controller;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
 import com.selimhorri.app.business.user.model.CredentialDto;
 import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
 import com.selimhorri.app.business.user.service.CredentialClientService;
@@ -17,11 +19,13 @@ import com.selimhorri.app.business.user.service.CredentialClientService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/credentials")
 @RequiredArgsConstructor
 public class CredentialController {
 	
 	private final CredentialClientService credentialClientService;
+	private final CredentialCacheService credentialCacheService;
 	
 	@GetMapping
 	public ResponseEntity<CredentialUserServiceCollectionDtoResponse> findAll() {
@@ -45,17 +49,34 @@ public class CredentialController {
 	
 	@PutMapping
 	public ResponseEntity<CredentialDto> update(@RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final CredentialDto updated = this.credentialClientService.update(credentialDto).getBody();
+		this.evict(credentialDto);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@PutMapping("/{credentialId}")
 	public ResponseEntity<CredentialDto> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
-		return ResponseEntity.ok(this.credentialClientService.update(credentialDto).getBody());
+		final CredentialDto updated = this.credentialClientService.update(credentialDto).getBody();
+		this.credentialCacheService.evictByCredentialId(Integer.parseInt(credentialId.strip()));
+		this.evict(credentialDto);
+		return ResponseEntity.ok(updated);
 	}
 	
 	@DeleteMapping("/{credentialId}")
 	public ResponseEntity<Boolean> deleteById(@PathVariable("credentialId") final String credentialId) {
-		return ResponseEntity.ok(this.credentialClientService.deleteById(credentialId).getBody());
+		final Boolean deleted = this.credentialClientService.deleteById(credentialId).getBody();
+		this.credentialCacheService.evictByCredentialId(Integer.parseInt(credentialId.strip()));
+		return ResponseEntity.ok(deleted);
+	}
+	
+	/**
+	 * A renamed credential is cached under its former username, the id covers that case
+	 */
+	private void evict(final CredentialDto credentialDto) {
+		if (credentialDto.getCredentialId() != null)
+			this.credentialCacheService.evictByCredentialId(credentialDto.getCredentialId());
+		if (credentialDto.getUsername() != null)
+			this.credentialCacheService.evict(credentialDto.getUsername());
 	}
 	
 	
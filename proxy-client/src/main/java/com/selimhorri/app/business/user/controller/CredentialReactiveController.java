@@ -0,0 +1,101 @@
+package com.selimhorri.app.business.user.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.auth.service.CredentialCacheService;
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
+import com.selimhorri.app.business.user.service.CredentialReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/credentials")
+@RequiredArgsConstructor
+public class CredentialReactiveController {
+	
+	private final CredentialReactiveClientService credentialReactiveClientService;
+	private final CredentialCacheService credentialCacheService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<CredentialUserServiceCollectionDtoResponse>> findAll() {
+		return this.credentialReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{credentialId}")
+	public Mono<ResponseEntity<CredentialDto>> findById(@PathVariable("credentialId") final String credentialId) {
+		return this.credentialReactiveClientService.findById(credentialId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/username/{username}")
+	public Mono<ResponseEntity<CredentialDto>> findByCredentialname(@PathVariable("username") final String username) {
+		return this.credentialReactiveClientService.findByUsername(username)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<CredentialDto>> save(@RequestBody final CredentialDto credentialDto) {
+		return this.credentialReactiveClientService.save(credentialDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<CredentialDto>> update(@RequestBody final CredentialDto credentialDto) {
+		return this.credentialReactiveClientService.update(credentialDto)
+				.doOnSuccess(updated -> this.evict(credentialDto))
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping("/{credentialId}")
+	public Mono<ResponseEntity<CredentialDto>> update(@PathVariable("credentialId") final String credentialId, @RequestBody final CredentialDto credentialDto) {
+		return this.credentialReactiveClientService.update(credentialDto)
+				.doOnSuccess(updated -> {
+					this.credentialCacheService.evictByCredentialId(Integer.parseInt(credentialId.strip()));
+					this.evict(credentialDto);
+				})
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{credentialId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(@PathVariable("credentialId") final String credentialId) {
+		return this.credentialReactiveClientService.deleteById(credentialId)
+				.doOnSuccess(deleted -> this.credentialCacheService.evictByCredentialId(Integer.parseInt(credentialId.strip())))
+				.map(ResponseEntity::ok);
+	}
+	
+	/**
+	 * A renamed credential is cached under its former username, the id covers that case
+	 */
+	private void evict(final CredentialDto credentialDto) {
+		if (credentialDto.getCredentialId() != null)
+			this.credentialCacheService.evictByCredentialId(credentialDto.getCredentialId());
+		if (credentialDto.getUsername() != null)
+			this.credentialCacheService.evict(credentialDto.getUsername());
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
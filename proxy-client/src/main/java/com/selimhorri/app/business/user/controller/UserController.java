@@ -1,5 +1,8 @@
 package com.selimhorri.app.business.user.controller;
 
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -8,6 +11,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.business.user.model.UserDto;
@@ -17,6 +21,7 @@ import com.selimhorri.app.business.user.service.UserClientService;
 import lombok.RequiredArgsConstructor;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
 public class UserController {
@@ -28,6 +33,15 @@ public class UserController {
 		return ResponseEntity.ok(this.userClientService.findAll().getBody());
 	}
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<UserUserServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after) {
+		return ResponseEntity.ok(this.userClientService.findAll(page, size, sort, after).getBody());
+	}
+	
 	@GetMapping("/{userId}")
 	public ResponseEntity<UserDto> findById(@PathVariable("userId") final String userId) {
 		return ResponseEntity.ok(this.userClientService.findById(userId).getBody());
@@ -0,0 +1,96 @@
+package com.selimhorri.app.business.user.controller;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
+import com.selimhorri.app.business.user.service.UserReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserReactiveController {
+	
+	private final UserReactiveClientService userReactiveClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<UserUserServiceCollectionDtoResponse>> findAll() {
+		return this.userReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping(params = "size")
+	public Mono<ResponseEntity<UserUserServiceCollectionDtoResponse>> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after) {
+		return this.userReactiveClientService.findAll(page, size, sort, after)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{userId}")
+	public Mono<ResponseEntity<UserDto>> findById(@PathVariable("userId") final String userId) {
+		return this.userReactiveClientService.findById(userId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/username/{username}")
+	public Mono<ResponseEntity<UserDto>> findByUsername(@PathVariable("username") final String username) {
+		return this.userReactiveClientService.findByUsername(username)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<UserDto>> save(@RequestBody final UserDto userDto) {
+		return this.userReactiveClientService.save(userDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<UserDto>> update(@RequestBody final UserDto userDto) {
+		return this.userReactiveClientService.update(userDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping("/{userId}")
+	public Mono<ResponseEntity<UserDto>> update(@PathVariable("userId") final String userId, @RequestBody final UserDto userDto) {
+		return this.userReactiveClientService.update(userDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{userId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(@PathVariable("userId") final String userId) {
+		return this.userReactiveClientService.deleteById(userId)
+				.map(ResponseEntity::ok);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,77 @@
+package com.selimhorri.app.business.user.controller;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.selimhorri.app.business.user.model.VerificationTokenDto;
+import com.selimhorri.app.business.user.model.response.VerificationUserTokenServiceCollectionDtoResponse;
+import com.selimhorri.app.business.user.service.VerificationTokenReactiveClientService;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/verificationTokens")
+@RequiredArgsConstructor
+public class VerificationTokenReactiveController {
+	
+	private final VerificationTokenReactiveClientService verificationTokenReactiveClientService;
+	
+	@GetMapping
+	public Mono<ResponseEntity<VerificationUserTokenServiceCollectionDtoResponse>> findAll() {
+		return this.verificationTokenReactiveClientService.findAll()
+				.map(ResponseEntity::ok);
+	}
+	
+	@GetMapping("/{verificationTokenId}")
+	public Mono<ResponseEntity<VerificationTokenDto>> findById(@PathVariable("verificationTokenId") final String verificationTokenId) {
+		return this.verificationTokenReactiveClientService.findById(verificationTokenId)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PostMapping
+	public Mono<ResponseEntity<VerificationTokenDto>> save(@RequestBody final VerificationTokenDto verificationTokenDto) {
+		return this.verificationTokenReactiveClientService.save(verificationTokenDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping
+	public Mono<ResponseEntity<VerificationTokenDto>> update(@RequestBody final VerificationTokenDto verificationTokenDto) {
+		return this.verificationTokenReactiveClientService.update(verificationTokenDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@PutMapping("/{verificationTokenId}")
+	public Mono<ResponseEntity<VerificationTokenDto>> update(@PathVariable("verificationTokenId") final String verificationTokenId, @RequestBody final VerificationTokenDto verificationTokenDto) {
+		return this.verificationTokenReactiveClientService.update(verificationTokenDto)
+				.map(ResponseEntity::ok);
+	}
+	
+	@DeleteMapping("/{verificationTokenId}")
+	public Mono<ResponseEntity<Boolean>> deleteById(@PathVariable("verificationTokenId") final String verificationTokenId) {
+		return this.verificationTokenReactiveClientService.deleteById(verificationTokenId)
+				.map(ResponseEntity::ok);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
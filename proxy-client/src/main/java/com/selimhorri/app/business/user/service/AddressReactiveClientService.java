@@ -0,0 +1,82 @@
+package com.selimhorri.app.business.user.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.user.model.AddressDto;
+import com.selimhorri.app.business.user.model.response.AddressUserServiceCollectionDtoResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link AddressClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class AddressReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public AddressReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/address")
+				.build();
+	}
+	
+	public Mono<AddressUserServiceCollectionDtoResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(AddressUserServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<AddressDto> findById(final String addressId) {
+		return this.webClient.get()
+				.uri("/{addressId}", addressId)
+				.retrieve()
+				.bodyToMono(AddressDto.class);
+	}
+	
+	public Mono<AddressDto> save(final AddressDto addressDto) {
+		return this.webClient.post()
+				.bodyValue(addressDto)
+				.retrieve()
+				.bodyToMono(AddressDto.class);
+	}
+	
+	public Mono<AddressDto> update(final AddressDto addressDto) {
+		return this.webClient.put()
+				.bodyValue(addressDto)
+				.retrieve()
+				.bodyToMono(AddressDto.class);
+	}
+	
+	public Mono<AddressDto> update(final String addressId, final AddressDto addressDto) {
+		return this.webClient.put()
+				.uri("/{addressId}", addressId)
+				.bodyValue(addressDto)
+				.retrieve()
+				.bodyToMono(AddressDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String addressId) {
+		return this.webClient.delete()
+				.uri("/{addressId}", addressId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -0,0 +1,89 @@
+package com.selimhorri.app.business.user.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.response.CredentialUserServiceCollectionDtoResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link CredentialClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class CredentialReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public CredentialReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/credentials")
+				.build();
+	}
+	
+	public Mono<CredentialUserServiceCollectionDtoResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(CredentialUserServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<CredentialDto> findById(final String credentialId) {
+		return this.webClient.get()
+				.uri("/{credentialId}", credentialId)
+				.retrieve()
+				.bodyToMono(CredentialDto.class);
+	}
+	
+	public Mono<CredentialDto> findByUsername(final String username) {
+		return this.webClient.get()
+				.uri("/username/{username}", username)
+				.retrieve()
+				.bodyToMono(CredentialDto.class);
+	}
+	
+	public Mono<CredentialDto> save(final CredentialDto credentialDto) {
+		return this.webClient.post()
+				.bodyValue(credentialDto)
+				.retrieve()
+				.bodyToMono(CredentialDto.class);
+	}
+	
+	public Mono<CredentialDto> update(final CredentialDto credentialDto) {
+		return this.webClient.put()
+				.bodyValue(credentialDto)
+				.retrieve()
+				.bodyToMono(CredentialDto.class);
+	}
+	
+	public Mono<CredentialDto> update(final String credentialId, final CredentialDto credentialDto) {
+		return this.webClient.put()
+				.uri("/{credentialId}", credentialId)
+				.bodyValue(credentialDto)
+				.retrieve()
+				.bodyToMono(CredentialDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String credentialId) {
+		return this.webClient.delete()
+				.uri("/{credentialId}", credentialId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
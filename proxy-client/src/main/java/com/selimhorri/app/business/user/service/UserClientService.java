@@ -1,5 +1,7 @@
 package com.selimhorri.app.business.user.service;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
@@ -12,6 +14,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import com.selimhorri.app.business.user.model.UserDto;
 import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
@@ -22,6 +25,13 @@ public interface UserClientService {
 	@GetMapping
 	ResponseEntity<UserUserServiceCollectionDtoResponse> findAll();
 	
+	@GetMapping(params = "size")
+	ResponseEntity<UserUserServiceCollectionDtoResponse> findAll(
+			@RequestParam(value = "page", required = false) final Integer page, 
+			@RequestParam("size") final Integer size, 
+			@RequestParam(value = "sort", required = false) final List<String> sort, 
+			@RequestParam(value = "after", required = false) final Integer after);
+	
 	@GetMapping("/{userId}")
 	ResponseEntity<UserDto> findById(
 			@PathVariable("userId") 
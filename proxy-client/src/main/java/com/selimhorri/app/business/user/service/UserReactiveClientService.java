@@ -0,0 +1,104 @@
+package com.selimhorri.app.business.user.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.user.model.UserDto;
+import com.selimhorri.app.business.user.model.response.UserUserServiceCollectionDtoResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link UserClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class UserReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public UserReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/users")
+				.build();
+	}
+	
+	public Mono<UserUserServiceCollectionDtoResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(UserUserServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<UserUserServiceCollectionDtoResponse> findAll(final Integer page, final Integer size, final List<String> sort, final Integer after) {
+		return this.webClient.get()
+				.uri(u -> u
+						.queryParamIfPresent("page", Optional.ofNullable(page))
+						.queryParam("size", size)
+						.queryParamIfPresent("sort", Optional.ofNullable(sort))
+						.queryParamIfPresent("after", Optional.ofNullable(after))
+						.build())
+				.retrieve()
+				.bodyToMono(UserUserServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<UserDto> findById(final String userId) {
+		return this.webClient.get()
+				.uri("/{userId}", userId)
+				.retrieve()
+				.bodyToMono(UserDto.class);
+	}
+	
+	public Mono<UserDto> findByUsername(final String username) {
+		return this.webClient.get()
+				.uri("/username/{username}", username)
+				.retrieve()
+				.bodyToMono(UserDto.class);
+	}
+	
+	public Mono<UserDto> save(final UserDto userDto) {
+		return this.webClient.post()
+				.bodyValue(userDto)
+				.retrieve()
+				.bodyToMono(UserDto.class);
+	}
+	
+	public Mono<UserDto> update(final UserDto userDto) {
+		return this.webClient.put()
+				.bodyValue(userDto)
+				.retrieve()
+				.bodyToMono(UserDto.class);
+	}
+	
+	public Mono<UserDto> update(final String userId, final UserDto userDto) {
+		return this.webClient.put()
+				.uri("/{userId}", userId)
+				.bodyValue(userDto)
+				.retrieve()
+				.bodyToMono(UserDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String userId) {
+		return this.webClient.delete()
+				.uri("/{userId}", userId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
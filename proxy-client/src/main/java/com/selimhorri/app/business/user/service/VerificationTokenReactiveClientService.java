@@ -0,0 +1,82 @@
+package com.selimhorri.app.business.user.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.selimhorri.app.business.user.model.VerificationTokenDto;
+import com.selimhorri.app.business.user.model.response.VerificationUserTokenServiceCollectionDtoResponse;
+import com.selimhorri.app.constant.AppConstant;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link VerificationTokenClientService}, same downstream routes and dtos
+ */
+@Service
+@Profile("reactive")
+public class VerificationTokenReactiveClientService {
+	
+	private final WebClient webClient;
+	
+	public VerificationTokenReactiveClientService(final WebClient.Builder webClientBuilder) {
+		this.webClient = webClientBuilder.clone()
+				.baseUrl(AppConstant.DiscoveredDomainsApi.USER_SERVICE_HOST + "/api/verificationTokens")
+				.build();
+	}
+	
+	public Mono<VerificationUserTokenServiceCollectionDtoResponse> findAll() {
+		return this.webClient.get()
+				.retrieve()
+				.bodyToMono(VerificationUserTokenServiceCollectionDtoResponse.class);
+	}
+	
+	public Mono<VerificationTokenDto> findById(final String verificationTokenId) {
+		return this.webClient.get()
+				.uri("/{verificationTokenId}", verificationTokenId)
+				.retrieve()
+				.bodyToMono(VerificationTokenDto.class);
+	}
+	
+	public Mono<VerificationTokenDto> save(final VerificationTokenDto verificationTokenDto) {
+		return this.webClient.post()
+				.bodyValue(verificationTokenDto)
+				.retrieve()
+				.bodyToMono(VerificationTokenDto.class);
+	}
+	
+	public Mono<VerificationTokenDto> update(final VerificationTokenDto verificationTokenDto) {
+		return this.webClient.put()
+				.bodyValue(verificationTokenDto)
+				.retrieve()
+				.bodyToMono(VerificationTokenDto.class);
+	}
+	
+	public Mono<VerificationTokenDto> update(final String verificationTokenId, final VerificationTokenDto verificationTokenDto) {
+		return this.webClient.put()
+				.uri("/{verificationTokenId}", verificationTokenId)
+				.bodyValue(verificationTokenDto)
+				.retrieve()
+				.bodyToMono(VerificationTokenDto.class);
+	}
+	
+	public Mono<Boolean> deleteById(final String verificationTokenId) {
+		return this.webClient.delete()
+				.uri("/{verificationTokenId}", verificationTokenId)
+				.retrieve()
+				.bodyToMono(Boolean.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -9,13 +9,12 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.selimhorri.app.jwt.service.JwtService;
+import com.selimhorri.app.jwt.cache.ValidatedTokenCache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -26,7 +25,7 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtRequestFilter extends OncePerRequestFilter {
 	
 	private final UserDetailsService userDetailsService;
-	private final JwtService jwtService;
+	private final ValidatedTokenCache validatedTokenCache;
 	
 	@Override
 	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response, final FilterChain filterChain) 
@@ -36,24 +35,18 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		
 		final var authorizationHeader = request.getHeader("Authorization");
 		
-		String username = null;
-		String jwt = null;
-		
-		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") ) {
-			jwt = authorizationHeader.substring(7);
-			username = jwtService.extractUsername(jwt);
-		}
-		
-		if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+		if ( authorizationHeader != null && authorizationHeader.startsWith("Bearer ") 
+				&& SecurityContextHolder.getContext().getAuthentication() == null ) {
 			
-			final UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+			final String jwt = authorizationHeader.substring(7);
 			
-			if (this.jwtService.validateToken(jwt, userDetails)) {
-				final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
-						new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-				usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-				SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-			}
+			this.validatedTokenCache.resolve(jwt, this.userDetailsService::loadUserByUsername)
+					.ifPresent(userDetails -> {
+						final UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
+								new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+						usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+						SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+					});
 			
 		}
 		
@@ -0,0 +1,65 @@
+package com.selimhorri.app.config.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Counts the bytes read through it and hands the count over once, when closed
+ */
+class CountingInputStream extends FilterInputStream {
+	
+	private final LongConsumer onClose;
+	private long count;
+	private boolean closed;
+	
+	CountingInputStream(final InputStream in, final LongConsumer onClose) {
+		super(in);
+		this.onClose = onClose;
+	}
+	
+	@Override
+	public int read() throws IOException {
+		final int b = super.read();
+		if (b != -1)
+			this.count++;
+		return b;
+	}
+	
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		final int n = super.read(b, off, len);
+		if (n > 0)
+			this.count += n;
+		return n;
+	}
+	
+	@Override
+	public long skip(final long n) throws IOException {
+		final long skipped = super.skip(n);
+		this.count += skipped;
+		return skipped;
+	}
+	
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		try {
+			super.close();
+		}
+		finally {
+			if (!this.closed) {
+				this.closed = true;
+				this.onClose.accept(this.count);
+			}
+		}
+	}
+	
+	
+	
+}
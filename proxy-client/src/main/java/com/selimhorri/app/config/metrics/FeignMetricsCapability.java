@@ -0,0 +1,92 @@
+package com.selimhorri.app.config.metrics;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Instruments the client of every Feign client the way the actuator instruments RestTemplate: calls are timed as 
+ * http.client.requests with the same tags (clientName is the target service, uri the unexpanded path of 
+ * the client method) and payload sizes are recorded as {@link PayloadSizeInterceptor} does. 
+ * The client wrapped is the load balanced one, so clientName is the service id and the time includes instance selection
+ */
+@Component
+@RequiredArgsConstructor
+public class FeignMetricsCapability implements Capability {
+	
+	public static final String HTTP_CLIENT_REQUESTS = "http.client.requests";
+	
+	private final MeterRegistry meterRegistry;
+	
+	@Override
+	public Client enrich(final Client client) {
+		return (request, options) -> {
+			final Tags tags = Tags.of("clientName", clientName(request), "method", request.httpMethod().name());
+			PayloadSizeInterceptor.record(this.meterRegistry, PayloadSizeInterceptor.REQUEST_SIZE, tags, 
+					request.body() == null ? 0 : request.body().length);
+			final Timer.Sample sample = Timer.start(this.meterRegistry);
+			Response response = null;
+			try {
+				response = client.execute(request, options);
+				return withCountedBody(response, tags);
+			}
+			finally {
+				sample.stop(Timer.builder(HTTP_CLIENT_REQUESTS)
+						.tags(tags)
+						.tag("uri", uri(request))
+						.tag("status", response == null ? "CLIENT_ERROR" : String.valueOf(response.status()))
+						.tag("outcome", response == null ? Outcome.UNKNOWN.name() : Outcome.forStatus(response.status()).name())
+						.register(this.meterRegistry));
+			}
+		};
+	}
+	
+	/**
+	 * Reports the bytes read from the body once Feign closes the response
+	 */
+	private Response withCountedBody(final Response response, final Tags tags) throws IOException {
+		if (response.body() == null) {
+			PayloadSizeInterceptor.record(this.meterRegistry, PayloadSizeInterceptor.RESPONSE_SIZE, tags, 0);
+			return response;
+		}
+		return response.toBuilder()
+				.body(new CountingInputStream(response.body().asInputStream(), count -> 
+						PayloadSizeInterceptor.record(this.meterRegistry, PayloadSizeInterceptor.RESPONSE_SIZE, tags, count)), 
+					response.body().length())
+				.build();
+	}
+	
+	private static String clientName(final Request request) {
+		final String host = URI.create(request.url()).getHost();
+		return host == null ? "none" : host;
+	}
+	
+	/**
+	 * Path of the target joined with the path template of the method, query and expanded values left out
+	 */
+	private static String uri(final Request request) {
+		final RequestTemplate requestTemplate = request.requestTemplate();
+		if (requestTemplate == null || requestTemplate.feignTarget() == null || requestTemplate.methodMetadata() == null)
+			return "none";
+		final String template = requestTemplate.methodMetadata().template().url();
+		final int query = template.indexOf('?');
+		final String uri = URI.create(requestTemplate.feignTarget().url()).getPath() 
+				+ (query < 0 ? template : template.substring(0, query));
+		return uri.length() > 1 && uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri;
+	}
+	
+	
+	
+}
@@ -0,0 +1,84 @@
+package com.selimhorri.app.config.template;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import feign.Capability;
+import feign.Client;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+
+/**
+ * Feign clients run behind a circuit breaker and time limiter (feign.circuitbreaker.*), one per client
+ * (its contextId) so one failing dependency never opens the circuit of the others,
+ * and behind the semaphore bulkhead of their target service (resilience4j.bulkhead.*)
+ */
+@Configuration
+public class FeignCircuitBreakerConfig {
+
+	/**
+	 * One circuit breaker per Feign client, named like the client so metrics line up per dependency
+	 */
+	@Bean
+	public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+		return (feignClientName, target, method) -> feignClientName;
+	}
+	
+	/**
+	 * Takes the bulkhead of the target service around the load balanced call, on the circuit breaker executor
+	 * thread running it, a call beyond max-concurrent-calls fails with BulkheadFullException and is answered 503
+	 */
+	@Bean
+	public Capability bulkheadCapability(final BulkheadRegistry bulkheadRegistry) {
+		return new BulkheadCapability(bulkheadRegistry);
+	}
+	
+	/**
+	 * Public, Feign looks enrich up reflectively on the class of the capability
+	 */
+	public static class BulkheadCapability implements Capability {
+		
+		private final BulkheadRegistry bulkheadRegistry;
+		
+		public BulkheadCapability(final BulkheadRegistry bulkheadRegistry) {
+			this.bulkheadRegistry = bulkheadRegistry;
+		}
+		
+		@Override
+		public Client enrich(final Client client) {
+			return (request, options) -> {
+				final Bulkhead bulkhead = this.bulkheadRegistry.bulkhead(dependency(URI.create(request.url()).getHost()));
+				bulkhead.acquirePermission();
+				try {
+					return client.execute(request, options);
+				}
+				finally {
+					bulkhead.onComplete();
+				}
+			};
+		}
+		
+	}
+	
+	/**
+	 * Instance id of a service, the one the other services use for it: ORDER-SERVICE is orderService
+	 */
+	static String dependency(final String serviceId) {
+		if (serviceId == null)
+			return "none";
+		final String[] words = serviceId.toLowerCase(Locale.ROOT).split("-");
+		return words[0] + Arrays.stream(words, 1, words.length)
+				.map(StringUtils::capitalize)
+				.collect(Collectors.joining());
+	}
+	
+	
+	
+}
@@ -0,0 +1,41 @@
+package com.selimhorri.app.config.template;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Pooled HTTP client behind the load balanced RestTemplate, 
+ * routes are the resolved instances (host:port) so per route limits apply per instance
+ */
+@ConfigurationProperties(prefix = "app.http-client")
+@Data
+public class HttpClientProperties {
+	
+	private int maxTotal = 200;
+	
+	private int maxPerRoute = 50;
+	
+	private Duration connectTimeout = Duration.ofSeconds(2);
+	
+	/**
+	 * Max wait for a pooled connection once the route or total limit is reached
+	 */
+	private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+	
+	private Duration readTimeout = Duration.ofSeconds(10);
+	
+	/**
+	 * Idle pooled connections are closed after it, keep it below the peers keep-alive timeout
+	 */
+	private Duration idleTimeout = Duration.ofSeconds(30);
+	
+	/**
+	 * Pooled connections idle for longer are checked for staleness before being reused
+	 */
+	private Duration validateAfterInactivity = Duration.ofSeconds(2);
+	
+}
+
@@ -3,6 +3,7 @@ package com.selimhorri.app.exception;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -10,6 +11,7 @@ import org.springframework.validation.BindException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.selimhorri.app.exception.payload.ExceptionMsg;
 import com.selimhorri.app.exception.wrapper.CredentialNotFoundException;
@@ -47,6 +49,42 @@ public class ApiExceptionHandler {
 					.build(), badRequest);
 	}
 	
+	/**
+	 * Feign calls run behind circuit breakers without fallback, downstream errors come wrapped
+	 */
+	@ExceptionHandler(value = NoFallbackAvailableException.class)
+	public ResponseEntity<ExceptionMsg> handleDegradedProxyException(final NoFallbackAvailableException e) {
+		
+		if (e.getCause() instanceof FeignException)
+			return this.handleProxyException((FeignException) e.getCause());
+		
+		log.info("**ApiExceptionHandler controller, handle degraded proxy call*\n");
+		final var serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg("Downstream service unavailable, please retry later")
+					.httpStatus(serviceUnavailable)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), serviceUnavailable);
+	}
+	
+	@ExceptionHandler(value = WebClientResponseException.class)
+	public ResponseEntity<ExceptionMsg> handleReactiveProxyException(final WebClientResponseException e) {
+		
+		log.info("**ApiExceptionHandler controller, handle reactive proxy exception*\n");
+		final var badRequest = HttpStatus.BAD_REQUEST;
+		
+		return new ResponseEntity<>(
+				ExceptionMsg.builder()
+					.msg(e.getResponseBodyAsString())
+					.httpStatus(badRequest)
+					.timestamp(ZonedDateTime
+							.now(ZoneId.systemDefault()))
+					.build(), badRequest);
+	}
+	
 	@ExceptionHandler(value = {
 		MethodArgumentNotValidException.class,
 		HttpMessageNotReadableException.class
@@ -0,0 +1,18 @@
+package com.selimhorri.app.jwt.cache;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.jsonwebtoken.Claims;
+import lombok.Value;
+
+/**
+ * Outcome of a successful token verification, kept until the token expires
+ */
+@Value
+public class ValidatedToken {
+	
+	Claims claims;
+	UserDetails userDetails;
+	
+}
+
@@ -0,0 +1,160 @@
+package com.selimhorri.app.jwt.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.selimhorri.app.jwt.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded cache of verified tokens keyed by the SHA-256 of the raw token,
+ * so the signature is checked and the user resolved once per token instead of once per request.
+ * An entry never outlives its token expiration nor the configured max ttl,
+ * the latter bounds how long a disabled account keeps a cached {@link UserDetails}.
+ * Tokens carrying the authorities claim are trusted as is and skip the credential lookup,
+ * unless their user was invalidated after the token was issued.
+ */
+@Component
+@Slf4j
+public class ValidatedTokenCache {
+	
+	public static final String CACHE_NAME = "jwt.validated-tokens";
+	
+	private final JwtUtil jwtUtil;
+	private final Cache<String, ValidatedToken> cache;
+	private final Cache<String, Long> invalidations;
+	private final Timer verificationTimer;
+	
+	public ValidatedTokenCache(final JwtUtil jwtUtil, final MeterRegistry meterRegistry, 
+			@Value("${app.jwt.cache.maximum-size:10000}") final long maximumSize, 
+			@Value("${app.jwt.cache.max-ttl:5m}") final Duration maxTtl, 
+			@Value("${app.jwt.cache.invalidation-ttl:10h}") final Duration invalidationTtl) {
+		this.jwtUtil = jwtUtil;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfter(new TokenExpiry(maxTtl))
+				.recordStats()
+				.build();
+		this.invalidations = Caffeine.newBuilder()
+				.expireAfterWrite(invalidationTtl)
+				.build();
+		this.verificationTimer = Timer.builder("jwt.verification")
+				.description("Time spent verifying a token signature and resolving its user")
+				.register(meterRegistry);
+		CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+	}
+	
+	/**
+	 * Returns the user the token was issued for, verifying it only on a cache miss,
+	 * an invalid signature or a malformed token still throws like {@link JwtUtil#extractAllClaims(String)}
+	 */
+	public Optional<UserDetails> resolve(final String token, final Function<String, UserDetails> userDetailsLoader) {
+		final String key = hash(token);
+		final ValidatedToken cached = this.cache.getIfPresent(key);
+		if (cached != null)
+			return Optional.of(cached.getUserDetails());
+		
+		final ValidatedToken validated = this.verificationTimer.record(() -> this.verify(token, userDetailsLoader));
+		if (validated == null)
+			return Optional.empty();
+		
+		this.cache.put(key, validated);
+		return Optional.of(validated.getUserDetails());
+	}
+	
+	/**
+	 * Drops every cached token of the user, tokens it was issued so far
+	 * go back through the credential lookup until they expire
+	 */
+	public void invalidate(final String username) {
+		this.invalidations.put(username, System.currentTimeMillis());
+		this.cache.asMap().values()
+				.removeIf(v -> v.getUserDetails().getUsername().equals(username));
+	}
+	
+	public void invalidateAll() {
+		this.cache.invalidateAll();
+	}
+	
+	private ValidatedToken verify(final String token, final Function<String, UserDetails> userDetailsLoader) {
+		final Claims claims = this.jwtUtil.extractAllClaims(token);
+		final UserDetails userDetails = this.jwtUtil.extractUserDetails(claims)
+				.filter(u -> !this.isInvalidated(claims))
+				.orElseGet(() -> userDetailsLoader.apply(claims.getSubject()));
+		if (userDetails == null || !this.jwtUtil.validateToken(claims, userDetails)) {
+			log.info("**Token rejected for subject: {}*\n", claims.getSubject());
+			return null;
+		}
+		return new ValidatedToken(claims, userDetails);
+	}
+	
+	private boolean isInvalidated(final Claims claims) {
+		final Long invalidatedAt = this.invalidations.getIfPresent(claims.getSubject());
+		return invalidatedAt != null 
+				&& (claims.getIssuedAt() == null || claims.getIssuedAt().getTime() <= invalidatedAt);
+	}
+	
+	private static String hash(final String token) {
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(token.getBytes(StandardCharsets.UTF_8));
+			final StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (final byte b : digest)
+				hex.append(String.format("%02x", b));
+			return hex.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	private static final class TokenExpiry implements Expiry<String, ValidatedToken> {
+		
+		private final long maxTtlNanos;
+		
+		private TokenExpiry(final Duration maxTtl) {
+			this.maxTtlNanos = maxTtl.toNanos();
+		}
+		
+		@Override
+		public long expireAfterCreate(final String key, final ValidatedToken value, final long currentTime) {
+			final long untilExpiration = TimeUnit.MILLISECONDS.toNanos(
+					value.getClaims().getExpiration().getTime() - System.currentTimeMillis());
+			return Math.max(0, Math.min(untilExpiration, this.maxTtlNanos));
+		}
+		
+		@Override
+		public long expireAfterUpdate(final String key, final ValidatedToken value, 
+				final long currentTime, final long currentDuration) {
+			return this.expireAfterCreate(key, value, currentTime);
+		}
+		
+		@Override
+		public long expireAfterRead(final String key, final ValidatedToken value, 
+				final long currentTime, final long currentDuration) {
+			return currentDuration;
+		}
+		
+	}
+	
+	
+	
+}
+
@@ -2,9 +2,14 @@ package com.selimhorri.app.jwt.util.impl;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -35,17 +40,17 @@ public class JwtUtilImpl implements JwtUtil {
 		return claimsResolver.apply(claims);
 	}
 	
-	private Claims extractAllClaims(final String token) {
+	@Override
+	public Claims extractAllClaims(final String token) {
 		return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
 	}
 	
-	private Boolean isTokenExpired(final String token) {
-		return this.extractExpiration(token).before(new Date());
-	}
-	
 	@Override
 	public String generateToken(final UserDetails userDetails) {
 		final Map<String, Object> claims = new HashMap<>();
+		claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toUnmodifiableList()));
 		return this.createToken(claims, userDetails.getUsername());
 	}
 	
@@ -61,12 +66,32 @@ public class JwtUtilImpl implements JwtUtil {
 	
 	@Override
 	public Boolean validateToken(final String token, final UserDetails userDetails) {
-		final String username = this.extractUsername(token);
+		return this.validateToken(this.extractAllClaims(token), userDetails);
+	}
+	
+	@Override
+	public Boolean validateToken(final Claims claims, final UserDetails userDetails) {
 		return (
-			username.equals(userDetails.getUsername()) && !isTokenExpired(token)
+			claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date())
 		);
 	}
 	
+	/**
+	 * Rebuilds the principal from the signed authorities claim, empty for tokens issued without it
+	 */
+	@Override
+	public Optional<UserDetails> extractUserDetails(final Claims claims) {
+		final List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+		if (authorities == null)
+			return Optional.empty();
+		return Optional.of(User.withUsername(claims.getSubject())
+				.password("")
+				.authorities(authorities.stream()
+						.map(String::valueOf)
+						.toArray(String[]::new))
+				.build());
+	}
+	
 	
 	
 }
@@ -0,0 +1,155 @@
+package com.selimhorri.app.business;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.selimhorri.app.ProxyClientApplication;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Throughput per core of the blocking (Feign) and reactive (WebClient) business controllers
+ * at high concurrency, against a stub product-service answering after a fixed latency.
+ * Tomcat is capped at {@link #TOMCAT_THREADS} threads so the blocking mode saturates first.
+ * Run with: mvn test -Dbenchmark=true -Dtest=ProxyClientLoadBenchmarkTest
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProxyClientLoadBenchmarkTest {
+
+        private static final long DOWNSTREAM_LATENCY_MS = 50L;
+        private static final int TOMCAT_THREADS = 32;
+        private static final int CONCURRENCY = 256;
+        private static final int WARMUP_REQUESTS = 1_000;
+        private static final int REQUESTS = 5_000;
+        private static final String PRODUCT_JSON = "{\"productId\":1,\"productTitle\":\"asus\",\"imageUrl\":\"xxx\","
+                        + "\"sku\":\"dfqejklejrkn\",\"priceUnit\":0.0,\"quantity\":50,"
+                        + "\"category\":{\"categoryId\":1,\"categoryTitle\":\"Computer\"}}";
+
+        private HttpServer downstream;
+        private ExecutorService downstreamExecutor;
+        private HttpClient httpClient;
+
+        @BeforeEach
+        void setUp() throws IOException {
+                downstreamExecutor = Executors.newFixedThreadPool(2 * CONCURRENCY);
+                downstream = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENCY);
+                downstream.setExecutor(downstreamExecutor);
+                downstream.createContext("/product-service/api/products", exchange -> {
+                        try {
+                                TimeUnit.MILLISECONDS.sleep(DOWNSTREAM_LATENCY_MS);
+                        }
+                        catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        }
+                        final byte[] body = PRODUCT_JSON.getBytes(StandardCharsets.UTF_8);
+                        exchange.getResponseHeaders().add("Content-Type", "application/json");
+                        exchange.sendResponseHeaders(200, body.length);
+                        try (final OutputStream out = exchange.getResponseBody()) {
+                                out.write(body);
+                        }
+                });
+                downstream.start();
+                httpClient = HttpClient.newBuilder()
+                                .executor(Executors.newFixedThreadPool(8))
+                                .build();
+        }
+
+        @AfterEach
+        void tearDown() {
+                downstream.stop(0);
+                downstreamExecutor.shutdownNow();
+        }
+
+        @Test
+        void findById_ThroughputPerCore_BlockingVersusReactive() {
+                final int cores = Runtime.getRuntime().availableProcessors();
+                System.out.printf("%10s %10s %12s %10s %14s %14s%n",
+                                "mode", "requests", "elapsed(ms)", "req/s", "req/s/core", "cpu-ms/req");
+
+                for (final String mode : new String[] {"blocking", "reactive"}) {
+                        try (final ConfigurableApplicationContext context = this.start(mode)) {
+                                final URI uri = URI.create("http://localhost:" 
+                                                + context.getEnvironment().getProperty("local.server.port") 
+                                                + "/app/api/products/1");
+                                this.load(uri, WARMUP_REQUESTS);
+
+                                final long cpuStart = processCpuNanos();
+                                final long start = System.nanoTime();
+                                final int ok = this.load(uri, REQUESTS);
+                                final long elapsedNanos = System.nanoTime() - start;
+                                final long cpuNanos = processCpuNanos() - cpuStart;
+
+                                final double throughput = REQUESTS / (elapsedNanos / 1e9);
+                                System.out.printf("%10s %10d %12d %10.0f %14.1f %14.3f%n",
+                                                mode, REQUESTS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                                                throughput, throughput / cores, cpuNanos / 1e6 / REQUESTS);
+                                assertEquals(REQUESTS, ok);
+                        }
+                }
+        }
+
+        private ConfigurableApplicationContext start(final String mode) {
+                return new SpringApplicationBuilder(ProxyClientApplication.class)
+                                .profiles("reactive".equals(mode) ? new String[] {"dev", "reactive"} : new String[] {"dev"})
+                                .run("--server.port=0",
+                                                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                                                "--eureka.client.enabled=false",
+                                                "--spring.zipkin.enabled=false",
+                                                "--spring.main.banner-mode=off",
+                                                "--logging.level.root=WARN",
+                                                "--logging.level.org.springframework.web=WARN",
+                                                "--logging.level.com.selimhorri.app=WARN",
+                                                "--spring.cloud.discovery.client.simple.instances.PRODUCT-SERVICE[0].uri=http://localhost:" 
+                                                                + downstream.getAddress().getPort());
+        }
+
+        /**
+         * Keeps {@link #CONCURRENCY} requests in flight until all are answered, returns the 200 count
+         */
+        private int load(final URI uri, final int requests) {
+                final Semaphore inFlight = new Semaphore(CONCURRENCY);
+                final AtomicInteger ok = new AtomicInteger();
+                final CompletableFuture<?>[] responses = new CompletableFuture<?>[requests];
+                final HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+                for (int i = 0; i < requests; i++) {
+                        inFlight.acquireUninterruptibly();
+                        responses[i] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                                        .whenComplete((response, e) -> {
+                                                if (e == null && response.statusCode() == 200)
+                                                        ok.incrementAndGet();
+                                                inFlight.release();
+                                        });
+                }
+                CompletableFuture.allOf(responses).exceptionally(e -> null).join();
+                return ok.get();
+        }
+
+        private static long processCpuNanos() {
+                return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                                .getProcessCpuTime();
+        }
+
+}
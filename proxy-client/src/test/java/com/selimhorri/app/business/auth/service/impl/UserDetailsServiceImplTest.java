@@ -0,0 +1,72 @@
+package com.selimhorri.app.business.auth.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.business.user.model.CredentialDto;
+import com.selimhorri.app.business.user.model.RoleBasedAuthority;
+import com.selimhorri.app.jwt.cache.ValidatedTokenCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    private static final String URL = "http://USER-SERVICE/user-service/api/credentials/username/selim";
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private ValidatedTokenCache validatedTokenCache;
+
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = new UserDetailsServiceImpl(restTemplate, validatedTokenCache, 
+                new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        when(restTemplate.getForObject(eq(URL), eq(CredentialDto.class))).thenReturn(CredentialDto.builder()
+                .credentialId(7)
+                .username("selim")
+                .roleBasedAuthority(RoleBasedAuthority.ROLE_USER)
+                .build());
+    }
+
+    @Test
+    void loadUserByUsername_WhenCalledTwice_ShouldCallUserServiceOnce() {
+        // When
+        UserDetails first = userDetailsService.loadUserByUsername("selim");
+        UserDetails second = userDetailsService.loadUserByUsername("selim");
+
+        // Then
+        assertSame(first, second);
+        verify(restTemplate, times(1)).getForObject(URL, CredentialDto.class);
+    }
+
+    @Test
+    void evictByCredentialId_WhenCached_ShouldReloadAndInvalidateTokens() {
+        // Given
+        userDetailsService.loadUserByUsername("selim");
+
+        // When
+        userDetailsService.evictByCredentialId(7);
+        userDetailsService.loadUserByUsername("selim");
+
+        // Then
+        verify(restTemplate, times(2)).getForObject(URL, CredentialDto.class);
+        verify(validatedTokenCache).invalidate("selim");
+    }
+
+}
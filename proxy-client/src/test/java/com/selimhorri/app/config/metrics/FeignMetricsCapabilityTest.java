@@ -0,0 +1,99 @@
+package com.selimhorri.app.config.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.order.model.OrderDto;
+import com.selimhorri.app.business.order.service.OrderClientService;
+
+import feign.Client;
+import feign.Feign;
+import feign.Response;
+import feign.RetryableException;
+import feign.Retryer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class FeignMetricsCapabilityTest {
+
+    private static final String ORDER_JSON = "{\"orderId\":1,\"orderDesc\":\"init\"}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private HttpMessageConverters messageConverters;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        messageConverters = new HttpMessageConverters(
+                new MappingJackson2HttpMessageConverter(new ObjectMapper().findAndRegisterModules()));
+    }
+
+    @Test
+    void enrich_WhenCallSucceeds_ShouldTimeItPerTemplateAndCountPayloads() {
+        // Given
+        OrderClientService orderClientService = client((request, options) -> Response.builder()
+                .status(200)
+                .request(request)
+                .headers(Map.of("Content-Type", List.of("application/json")))
+                .body(ORDER_JSON, StandardCharsets.UTF_8)
+                .build());
+
+        // When
+        OrderDto orderDto = orderClientService.findById("1").getBody();
+        orderClientService.save(orderDto);
+
+        // Then
+        assertEquals("init", orderDto.getOrderDesc());
+        assertEquals(1, meterRegistry.get(FeignMetricsCapability.HTTP_CLIENT_REQUESTS)
+                .tag("clientName", "ORDER-SERVICE").tag("method", "GET")
+                .tag("uri", "/order-service/api/orders/{orderId}").tag("status", "200").tag("outcome", "SUCCESS")
+                .timer().count());
+        assertEquals(0.0, meterRegistry.get(PayloadSizeInterceptor.REQUEST_SIZE)
+                .tag("clientName", "ORDER-SERVICE").tag("method", "GET").summary().totalAmount());
+        assertEquals(ORDER_JSON.length(), meterRegistry.get(PayloadSizeInterceptor.RESPONSE_SIZE)
+                .tag("clientName", "ORDER-SERVICE").tag("method", "GET").summary().totalAmount());
+        assertTrue(meterRegistry.get(PayloadSizeInterceptor.REQUEST_SIZE)
+                .tag("clientName", "ORDER-SERVICE").tag("method", "POST").summary().totalAmount() > 0);
+    }
+
+    @Test
+    void enrich_WhenTargetUnreachable_ShouldTimeTheCallAsClientError() {
+        // Given
+        OrderClientService orderClientService = client((request, options) -> {
+            throw new IOException("connection refused");
+        });
+
+        // When
+        assertThrows(RetryableException.class, () -> orderClientService.findAllByUserId(1));
+
+        // Then
+        assertEquals(1, meterRegistry.get(FeignMetricsCapability.HTTP_CLIENT_REQUESTS)
+                .tag("uri", "/order-service/api/orders").tag("status", "CLIENT_ERROR").tag("outcome", "UNKNOWN")
+                .timer().count());
+    }
+
+    private OrderClientService client(final Client client) {
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(() -> messageConverters))
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(() -> messageConverters)))
+                .retryer(Retryer.NEVER_RETRY)
+                .client(client)
+                .addCapability(new FeignMetricsCapability(meterRegistry))
+                .target(OrderClientService.class, "http://ORDER-SERVICE/order-service/api/orders");
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.selimhorri.app.config.template;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.selimhorri.app.business.order.service.OrderClientService;
+
+import feign.Feign;
+import feign.Response;
+import feign.Retryer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+
+class FeignCircuitBreakerConfigTest {
+
+    private BulkheadRegistry bulkheadRegistry;
+    private AtomicInteger downstreamCalls;
+    private OrderClientService orderClientService;
+
+    @BeforeEach
+    void setUp() {
+        bulkheadRegistry = BulkheadRegistry.ofDefaults();
+        downstreamCalls = new AtomicInteger();
+        HttpMessageConverters messageConverters = new HttpMessageConverters(
+                new MappingJackson2HttpMessageConverter(new ObjectMapper().findAndRegisterModules()));
+        orderClientService = Feign.builder()
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(() -> messageConverters))
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(() -> messageConverters)))
+                .retryer(Retryer.NEVER_RETRY)
+                .client((request, options) -> {
+                    downstreamCalls.incrementAndGet();
+                    return Response.builder()
+                            .status(200)
+                            .request(request)
+                            .headers(Map.of("Content-Type", List.of("application/json")))
+                            .body("{\"orderId\":1}", StandardCharsets.UTF_8)
+                            .build();
+                })
+                .addCapability(new FeignCircuitBreakerConfig().bulkheadCapability(bulkheadRegistry))
+                .target(OrderClientService.class, "http://ORDER-SERVICE/order-service/api/orders");
+    }
+
+    @Test
+    void dependency_ShouldMatchTheInstanceIdsOfTheOtherServices() {
+        assertEquals("orderService", FeignCircuitBreakerConfig.dependency("ORDER-SERVICE"));
+        assertEquals("userService", FeignCircuitBreakerConfig.dependency("USER-SERVICE"));
+    }
+
+    @Test
+    void bulkheadCapability_WhenTargetServiceBulkheadIsFull_ShouldRejectWithoutCallingIt() {
+        // Given
+        Bulkhead orderServiceBulkhead = bulkheadRegistry.bulkhead("orderService",
+                BulkheadConfig.custom().maxConcurrentCalls(1).build());
+        orderServiceBulkhead.acquirePermission();
+
+        // When / Then
+        assertThrows(BulkheadFullException.class, () -> orderClientService.findById("1"));
+        assertEquals(0, downstreamCalls.get());
+
+        orderServiceBulkhead.onComplete();
+        assertEquals(1, orderClientService.findById("1").getBody().getOrderId());
+        assertEquals(1, orderServiceBulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.selimhorri.app.config.thread;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Concurrency ceiling and memory per in-flight request of the request executors:
+ * Tomcat's default 200 platform threads, one platform thread per request,
+ * and one virtual thread per request (VirtualThreadConfig, skipped below Java 21).
+ * Each request parks until released, like a blocked RestTemplate/Feign/JDBC call,
+ * memory is the resident set growth (thread stacks are off heap) and the heap growth.
+ * Run with: mvn test -Dbenchmark=true -Dtest=VirtualThreadBenchmarkTest
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadBenchmarkTest {
+
+        private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+        private static final int[] IN_FLIGHT = {200, 1_000, 5_000, 10_000};
+        private static final long START_TIMEOUT_SECONDS = 10L;
+        private static final Path PROC_STATUS = Paths.get("/proc/self/status");
+
+        @Test
+        void inFlightRequests_CeilingAndMemory_PlatformVersusVirtual() throws Exception {
+                assumeTrue(Files.isReadable(PROC_STATUS), "resident set size is read from /proc");
+
+                final Map<String, Supplier<ExecutorService>> executors = new LinkedHashMap<>();
+                executors.put("platform-200", () -> Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS));
+                executors.put("platform", Executors::newCachedThreadPool);
+                if (Runtime.version().feature() >= 21)
+                        executors.put("virtual", () -> VirtualThreadConfig.newVirtualThreadPerTaskExecutor("bench-vt-"));
+                else
+                        System.out.printf("virtual threads skipped, running on Java %s%n", Runtime.version());
+
+                System.out.printf("%14s %10s %10s %14s %14s%n",
+                                "executor", "requested", "in-flight", "rss-kB/req", "heap-kB/req");
+
+                for (final Map.Entry<String, Supplier<ExecutorService>> executor : executors.entrySet()) {
+                        for (final int requested : IN_FLIGHT) {
+                                final int inFlight = this.measure(executor.getKey(), executor.getValue().get(), requested);
+                                assertEquals(executor.getKey().equals("platform-200")
+                                                ? Math.min(requested, TOMCAT_DEFAULT_MAX_THREADS) : requested, inFlight);
+                        }
+                }
+        }
+
+        /**
+         * Submits the requests, waits until no more of them start, then prints and returns how many are in flight
+         */
+        private int measure(final String name, final ExecutorService executor, final int requested) throws Exception {
+                final CountDownLatch release = new CountDownLatch(1);
+                final Semaphore started = new Semaphore(0);
+                System.gc();
+                final long rssBefore = residentSetKb();
+                final long heapBefore = usedHeapKb();
+
+                try {
+                        for (int i = 0; i < requested; i++) {
+                                executor.execute(() -> {
+                                        started.release();
+                                        try {
+                                                release.await();
+                                        }
+                                        catch (InterruptedException e) {
+                                                Thread.currentThread().interrupt();
+                                        }
+                                });
+                        }
+                        final int ceiling = Math.min(requested, name.equals("platform-200") ? TOMCAT_DEFAULT_MAX_THREADS : requested);
+                        started.tryAcquire(ceiling, START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                        started.release(ceiling);
+                        // any request above the ceiling would still be queued, give it a chance to show up
+                        TimeUnit.MILLISECONDS.sleep(200L);
+                        final int inFlight = started.availablePermits();
+
+                        System.out.printf("%14s %10d %10d %14.1f %14.1f%n", name, requested, inFlight,
+                                        (residentSetKb() - rssBefore) / (double) inFlight,
+                                        (usedHeapKb() - heapBefore) / (double) inFlight);
+                        return inFlight;
+                }
+                finally {
+                        release.countDown();
+                        executor.shutdown();
+                        executor.awaitTermination(START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                }
+        }
+
+        private static long residentSetKb() throws IOException {
+                return Files.readAllLines(PROC_STATUS).stream()
+                                .filter(l -> l.startsWith("VmRSS:"))
+                                .map(l -> l.replaceAll("\\D", ""))
+                                .mapToLong(Long::parseLong)
+                                .findFirst()
+                                .orElseThrow();
+        }
+
+        private static long usedHeapKb() {
+                final Runtime runtime = Runtime.getRuntime();
+                return (runtime.totalMemory() - runtime.freeMemory()) / 1024;
+        }
+
+}
@@ -0,0 +1,37 @@
+package com.selimhorri.app.config.thread;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadConfigTest {
+	
+	@Test
+	void newVirtualThreadPerTaskExecutor_BelowJava21_FailsWithClearMessage() {
+		assumeTrue(Runtime.version().feature() < 21);
+		final IllegalStateException e = assertThrows(IllegalStateException.class, 
+				() -> VirtualThreadConfig.newVirtualThreadPerTaskExecutor("test-vt-"));
+		assertTrue(e.getMessage().contains("Java 21+"));
+	}
+	
+	@Test
+	void newVirtualThreadPerTaskExecutor_OnJava21_RunsTasksOnNamedVirtualThreads() throws Exception {
+		assumeTrue(Runtime.version().feature() >= 21);
+		final ExecutorService executor = VirtualThreadConfig.newVirtualThreadPerTaskExecutor("test-vt-");
+		try {
+			final String threadName = CompletableFuture.supplyAsync(() -> Thread.currentThread().toString(), executor).get();
+			assertTrue(threadName.startsWith("VirtualThread"));
+			assertTrue(threadName.contains("test-vt-0"));
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+	
+	
+	
+}
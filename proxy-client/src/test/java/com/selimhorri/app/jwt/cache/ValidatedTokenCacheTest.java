@@ -0,0 +1,140 @@
+package com.selimhorri.app.jwt.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.selimhorri.app.jwt.util.impl.JwtUtilImpl;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ValidatedTokenCacheTest {
+
+    private final JwtUtilImpl jwtUtil = new JwtUtilImpl();
+    private SimpleMeterRegistry meterRegistry;
+    private ValidatedTokenCache validatedTokenCache;
+    private AtomicInteger lookups;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        validatedTokenCache = new ValidatedTokenCache(jwtUtil, meterRegistry, 100, 
+                Duration.ofMinutes(5), Duration.ofHours(10));
+        lookups = new AtomicInteger();
+    }
+
+    @Test
+    void resolve_WhenTokenCarriesAuthorities_ShouldSkipCredentialLookup() {
+        // Given
+        UserDetails selim = user("selim");
+        String token = jwtUtil.generateToken(selim);
+
+        // When
+        Optional<UserDetails> first = validatedTokenCache.resolve(token, this.loader(selim));
+        Optional<UserDetails> second = validatedTokenCache.resolve(token, this.loader(selim));
+
+        // Then
+        assertEquals("selim", first.orElseThrow().getUsername());
+        assertEquals("ROLE_USER", first.orElseThrow().getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).findFirst().orElseThrow());
+        assertSame(first.orElseThrow(), second.orElseThrow());
+        assertEquals(0, lookups.get());
+        assertEquals(1, meterRegistry.get("jwt.verification").timer().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void resolve_WhenTokenHasNoAuthorities_ShouldLoadUserOnce() {
+        // Given
+        UserDetails selim = user("selim");
+        String token = legacyToken("selim");
+
+        // When
+        Optional<UserDetails> first = validatedTokenCache.resolve(token, this.loader(selim));
+        Optional<UserDetails> second = validatedTokenCache.resolve(token, this.loader(selim));
+
+        // Then
+        assertSame(selim, first.orElseThrow());
+        assertSame(selim, second.orElseThrow());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void resolve_WhenSubjectDoesNotMatchUser_ShouldRejectWithoutCaching() {
+        // Given
+        String token = legacyToken("selim");
+        UserDetails other = user("other");
+
+        // When
+        Optional<UserDetails> first = validatedTokenCache.resolve(token, this.loader(other));
+        Optional<UserDetails> second = validatedTokenCache.resolve(token, this.loader(other));
+
+        // Then
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    void resolve_WhenUserInvalidatedAfterIssue_ShouldFallBackToCredentialLookup() {
+        // Given
+        UserDetails selim = user("selim");
+        String token = jwtUtil.generateToken(selim);
+        validatedTokenCache.resolve(token, this.loader(selim));
+
+        // When
+        validatedTokenCache.invalidate("selim");
+        Optional<UserDetails> resolved = validatedTokenCache.resolve(token, this.loader(selim));
+
+        // Then
+        assertSame(selim, resolved.orElseThrow());
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    void resolve_WhenSignatureTampered_ShouldThrow() {
+        // Given
+        UserDetails selim = user("selim");
+        String token = jwtUtil.generateToken(selim);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // When / Then
+        assertThrows(SignatureException.class, () -> validatedTokenCache.resolve(tampered, this.loader(selim)));
+        assertEquals(0, lookups.get());
+    }
+
+    private Function<String, UserDetails> loader(final UserDetails userDetails) {
+        return username -> {
+            lookups.incrementAndGet();
+            return userDetails;
+        };
+    }
+
+    private static UserDetails user(final String username) {
+        return User.withUsername(username).password("").authorities("ROLE_USER").build();
+    }
+
+    private static String legacyToken(final String subject) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(SignatureAlgorithm.HS256, "secret")
+                .compact();
+    }
+
+}
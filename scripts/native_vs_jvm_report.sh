@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# native_vs_jvm_report.sh - Tiempo de arranque y RSS de la imagen nativa frente a la imagen JVM de un servicio
+#
+# Uso: scripts/native_vs_jvm_report.sh [product-service|user-service]
+# Construye Dockerfile y Dockerfile.native del servicio, arranca cada imagen sin Eureka ni Zipkin
+# y mide el tiempo hasta que /actuator/health responde y la memoria del contenedor tras una primera petición.
+
+set -e
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+SERVICE="${1:-product-service}"
+declare -A ports=(["product-service"]=8500 ["user-service"]=8700)
+declare -A apis=(["product-service"]="api/products" ["user-service"]="api/users")
+PORT="${ports[$SERVICE]}"
+
+cd "$ROOT_DIR/$SERVICE"
+mvn -B -q package -DskipTests
+docker build -q -t "$SERVICE:jvm" -f Dockerfile . > /dev/null
+# la imagen nativa compila desde la raíz del repositorio, donde está el pom padre
+docker build -q -t "$SERVICE:native" -f Dockerfile.native "$ROOT_DIR" > /dev/null
+
+function measure() {
+  local image=$1
+  local container
+  container=$(docker run -d --rm -p "$PORT:$PORT" \
+    -e SERVER_PORT="$PORT" \
+    -e EUREKA_CLIENT_ENABLED=false \
+    -e SPRING_ZIPKIN_ENABLED=false \
+    -e SPRING_CONFIG_IMPORT=optional:configserver:http://localhost:9296 \
+    "$image")
+  local start=$(date +%s%N)
+  until curl -sf "http://localhost:$PORT/$SERVICE/actuator/health" > /dev/null; do sleep 0.1; done
+  local ready_ms=$(( ($(date +%s%N) - start) / 1000000 ))
+  curl -sf "http://localhost:$PORT/$SERVICE/${apis[$SERVICE]}" > /dev/null
+  local rss=$(docker stats --no-stream --format "{{.MemUsage}}" "$container" | cut -d/ -f1)
+  docker stop "$container" > /dev/null
+  printf "%-26s | %10s | %12s\n" "$image" "$ready_ms" "$rss"
+}
+
+echo "Imagen nativa vs JVM - $SERVICE - $(date +'%Y-%m-%d %H:%M:%S')"
+printf "%-26s | %10s | %12s\n" "imagen" "listo (ms)" "memoria"
+measure "$SERVICE:jvm"
+measure "$SERVICE:native"
@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# startup_report.sh - Tiempo de arranque de cada servicio de dominio (sin CDS, con CDS, con CDS + lazy init)
+#
+# Uso: scripts/startup_report.sh [archivo-de-salida] [servicio...]
+# Construye cada servicio con el perfil appcds y lee el "Startup report" que registra StartupReportListener.
+
+set -e
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+OUTPUT="${1:-$ROOT_DIR/startup-report.txt}"
+shift || true
+if [[ $# -gt 0 ]]; then
+  SERVICES=("$@")
+else
+  SERVICES=(favourite-service order-service payment-service product-service shipping-service user-service)
+fi
+COMMON_ARGS="--app.startup.exit-on-ready=true --server.port=0 --eureka.client.enabled=false --spring.zipkin.enabled=false"
+
+function ready_ms() {
+  # $1: opciones de la JVM, $2: argumentos extra de la aplicación
+  java $1 -jar "$JAR" $COMMON_ARGS $2 2>&1 \
+    | grep -o "ready [0-9]* ms after JVM start" | grep -o "[0-9]*" || echo "-"
+}
+
+{
+  echo "Reporte de arranque - $(date +'%Y-%m-%d %H:%M:%S') - $(java -version 2>&1 | head -1) - $(nproc) CPU"
+  printf "%-20s | %12s | %12s | %12s\n" "servicio" "sin CDS (ms)" "CDS (ms)" "CDS+lazy (ms)"
+} | tee "$OUTPUT"
+
+for service in "${SERVICES[@]}"; do
+  (cd "$ROOT_DIR/$service" && mvn -B -q package -Pappcds -DskipTests > /dev/null)
+  cd "$ROOT_DIR/$service/target/cds"
+  JAR=$(ls *-cds.jar)
+  printf "%-20s | %12s | %12s | %12s\n" "$service" \
+    "$(ready_ms "-Xshare:auto")" \
+    "$(ready_ms "-XX:SharedArchiveFile=app.jsa")" \
+    "$(ready_ms "-XX:SharedArchiveFile=app.jsa" "--spring.main.lazy-initialization=true")" | tee -a "$OUTPUT"
+done
@@ -1,17 +1,97 @@
 package com.selimhorri.app.config.client;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.web.client.MetricsRestTemplateCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.config.metrics.PayloadSizeInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class ClientConfig {
 	
+	/**
+	 * Connection pool of the load balanced RestTemplate, 
+	 * exposed as httpcomponents.httpclient.pool.* metrics tagged httpclient=rest-template
+	 */
+	@Bean
+	public PoolingHttpClientConnectionManager httpClientConnectionManagerBean(final HttpClientProperties properties) {
+		final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(properties.getMaxTotal());
+		connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+		connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+		return connectionManager;
+	}
+	
+	@Bean
+	public MeterBinder httpClientPoolMetricsBean(final PoolingHttpClientConnectionManager connectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "rest-template");
+	}
+	
+	/**
+	 * Keeps connections alive between calls, a background evictor closes expired and idle ones
+	 */
+	@Bean
+	public CloseableHttpClient httpClientBean(final PoolingHttpClientConnectionManager connectionManager, 
+			final HttpClientProperties properties) {
+		return HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+						.setConnectionRequestTimeout((int) properties.getConnectionRequestTimeout().toMillis())
+						.setSocketTimeout((int) properties.getReadTimeout().toMillis())
+						.build())
+				.evictExpiredConnections()
+				.evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+				.build();
+	}
+	
+	/**
+	 * Calls are timed as http.client.requests by the actuator customizer, 
+	 * their payload sizes recorded by {@link PayloadSizeInterceptor}
+	 */
 	@LoadBalanced
 	@Bean
-	public RestTemplate restTemplateBean() {
-		return new RestTemplate();
+	public RestTemplate restTemplateBean(final CloseableHttpClient httpClient, final MeterRegistry meterRegistry, 
+			final ObjectProvider<MetricsRestTemplateCustomizer> metricsRestTemplateCustomizer) {
+		final RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+		restTemplate.getInterceptors().add(new PayloadSizeInterceptor(meterRegistry));
+		metricsRestTemplateCustomizer.ifAvailable(customizer -> customizer.customize(restTemplate));
+		return restTemplate;
+	}
+	
+	/**
+	 * Bounded pool used to fan out remote enrichment lookups, callers run
+	 * the task themselves once the queue is full instead of piling up threads
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService enrichmentExecutorBean(
+			@Value("${app.enrichment.pool-size:8}") final int poolSize,
+			@Value("${app.enrichment.queue-capacity:64}") final int queueCapacity) {
+		return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, 
+				new LinkedBlockingQueue<>(queueCapacity), 
+				new CustomizableThreadFactory("enrichment-"), 
+				new ThreadPoolExecutor.CallerRunsPolicy());
 	}
 	
 	
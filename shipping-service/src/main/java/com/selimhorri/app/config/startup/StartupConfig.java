@@ -0,0 +1,35 @@
+package com.selimhorri.app.config.startup;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+	
+	/**
+	 * Under spring.main.lazy-initialization the persistence layer stays eager, so migrations and the JPA
+	 * bootstrap are done before the instance reports ready, only what serves the first calls of
+	 * web extras (springdoc, Thymeleaf, H2 console, controllers and their clients) is deferred
+	 */
+	@Bean
+	public static LazyInitializationExcludeFilter persistenceLazyInitializationExcludeFilterBean() {
+		return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class);
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
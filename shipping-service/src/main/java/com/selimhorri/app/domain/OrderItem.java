@@ -6,7 +6,12 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.IdClass;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
 
 import com.selimhorri.app.domain.id.OrderItemId;
 
@@ -21,10 +26,10 @@ import lombok.NoArgsConstructor;
 @IdClass(OrderItemId.class)
 @NoArgsConstructor
 @AllArgsConstructor
-@EqualsAndHashCode(callSuper = true)
+@EqualsAndHashCode(callSuper = true, exclude = {"isNew"})
 @Data
 @Builder
-public final class OrderItem extends AbstractMappedEntity implements Serializable {
+public final class OrderItem extends AbstractMappedEntity implements Serializable, Persistable<OrderItemId> {
 	
 	private static final long serialVersionUID = 1L;
 	
@@ -39,6 +44,24 @@ public final class OrderItem extends AbstractMappedEntity implements Serializabl
 	@Column(name = "ordered_quantity")
 	private Integer orderedQuantity;
 	
+	/**
+	 * Set by bulk writes for rows known to be absent, so save persists (batched INSERT) 
+	 * instead of merging (SELECT then INSERT), false keeps the merge semantics of single writes
+	 */
+	@Transient
+	private boolean isNew;
+	
+	@Override
+	public OrderItemId getId() {
+		return new OrderItemId(this.productId, this.orderId);
+	}
+	
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.isNew = false;
+	}
+	
 }
 
 
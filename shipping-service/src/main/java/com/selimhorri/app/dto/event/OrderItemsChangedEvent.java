@@ -0,0 +1,32 @@
+package com.selimhorri.app.dto.event;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonFormat.Shape;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Item totals of an order as committed at occurredAt, published to the order-service order summaries
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderItemsChangedEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	private Integer orderId;
+	private int itemCount;
+	private int totalQuantity;
+	
+	@JsonFormat(shape = Shape.STRING)
+	private Instant occurredAt;
+	
+}
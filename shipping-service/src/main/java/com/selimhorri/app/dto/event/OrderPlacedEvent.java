@@ -0,0 +1,49 @@
+package com.selimhorri.app.dto.event;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.selimhorri.app.dto.OrderLineDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * OrderPlaced event relayed from the order-service outbox, only the fields shipping needs are bound
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class OrderPlacedEvent implements Serializable {
+	
+	private static final long serialVersionUID = 1L;
+	
+	@NotNull(message = "Input eventId must not be NULL")
+	private String eventId;
+	
+	@NotNull(message = "Input orderId must not be NULL")
+	private Integer orderId;
+	
+	@NotEmpty(message = "Input orderLines must not be empty")
+	private List<@Valid OrderLineDto> orderLines;
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -1,12 +1,50 @@
 package com.selimhorri.app.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, OrderItemId> {
 	
+	Slice<OrderItem> findAllBy(final Pageable pageable);
+	List<OrderItem> findAllByOrderIdInAndProductIdIn(final Collection<Integer> orderIds, final Collection<Integer> productIds);
+	
+	@Query("SELECT o FROM OrderItem o WHERE o.orderId > :orderId "
+			+ "OR (o.orderId = :orderId AND o.productId > :productId)")
+	Slice<OrderItem> findAllAfter(
+			@Param("orderId") final Integer orderId, 
+			@Param("productId") final Integer productId, 
+			final Pageable pageable);
+	
+	@Query("SELECT o.orderId AS orderId, COUNT(o) AS itemCount, SUM(o.orderedQuantity) AS totalQuantity "
+			+ "FROM OrderItem o WHERE o.orderId IN :orderIds GROUP BY o.orderId")
+	List<OrderItemTotals> findTotalsByOrderIdIn(@Param("orderIds") final Collection<Integer> orderIds);
+	
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + AppConstant.EXPORT_FETCH_SIZE))
+	@Query("SELECT o FROM OrderItem o ORDER BY o.orderId, o.productId")
+	Stream<OrderItem> streamAll();
 	
+	interface OrderItemTotals {
+		
+		Integer getOrderId();
+		Long getItemCount();
+		Long getTotalQuantity();
+		
+	}
 	
 }
@@ -1,8 +1,15 @@
 package com.selimhorri.app.resource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,10 +18,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.event.OrderPlacedEvent;
 import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.service.OrderItemService;
 
@@ -28,6 +42,7 @@ import lombok.extern.slf4j.Slf4j;
 public class OrderItemResource {
 	
 	private final OrderItemService orderItemService;
+	private final ObjectMapper objectMapper;
 	
 	@GetMapping
 	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll() {
@@ -35,6 +50,39 @@ public class OrderItemResource {
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.findAll()));
 	}
 	
+	/**
+	 * Keyset cursor is {@code orderId/productId}, same shape as the find by id path
+	 */
+	@GetMapping(params = "size")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> findAll(
+			@RequestParam(value = "after", required = false) final String after, 
+			final Pageable pageable) {
+		log.info("*** OrderItemDto Slice, controller; fetch orderItems page *");
+		final Slice<OrderItemDto> orderItemDtos = (after != null) ? 
+				this.orderItemService.findAllAfter(parseCursor(after), pageable.getPageSize()) : 
+				this.orderItemService.findAll(pageable);
+		return ResponseEntity.ok(DtoCollectionResponse.of(orderItemDtos, 
+				o -> String.format("%d/%d", o.getOrderId(), o.getProductId())));
+	}
+	
+	@GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		log.info("*** OrderItemDto Stream, resource; export all orderItems *");
+		final ObjectWriter writer = this.objectMapper.writer()
+				.without(SerializationFeature.INDENT_OUTPUT);
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(out -> this.orderItemService.exportAll(d -> {
+					try {
+						out.write(writer.writeValueAsBytes(d));
+						out.write('\n');
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				}));
+	}
+	
 	@GetMapping("/{orderId}/{productId}")
 	public ResponseEntity<OrderItemDto> findById(
 			@PathVariable("orderId") final String orderId, 
@@ -62,6 +110,30 @@ public class OrderItemResource {
 		return ResponseEntity.ok(this.orderItemService.save(orderItemDto));
 	}
 	
+	/**
+	 * Inserts or updates up to {@link AppConstant#BULK_WRITE_MAX_SIZE} order items in one transaction
+	 */
+	@PostMapping("/batch")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> saveAll(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<OrderItemDto> orderItemDtos) {
+		log.info("*** OrderItemDto List, resource; save orderItems batch *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.saveAll(orderItemDtos)));
+	}
+	
+	/**
+	 * Batch of OrderPlaced events relayed by the order-service outbox, safe to redeliver
+	 */
+	@PostMapping("/events/order-placed")
+	public ResponseEntity<DtoCollectionResponse<OrderItemDto>> handleOrderPlaced(
+			@RequestBody 
+			@NotNull(message = "Input must not be NULL") 
+			@Valid final List<OrderPlacedEvent> orderPlacedEvents) {
+		log.info("*** OrderItemDto List, resource; handle OrderPlaced events *");
+		return ResponseEntity.ok(new DtoCollectionResponse<>(this.orderItemService.handleOrderPlaced(orderPlacedEvents)));
+	}
+	
 	@PutMapping
 	public ResponseEntity<OrderItemDto> update(
 			@RequestBody 
@@ -90,6 +162,14 @@ public class OrderItemResource {
 		return ResponseEntity.ok(true);
 	}
 	
+	private static OrderItemId parseCursor(final String cursor) {
+		final String[] parts = cursor.split("/", 2);
+		if (parts.length != 2)
+			throw new IllegalArgumentException(String.format("Invalid orderItem cursor: [%s]", cursor));
+		return new OrderItemId(Integer.parseInt(parts[1]), Integer.parseInt(parts[0]));
+	}
+	
+	
 	
 	
 }
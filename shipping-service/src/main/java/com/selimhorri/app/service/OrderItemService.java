@@ -1,16 +1,26 @@
 package com.selimhorri.app.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.event.OrderPlacedEvent;
 
 public interface OrderItemService {
 	
 	List<OrderItemDto> findAll();
+	Slice<OrderItemDto> findAll(final Pageable pageable);
+	Slice<OrderItemDto> findAllAfter(final OrderItemId orderItemId, final int size);
 	OrderItemDto findById(final OrderItemId orderItemId);
 	OrderItemDto save(final OrderItemDto orderItemDto);
 	OrderItemDto update(final OrderItemDto orderItemDto);
+	List<OrderItemDto> saveAll(final List<OrderItemDto> orderItemDtos);
 	void deleteById(final OrderItemId orderItemId);
+	List<OrderItemDto> handleOrderPlaced(final List<OrderPlacedEvent> orderPlacedEvents);
+	void exportAll(final Consumer<OrderItemDto> action);
 	
 }
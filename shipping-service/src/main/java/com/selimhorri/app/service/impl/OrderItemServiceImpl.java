@@ -1,23 +1,49 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.event.OrderPlacedEvent;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.helper.OrderItemMappingHelper;
 import com.selimhorri.app.repository.OrderItemRepository;
 import com.selimhorri.app.service.OrderItemService;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,36 +53,61 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class OrderItemServiceImpl implements OrderItemService {
 	
+	/**
+	 * Max number of ids sent in a single bulk lookup, keeps the query string bounded
+	 */
+	static final int BULK_FETCH_CHUNK_SIZE = 100;
+	
 	private final OrderItemRepository orderItemRepository;
+	private final EntityManager entityManager;
 	private final RestTemplate restTemplate;
+	private final ExecutorService enrichmentExecutor;
+	private final CircuitBreakerFactory<?, ?> circuitBreakerFactory;
+	private final BulkheadRegistry bulkheadRegistry;
+	private final OrderItemsChangedPublisher orderItemsChangedPublisher;
 	
 	@Override
 	public List<OrderItemDto> findAll() {
 		log.info("*** OrderItemDto List, service; fetch all orderItems *");
-		return this.orderItemRepository.findAll()
+		return this.enrich(this.orderItemRepository.findAll()
 				.stream()
 					.map(OrderItemMappingHelper::map)
-					.map(o -> {
-						o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-						o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-								.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
-						return o;
-					})
+					.collect(Collectors.toUnmodifiableList()))
+				.stream()
 					.distinct()
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public Slice<OrderItemDto> findAll(final Pageable pageable) {
+		log.info("*** OrderItemDto Slice, service; fetch orderItems page *");
+		return this.enrich(this.orderItemRepository.findAllBy(pageable)
+				.map(OrderItemMappingHelper::map));
+	}
+	
+	@Override
+	public Slice<OrderItemDto> findAllAfter(final OrderItemId orderItemId, final int size) {
+		log.info("*** OrderItemDto Slice, service; fetch orderItems after cursor *");
+		return this.enrich(this.orderItemRepository.findAllAfter(
+					orderItemId.getOrderId(), orderItemId.getProductId(), 
+					PageRequest.of(0, size, Sort.by("orderId", "productId")))
+				.map(OrderItemMappingHelper::map));
+	}
+	
 	@Override
 	public OrderItemDto findById(final OrderItemId orderItemId) {
 		log.info("*** OrderItemDto, service; fetch orderItem by id *");
 		return this.orderItemRepository.findById(null)
 				.map(OrderItemMappingHelper::map)
 				.map(o -> {
-					o.setProductDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class));
-					o.setOrderDto(this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
-							.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class));
+					o.setProductDto(this.callRemote(AppConstant.RemoteDependencies.PRODUCT_SERVICE, 
+							() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+									.PRODUCT_SERVICE_API_URL + "/" + o.getProductDto().getProductId(), ProductDto.class), 
+							o.getProductDto()));
+					o.setOrderDto(this.callRemote(AppConstant.RemoteDependencies.ORDER_SERVICE, 
+							() -> this.restTemplate.getForObject(AppConstant.DiscoveredDomainsApi
+									.ORDER_SERVICE_API_URL + "/" + o.getOrderDto().getOrderId(), OrderDto.class), 
+							o.getOrderDto()));
 					return o;
 				})
 				.orElseThrow(() -> new OrderItemNotFoundException(String.format("OrderItem with id: %s not found", orderItemId)));
@@ -65,21 +116,218 @@ public class OrderItemServiceImpl implements OrderItemService {
 	@Override
 	public OrderItemDto save(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; save orderItem *");
-		return OrderItemMappingHelper.map(this.orderItemRepository
-				.save(OrderItemMappingHelper.map(orderItemDto)));
+		final OrderItem orderItem = this.orderItemRepository.save(OrderItemMappingHelper.map(orderItemDto));
+		this.orderItemsChangedPublisher.publishAfterCommit(List.of(orderItem.getOrderId()));
+		return OrderItemMappingHelper.map(orderItem);
 	}
 	
 	@Override
 	public OrderItemDto update(final OrderItemDto orderItemDto) {
 		log.info("*** OrderItemDto, service; update orderItem *");
-		return OrderItemMappingHelper.map(this.orderItemRepository
-				.save(OrderItemMappingHelper.map(orderItemDto)));
+		final OrderItem orderItem = this.orderItemRepository.save(OrderItemMappingHelper.map(orderItemDto));
+		this.orderItemsChangedPublisher.publishAfterCommit(List.of(orderItem.getOrderId()));
+		return OrderItemMappingHelper.map(orderItem);
+	}
+	
+	/**
+	 * Inserts or updates many order items in one transaction, the last line wins for a repeated id
+	 */
+	@Override
+	public List<OrderItemDto> saveAll(final List<OrderItemDto> orderItemDtos) {
+		log.info("*** OrderItemDto List, service; save {} orderItems *", orderItemDtos.size());
+		if (orderItemDtos.size() > AppConstant.BULK_WRITE_MAX_SIZE)
+			throw new IllegalArgumentException(String.format("Batch of %d orderItems exceeds the limit of %d", 
+					orderItemDtos.size(), AppConstant.BULK_WRITE_MAX_SIZE));
+		if (orderItemDtos.stream().anyMatch(o -> o.getProductId() == null || o.getOrderId() == null))
+			throw new IllegalArgumentException("Every orderItem of a batch needs a productId and an orderId");
+		
+		final Map<OrderItemId, OrderItem> orderItems = orderItemDtos.stream()
+				.map(OrderItemMappingHelper::map)
+				.collect(Collectors.toMap(OrderItem::getId, Function.identity(), (a, b) -> b, LinkedHashMap::new));
+		final List<OrderItem> savedOrderItems = this.upsertAll(orderItems.values());
+		this.orderItemsChangedPublisher.publishAfterCommit(orderItems.keySet().stream()
+				.map(OrderItemId::getOrderId)
+				.collect(Collectors.toUnmodifiableSet()));
+		return savedOrderItems
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
 	}
 	
 	@Override
 	public void deleteById(final OrderItemId orderItemId) {
 		log.info("*** Void, service; delete orderItem by id *");
 		this.orderItemRepository.deleteById(orderItemId);
+		this.orderItemsChangedPublisher.publishAfterCommit(List.of(orderItemId.getOrderId()));
+	}
+	
+	/**
+	 * Stores the lines of every placed order, lines of the same product are merged. 
+	 * Events are deduplicated by eventId and redelivered ones write the same rows again (same composite key), 
+	 * so handling is idempotent, rows are written through the same batched path as {@link #saveAll(List)}
+	 */
+	@Override
+	public List<OrderItemDto> handleOrderPlaced(final List<OrderPlacedEvent> orderPlacedEvents) {
+		log.info("*** OrderItemDto List, service; handle {} OrderPlaced events *", orderPlacedEvents.size());
+		final Map<String, OrderPlacedEvent> distinctEvents = orderPlacedEvents.stream()
+				.collect(Collectors.toMap(OrderPlacedEvent::getEventId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
+		final Map<OrderItemId, OrderItem> orderItems = new LinkedHashMap<>();
+		for (final OrderPlacedEvent e : distinctEvents.values())
+			e.getOrderLines().forEach(l -> orderItems.merge(new OrderItemId(l.getProductId(), e.getOrderId()), 
+					OrderItem.builder()
+						.productId(l.getProductId())
+						.orderId(e.getOrderId())
+						.orderedQuantity(l.getOrderedQuantity())
+						.build(), 
+					(a, b) -> {
+						a.setOrderedQuantity(a.getOrderedQuantity() + b.getOrderedQuantity());
+						return a;
+					}));
+		final List<OrderItem> savedOrderItems = this.upsertAll(orderItems.values());
+		this.orderItemsChangedPublisher.publishAfterCommit(distinctEvents.values().stream()
+				.map(OrderPlacedEvent::getOrderId)
+				.collect(Collectors.toUnmodifiableSet()));
+		return savedOrderItems
+				.stream()
+					.map(OrderItemMappingHelper::map)
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Streams every row straight from the JDBC cursor, the persistence context is cleared
+	 * every {@link AppConstant#EXPORT_FETCH_SIZE} rows so memory stays flat, remote enrichment is skipped
+	 */
+	@Override
+	public void exportAll(final Consumer<OrderItemDto> action) {
+		log.info("*** OrderItemDto Stream, service; export all order items *");
+		try (final Stream<OrderItem> orderItems = this.orderItemRepository.streamAll()) {
+			final int[] count = {0};
+			orderItems.forEach(e -> {
+				action.accept(OrderItemMappingHelper.map(e));
+				if (++count[0] % AppConstant.EXPORT_FETCH_SIZE == 0)
+					this.entityManager.clear();
+			});
+		}
+	}
+	
+	/**
+	 * Existing rows are read with a single query and updated in place, absent ones are marked new 
+	 * so they are persisted without the merge SELECT, inserts and updates then go out as JDBC batches 
+	 * (hibernate.jdbc.batch_size with ordered inserts and updates) when the transaction flushes
+	 */
+	private List<OrderItem> upsertAll(final Collection<OrderItem> orderItems) {
+		if (orderItems.isEmpty())
+			return List.of();
+		
+		final Map<OrderItemId, OrderItem> existingOrderItems = this.orderItemRepository.findAllByOrderIdInAndProductIdIn(
+					orderItems.stream().map(OrderItem::getOrderId).collect(Collectors.toSet()), 
+					orderItems.stream().map(OrderItem::getProductId).collect(Collectors.toSet()))
+				.stream()
+					.collect(Collectors.toMap(OrderItem::getId, Function.identity()));
+		return this.orderItemRepository.saveAll(orderItems.stream()
+				.map(o -> {
+					final OrderItem existingOrderItem = existingOrderItems.get(o.getId());
+					if (existingOrderItem == null) {
+						o.setNew(true);
+						return o;
+					}
+					existingOrderItem.setOrderedQuantity(o.getOrderedQuantity());
+					return existingOrderItem;
+				})
+				.collect(Collectors.toUnmodifiableList()));
+	}
+	
+	private Slice<OrderItemDto> enrich(final Slice<OrderItemDto> orderItemDtos) {
+		return new SliceImpl<>(this.enrich(orderItemDtos.getContent()), 
+				orderItemDtos.getPageable(), orderItemDtos.hasNext());
+	}
+	
+	/**
+	 * Attaches remote products and orders, both remote sets are resolved concurrently,
+	 * a dto keeps its un-enriched product or order when that lookup is degraded
+	 */
+	private List<OrderItemDto> enrich(final List<OrderItemDto> orderItemDtos) {
+		final CompletableFuture<Map<Integer, ProductDto>> productDtos = this.fetchAllById(
+				AppConstant.RemoteDependencies.PRODUCT_SERVICE,
+				AppConstant.DiscoveredDomainsApi.PRODUCT_SERVICE_API_URL,
+				orderItemDtos.stream().map(OrderItemDto::getProductId).collect(Collectors.toSet()),
+				new ParameterizedTypeReference<DtoCollectionResponse<ProductDto>>() {},
+				ProductDto::getProductId);
+		final CompletableFuture<Map<Integer, OrderDto>> orderDtos = this.fetchAllById(
+				AppConstant.RemoteDependencies.ORDER_SERVICE,
+				AppConstant.DiscoveredDomainsApi.ORDER_SERVICE_API_URL,
+				orderItemDtos.stream().map(OrderItemDto::getOrderId).collect(Collectors.toSet()),
+				new ParameterizedTypeReference<DtoCollectionResponse<OrderDto>>() {},
+				OrderDto::getOrderId);
+		
+		final Map<Integer, ProductDto> resolvedProductDtos = join(productDtos);
+		final Map<Integer, OrderDto> resolvedOrderDtos = join(orderDtos);
+		
+		return orderItemDtos.stream()
+				.map(o -> {
+					o.setProductDto(resolvedProductDtos.getOrDefault(o.getProductId(), o.getProductDto()));
+					o.setOrderDto(resolvedOrderDtos.getOrDefault(o.getOrderId(), o.getOrderDto()));
+					return o;
+				})
+				.collect(Collectors.toUnmodifiableList());
+	}
+	
+	/**
+	 * Resolves distinct ids against a remote bulk endpoint ({@code ?ids=...}),
+	 * each chunk of {@link #BULK_FETCH_CHUNK_SIZE} ids is fetched concurrently on the enrichment executor
+	 */
+	private <T> CompletableFuture<Map<Integer, T>> fetchAllById(final String dependency, final String apiUrl, final Collection<Integer> ids, 
+			final ParameterizedTypeReference<DtoCollectionResponse<T>> responseType, 
+			final Function<T, Integer> idExtractor) {
+		
+		final List<Integer> distinctIds = ids.stream()
+				.filter(Objects::nonNull)
+				.distinct()
+				.collect(Collectors.toUnmodifiableList());
+		final List<CompletableFuture<Collection<T>>> chunks = new ArrayList<>();
+		
+		for (int from = 0; from < distinctIds.size(); from += BULK_FETCH_CHUNK_SIZE) {
+			final String joinedIds = distinctIds.subList(from, Math.min(from + BULK_FETCH_CHUNK_SIZE, distinctIds.size()))
+					.stream()
+						.map(String::valueOf)
+						.collect(Collectors.joining(","));
+			chunks.add(CompletableFuture.supplyAsync(() -> {
+				final DtoCollectionResponse<T> response = this.callRemote(dependency, 
+						() -> this.restTemplate
+								.exchange(apiUrl + "?ids=" + joinedIds, HttpMethod.GET, null, responseType)
+								.getBody(), 
+						null);
+				return (response == null || response.getCollection() == null) ? List.<T>of() : response.getCollection();
+			}, this.enrichmentExecutor));
+		}
+		
+		return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+				.thenApply(v -> chunks.stream()
+						.flatMap(chunk -> chunk.join().stream())
+						.collect(Collectors.toMap(idExtractor, Function.identity(), (a, b) -> a)));
+	}
+	
+	/**
+	 * Runs a remote call behind the circuit breaker, semaphore bulkhead and time limiter of its dependency,
+	 * answers the degraded value when the call fails, times out or is not permitted
+	 */
+	private <T> T callRemote(final String dependency, final Supplier<T> call, final T degraded) {
+		return this.circuitBreakerFactory.create(dependency)
+				.run(Bulkhead.decorateSupplier(this.bulkheadRegistry.bulkhead(dependency), call), throwable -> {
+					log.warn("*** {}, service; remote call degraded: {} *", dependency, throwable.toString());
+					return degraded;
+				});
+	}
+	
+	private static <T> T join(final CompletableFuture<T> future) {
+		try {
+			return future.join();
+		}
+		catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
 	}
 	
 	
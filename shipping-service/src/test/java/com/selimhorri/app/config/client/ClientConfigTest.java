@@ -0,0 +1,110 @@
+package com.selimhorri.app.config.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.metrics.AutoTimer;
+import org.springframework.boot.actuate.metrics.web.client.DefaultRestTemplateExchangeTagsProvider;
+import org.springframework.boot.actuate.metrics.web.client.MetricsRestTemplateCustomizer;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.selimhorri.app.config.metrics.PayloadSizeInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ClientConfigTest {
+
+        private final ClientConfig clientConfig = new ClientConfig();
+        private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        private WireMockServer wireMockServer;
+        private PoolingHttpClientConnectionManager connectionManager;
+        private CloseableHttpClient httpClient;
+        private RestTemplate restTemplate;
+
+        @BeforeEach
+        void setUp() {
+                wireMockServer = new WireMockServer(options().dynamicPort());
+                wireMockServer.start();
+
+                final HttpClientProperties properties = new HttpClientProperties();
+                properties.setMaxPerRoute(2);
+                properties.setReadTimeout(Duration.ofSeconds(1));
+                connectionManager = clientConfig.httpClientConnectionManagerBean(properties);
+                httpClient = clientConfig.httpClientBean(connectionManager, properties);
+                final MetricsRestTemplateCustomizer metricsRestTemplateCustomizer = new MetricsRestTemplateCustomizer(
+                                meterRegistry, new DefaultRestTemplateExchangeTagsProvider(), "http.client.requests", AutoTimer.ENABLED);
+                restTemplate = clientConfig.restTemplateBean(httpClient, meterRegistry, new StaticListableBeanFactory(
+                                Map.of("metricsRestTemplateCustomizer", metricsRestTemplateCustomizer))
+                                .getBeanProvider(MetricsRestTemplateCustomizer.class));
+        }
+
+        @AfterEach
+        void tearDown() throws IOException {
+                httpClient.close();
+                wireMockServer.stop();
+        }
+
+        @Test
+        void restTemplate_SequentialCalls_ReuseOneKeptAliveConnection() {
+                wireMockServer.stubFor(get(urlEqualTo("/api/products/1"))
+                                .willReturn(okJson("{\"productId\":1}")));
+
+                for (int i = 0; i < 3; i++)
+                        assertEquals("{\"productId\":1}", restTemplate.getForObject(wireMockServer.url("/api/products/1"), String.class));
+
+                assertEquals(1, connectionManager.getTotalStats().getAvailable());
+                assertEquals(0, connectionManager.getTotalStats().getLeased());
+        }
+
+        @Test
+        void restTemplate_SlowPeer_FailsOnReadTimeout() {
+                wireMockServer.stubFor(get(urlEqualTo("/api/products/1"))
+                                .willReturn(okJson("{\"productId\":1}").withFixedDelay(3_000)));
+
+                assertThrows(ResourceAccessException.class,
+                                () -> restTemplate.getForObject(wireMockServer.url("/api/products/1"), String.class));
+        }
+
+        @Test
+        void restTemplate_Call_RecordsLatencyAndPayloadSizesPerTarget() {
+                wireMockServer.stubFor(post(urlEqualTo("/api/products"))
+                                .willReturn(okJson("{\"productId\":1,\"productTitle\":\"asus\"}")));
+
+                restTemplate.postForObject(wireMockServer.url("/api/products"), "{\"productTitle\":\"asus\"}", String.class);
+
+                assertEquals(1, meterRegistry.get("http.client.requests")
+                                .tag("clientName", "localhost").tag("uri", "/api/products").tag("outcome", "SUCCESS")
+                                .timer().count());
+                assertEquals(23.0, meterRegistry.get(PayloadSizeInterceptor.REQUEST_SIZE)
+                                .tag("clientName", "localhost").tag("method", "POST").summary().totalAmount());
+                assertEquals(37.0, meterRegistry.get(PayloadSizeInterceptor.RESPONSE_SIZE)
+                                .tag("clientName", "localhost").tag("method", "POST").summary().totalAmount());
+        }
+
+        @Test
+        void httpClientPoolMetrics_BoundToRegistry_ExposesPoolLimits() {
+                final MeterRegistry registry = new SimpleMeterRegistry();
+                clientConfig.httpClientPoolMetricsBean(connectionManager).bindTo(registry);
+
+                assertEquals(2.0, registry.get("httpcomponents.httpclient.pool.route.max.default")
+                                .tag("httpclient", "rest-template").gauge().value());
+                assertEquals(200.0, registry.get("httpcomponents.httpclient.pool.total.max")
+                                .tag("httpclient", "rest-template").gauge().value());
+        }
+
+}
@@ -0,0 +1,99 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import com.selimhorri.app.constant.AppConstant;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.repository.OrderItemRepository;
+
+/**
+ * Rows per second of OrderItemServiceImpl bulk writes against the one-row-per-call save path, on the embedded database.
+ * The printed table also shows the prepared JDBC statements of each path, the single save path pays a merge SELECT per row.
+ * Run with: mvn test -Dbenchmark=true -Dtest=OrderItemBulkWriteBenchmarkTest
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate=WARN",
+})
+class OrderItemBulkWriteBenchmarkTest {
+
+        private static final int ROWS = AppConstant.BULK_WRITE_MAX_SIZE;
+
+        @Autowired
+        private OrderItemRepository orderItemRepository;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private OrderItemServiceImpl orderItemService;
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+                orderItemService = new OrderItemServiceImpl(orderItemRepository, entityManager, null, null, null, null,
+                                mock(OrderItemsChangedPublisher.class));
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        }
+
+        @Test
+        void saveAll_RowsPerSecond_BatchedWritesBeatOneSavePerRow() {
+                System.out.printf("%-14s %8s %12s %10s %12s%n", "path", "rows", "elapsed(ms)", "rows/s", "statements");
+
+                final long singleStatements = measure("single save", () -> orderItems(1_000).forEach(orderItemService::save));
+                final long batchStatements = measure("bulk insert", () -> orderItemService.saveAll(orderItems(2_000)));
+                final long updateStatements = measure("bulk update", () -> orderItemService.saveAll(orderItems(2_000)));
+
+                assertTrue(singleStatements >= ROWS, "single saves pay a merge SELECT per row");
+                assertTrue(batchStatements < ROWS / 10, "bulk inserts are flushed as JDBC batches");
+                assertTrue(updateStatements < ROWS / 10, "bulk updates are flushed as JDBC batches");
+                assertEquals(2L * ROWS, orderItemRepository.count() - 4);
+        }
+
+        private long measure(final String path, final Runnable write) {
+                entityManager.flush();
+                entityManager.clear();
+                statistics.clear();
+                final long start = System.nanoTime();
+                write.run();
+                entityManager.flush();
+                final long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                final long statements = statistics.getPrepareStatementCount();
+                System.out.printf("%-14s %8d %12d %10d %12d%n", path, ROWS, elapsedMs, ROWS * 1000L / elapsedMs, statements);
+                return statements;
+        }
+
+        private static List<OrderItemDto> orderItems(final int orderIdOffset) {
+                return IntStream.range(0, ROWS)
+                                .mapToObj(i -> OrderItemDto.builder()
+                                                .productId(1 + i % 50)
+                                                .orderId(orderIdOffset + i / 50)
+                                                .orderedQuantity(1 + i % 7)
+                                                .build())
+                                .collect(Collectors.toList());
+        }
+
+}
@@ -0,0 +1,133 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.domain.OrderItem;
+import com.selimhorri.app.dto.OrderDto;
+import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
+import com.selimhorri.app.repository.OrderItemRepository;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
+/**
+ * Latency curve of OrderItemServiceImpl.findAll enrichment against item count and fan-out
+ * (number of distinct products/orders referenced by the items).
+ * Every remote call is simulated with a fixed latency, the printed table compares the measured
+ * time with the cost of the former two-calls-per-item approach.
+ * Run with: mvn test -Dbenchmark=true -Dtest=OrderItemEnrichmentBenchmarkTest
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrderItemEnrichmentBenchmarkTest {
+
+        private static final long REMOTE_LATENCY_MS = 2L;
+        private static final int[] ITEM_COUNTS = {10, 100, 1_000, 5_000};
+        private static final double[] FAN_OUTS = {0.01, 0.1, 1.0};
+
+        private OrderItemRepository orderItemRepository;
+        private RestTemplate restTemplate;
+        private ExecutorService enrichmentExecutor;
+        private OrderItemServiceImpl orderItemService;
+        private AtomicInteger remoteCalls;
+
+        @BeforeEach
+        void setUp() {
+                orderItemRepository = mock(OrderItemRepository.class);
+                restTemplate = mock(RestTemplate.class);
+                enrichmentExecutor = Executors.newFixedThreadPool(8);
+                orderItemService = new OrderItemServiceImpl(orderItemRepository, mock(EntityManager.class), restTemplate, enrichmentExecutor,
+                                new Resilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), null),
+                                BulkheadRegistry.ofDefaults(), mock(OrderItemsChangedPublisher.class));
+                remoteCalls = new AtomicInteger();
+
+                when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                                .thenAnswer(invocation -> {
+                                        remoteCalls.incrementAndGet();
+                                        TimeUnit.MILLISECONDS.sleep(REMOTE_LATENCY_MS);
+                                        final String url = invocation.getArgument(0);
+                                        final List<Integer> ids = Arrays.stream(url.substring(url.indexOf("?ids=") + 5).split(","))
+                                                        .map(Integer::valueOf)
+                                                        .collect(Collectors.toList());
+                                        final List<?> dtos = url.contains("/api/products")
+                                                        ? ids.stream().map(id -> ProductDto.builder().productId(id).build()).collect(Collectors.toList())
+                                                        : ids.stream().map(id -> OrderDto.builder().orderId(id).build()).collect(Collectors.toList());
+                                        return ResponseEntity.ok(new DtoCollectionResponse<>(dtos));
+                                });
+        }
+
+        @AfterEach
+        void tearDown() {
+                enrichmentExecutor.shutdownNow();
+        }
+
+        @Test
+        void findAll_LatencyCurve_RemoteCallsDependOnDistinctIdsOnly() {
+                System.out.printf("%8s %8s %10s %8s %12s %16s%n",
+                                "items", "fan-out", "distinct", "calls", "elapsed(ms)", "sequential(ms)");
+
+                for (final int itemCount : ITEM_COUNTS) {
+                        for (final double fanOut : FAN_OUTS) {
+                                final int distinct = Math.max(1, (int) (itemCount * fanOut));
+                                when(orderItemRepository.findAll()).thenReturn(orderItems(itemCount, distinct));
+                                remoteCalls.set(0);
+
+                                final long start = System.nanoTime();
+                                final List<OrderItemDto> result = orderItemService.findAll();
+                                final long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                                final int chunks = (distinct + OrderItemServiceImpl.BULK_FETCH_CHUNK_SIZE - 1)
+                                                / OrderItemServiceImpl.BULK_FETCH_CHUNK_SIZE;
+                                System.out.printf("%8d %8.2f %10d %8d %12d %16d%n",
+                                                itemCount, fanOut, distinct, remoteCalls.get(), elapsedMs,
+                                                2L * itemCount * REMOTE_LATENCY_MS);
+
+                                assertEquals(itemCount, result.size());
+                                assertEquals(2 * chunks, remoteCalls.get());
+                                assertTrue(result.stream().allMatch(o -> o.getProductDto().getProductId().equals(o.getProductId())
+                                                && o.getOrderDto().getOrderId().equals(o.getOrderId())));
+                        }
+                }
+        }
+
+        private static List<OrderItem> orderItems(final int itemCount, final int distinct) {
+                return IntStream.range(0, itemCount)
+                                .mapToObj(i -> OrderItem.builder()
+                                                .productId(1 + i % distinct)
+                                                .orderId(1 + (i / Math.max(1, itemCount / distinct)) % distinct)
+                                                .orderedQuantity(i + 1)
+                                                .build())
+                                .collect(Collectors.toList());
+        }
+
+}
@@ -4,29 +4,53 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import com.selimhorri.app.constant.AppConstant;
 import com.selimhorri.app.domain.OrderItem;
 import com.selimhorri.app.domain.id.OrderItemId;
 import com.selimhorri.app.dto.OrderDto;
 import com.selimhorri.app.dto.OrderItemDto;
+import com.selimhorri.app.dto.OrderLineDto;
 import com.selimhorri.app.dto.ProductDto;
+import com.selimhorri.app.dto.event.OrderPlacedEvent;
+import com.selimhorri.app.dto.response.collection.DtoCollectionResponse;
 import com.selimhorri.app.exception.wrapper.OrderItemNotFoundException;
 import com.selimhorri.app.repository.OrderItemRepository;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class OrderItemServiceImplTest {
 
@@ -36,7 +60,18 @@ class OrderItemServiceImplTest {
         @Mock
         private RestTemplate restTemplate;
 
-        @InjectMocks
+        @Mock
+        private ExecutorService enrichmentExecutor;
+
+        @Mock
+        private OrderItemsChangedPublisher orderItemsChangedPublisher;
+
+        @Spy
+        private CircuitBreakerFactory<?, ?> circuitBreakerFactory = new Resilience4JCircuitBreakerFactory(
+                CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), null);
+
+        private BulkheadRegistry bulkheadRegistry;
+
         private OrderItemServiceImpl orderItemService;
 
         private OrderItem testOrderItem;
@@ -47,6 +82,16 @@ class OrderItemServiceImplTest {
 
         @BeforeEach
         void setUp() {
+                bulkheadRegistry = BulkheadRegistry.ofDefaults();
+                orderItemService = new OrderItemServiceImpl(orderItemRepository, null, restTemplate, enrichmentExecutor,
+                                circuitBreakerFactory, bulkheadRegistry, orderItemsChangedPublisher);
+
+                // Run enrichment lookups inline on the test thread
+                lenient().doAnswer(invocation -> {
+                        invocation.<Runnable>getArgument(0).run();
+                        return null;
+                }).when(enrichmentExecutor).execute(any(Runnable.class));
+
                 testOrderItemId = new OrderItemId(1, 1); // productId=1, orderId=1
 
                 testProductDto = ProductDto.builder()
@@ -115,9 +160,12 @@ class OrderItemServiceImplTest {
                                 .build();
 
                 when(orderItemRepository.findAll()).thenReturn(orderItems);
-                when(restTemplate.getForObject(contains("products/1"), eq(ProductDto.class))).thenReturn(product1);
-                when(restTemplate.getForObject(contains("products/2"), eq(ProductDto.class))).thenReturn(product2);
-                when(restTemplate.getForObject(contains("orders/1"), eq(OrderDto.class))).thenReturn(order1);
+                when(restTemplate.exchange(contains("products?ids="), eq(HttpMethod.GET), isNull(),
+                                any(ParameterizedTypeReference.class)))
+                                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(product1, product2))));
+                when(restTemplate.exchange(contains("orders?ids=1"), eq(HttpMethod.GET), isNull(),
+                                any(ParameterizedTypeReference.class)))
+                                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(order1))));
 
                 // When
                 List<OrderItemDto> result = orderItemService.findAll();
@@ -139,8 +187,11 @@ class OrderItemServiceImplTest {
                 assertEquals("Product 2", result.get(1).getProductDto().getProductTitle());
 
                 verify(orderItemRepository, times(1)).findAll();
-                verify(restTemplate, times(2)).getForObject(contains("products/"), eq(ProductDto.class));
-                verify(restTemplate, times(2)).getForObject(contains("orders/"), eq(OrderDto.class));
+                verify(restTemplate, times(1)).exchange(contains("products?ids="), eq(HttpMethod.GET), isNull(),
+                                any(ParameterizedTypeReference.class));
+                verify(restTemplate, times(1)).exchange(contains("orders?ids="), eq(HttpMethod.GET), isNull(),
+                                any(ParameterizedTypeReference.class));
+                verify(restTemplate, never()).getForObject(anyString(), any(Class.class));
         }
 
         @Test
@@ -169,6 +220,26 @@ class OrderItemServiceImplTest {
                 verify(restTemplate, times(1)).getForObject(contains("orders/"), eq(OrderDto.class));
         }
 
+        @Test
+        void findById_WhenOrderServiceBulkheadIsFull_ShouldDegradeOnlyTheOrder() {
+                // Given
+                when(orderItemRepository.findById(null)).thenReturn(Optional.of(testOrderItem));
+                when(restTemplate.getForObject(contains("products/1"), eq(ProductDto.class)))
+                                .thenReturn(testProductDto);
+                Bulkhead orderServiceBulkhead = bulkheadRegistry.bulkhead(AppConstant.RemoteDependencies.ORDER_SERVICE,
+                                BulkheadConfig.custom().maxConcurrentCalls(1).build());
+                orderServiceBulkhead.acquirePermission();
+
+                // When
+                OrderItemDto result = orderItemService.findById(testOrderItemId);
+
+                // Then
+                assertEquals(testProductDto.getProductTitle(), result.getProductDto().getProductTitle());
+                assertEquals(testOrderItem.getOrderId(), result.getOrderDto().getOrderId());
+                assertNull(result.getOrderDto().getOrderDesc());
+                verify(restTemplate, never()).getForObject(contains("orders/"), eq(OrderDto.class));
+        }
+
         @Test
         void findById_WhenOrderItemNotExists_ShouldThrowOrderItemNotFoundException() {
                 // Given
@@ -264,6 +335,7 @@ class OrderItemServiceImplTest {
 
                 // Then
                 verify(orderItemRepository, times(1)).deleteById(orderItemId);
+                verify(orderItemsChangedPublisher, times(1)).publishAfterCommit(List.of(1));
         }
 
         @Test
@@ -302,10 +374,12 @@ class OrderItemServiceImplTest {
                                 .build();
 
                 when(orderItemRepository.findAll()).thenReturn(orderItems);
-                when(restTemplate.getForObject(contains("products/1"), eq(ProductDto.class)))
-                                .thenReturn(expensiveProduct);
-                when(restTemplate.getForObject(contains("products/2"), eq(ProductDto.class))).thenReturn(cheapProduct);
-                when(restTemplate.getForObject(contains("orders/1"), eq(OrderDto.class))).thenReturn(bulkOrder);
+                when(restTemplate.exchange(contains("products?ids="), eq(HttpMethod.GET), isNull(),
+                                any(ParameterizedTypeReference.class)))
+                                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(expensiveProduct, cheapProduct))));
+                when(restTemplate.exchange(contains("orders?ids=1"), eq(HttpMethod.GET), isNull(),
+                                any(ParameterizedTypeReference.class)))
+                                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(bulkOrder))));
 
                 // When
                 List<OrderItemDto> result = orderItemService.findAll();
@@ -331,6 +405,30 @@ class OrderItemServiceImplTest {
                 verify(orderItemRepository, times(1)).findAll();
         }
 
+        @Test
+        void findAllAfter_WhenCompositeCursorGiven_ShouldKeepSliceMetadataAndEnrich() {
+                // Given
+                PageRequest expectedPageable = PageRequest.of(0, 1, Sort.by("orderId", "productId"));
+                when(orderItemRepository.findAllAfter(1, 0, expectedPageable))
+                                .thenReturn(new SliceImpl<>(Arrays.asList(testOrderItem), expectedPageable, true));
+                when(restTemplate.exchange(contains("products?ids=1"), eq(HttpMethod.GET), isNull(),
+                                any(ParameterizedTypeReference.class)))
+                                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testProductDto))));
+                when(restTemplate.exchange(contains("orders?ids=1"), eq(HttpMethod.GET), isNull(),
+                                any(ParameterizedTypeReference.class)))
+                                .thenReturn(ResponseEntity.ok(new DtoCollectionResponse<>(List.of(testOrderDto))));
+
+                // When
+                Slice<OrderItemDto> result = orderItemService.findAllAfter(new OrderItemId(0, 1), 1);
+
+                // Then
+                assertTrue(result.hasNext());
+                assertEquals(1, result.getNumberOfElements());
+                assertEquals("Test Product", result.getContent().get(0).getProductDto().getProductTitle());
+                assertEquals("Test Order", result.getContent().get(0).getOrderDto().getOrderDesc());
+                verify(orderItemRepository, never()).findAll();
+        }
+
         @Test
         void save_WhenOrderItemWithCompositeKey_ShouldHandleCorrectly() {
                 // Given
@@ -365,4 +463,64 @@ class OrderItemServiceImplTest {
 
                 verify(orderItemRepository, times(1)).save(any(OrderItem.class));
         }
+
+        @Test
+        void handleOrderPlaced_WhenEventsAreRedelivered_ShouldSaveEachOrderLineOnce() {
+                // Given
+                OrderPlacedEvent event = OrderPlacedEvent.builder()
+                                .eventId("e-1")
+                                .orderId(5)
+                                .orderLines(Arrays.asList(
+                                                OrderLineDto.builder().productId(1).orderedQuantity(2).build(),
+                                                OrderLineDto.builder().productId(1).orderedQuantity(1).build(),
+                                                OrderLineDto.builder().productId(3).orderedQuantity(4).build()))
+                                .build();
+                when(orderItemRepository.saveAll(any())).thenAnswer(invocation -> new ArrayList<OrderItem>(invocation.getArgument(0)));
+
+                // When
+                List<OrderItemDto> result = orderItemService.handleOrderPlaced(Arrays.asList(event, event));
+
+                // Then
+                assertEquals(2, result.size());
+                assertEquals(1, result.get(0).getProductId());
+                assertEquals(5, result.get(0).getOrderId());
+                assertEquals(3, result.get(0).getOrderedQuantity());
+                assertEquals(4, result.get(1).getOrderedQuantity());
+                verifyNoInteractions(restTemplate);
+                verify(orderItemsChangedPublisher, times(1)).publishAfterCommit(Set.of(5));
+        }
+
+        @Test
+        void saveAll_WhenSomeRowsExist_ShouldUpdateThemInPlaceAndPersistTheOthersAsNew() {
+                // Given
+                OrderItem existing = OrderItem.builder().productId(1).orderId(1).orderedQuantity(3).build();
+                List<OrderItemDto> orderItemDtos = Arrays.asList(
+                                OrderItemDto.builder().productId(1).orderId(1).orderedQuantity(5).build(),
+                                OrderItemDto.builder().productId(2).orderId(1).orderedQuantity(1).build(),
+                                OrderItemDto.builder().productId(2).orderId(1).orderedQuantity(2).build());
+                when(orderItemRepository.findAllByOrderIdInAndProductIdIn(any(), any())).thenReturn(List.of(existing));
+                when(orderItemRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+                // When
+                List<OrderItemDto> result = orderItemService.saveAll(orderItemDtos);
+
+                // Then
+                assertEquals(2, result.size());
+                assertEquals(5, existing.getOrderedQuantity());
+                assertFalse(existing.isNew());
+                assertEquals(2, result.get(1).getOrderedQuantity());
+                verify(orderItemRepository, times(1)).findAllByOrderIdInAndProductIdIn(any(), any());
+                verify(orderItemRepository, never()).findById(any());
+                verify(orderItemRepository, never()).save(any(OrderItem.class));
+        }
+
+        @Test
+        void saveAll_WhenBatchExceedsLimit_ShouldThrowIllegalArgumentException() {
+                // Given
+                List<OrderItemDto> orderItemDtos = Collections.nCopies(AppConstant.BULK_WRITE_MAX_SIZE + 1, testOrderItemDto);
+
+                // When & Then
+                assertThrows(IllegalArgumentException.class, () -> orderItemService.saveAll(orderItemDtos));
+                verifyNoInteractions(orderItemRepository);
+        }
 }
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.selimhorri.app.service.impl;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.selimhorri.app.dto.event.OrderItemsChangedEvent;
+import com.selimhorri.app.repository.OrderItemRepository;
+import com.selimhorri.app.repository.OrderItemRepository.OrderItemTotals;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class OrderItemsChangedPublisherTest {
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    private OrderItemsChangedPublisher orderItemsChangedPublisher;
+
+    @BeforeEach
+    void setUp() {
+        orderItemsChangedPublisher = new OrderItemsChangedPublisher(orderItemRepository, transactionManager, restTemplate,
+                new Resilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(), TimeLimiterRegistry.ofDefaults(), null),
+                BulkheadRegistry.ofDefaults());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishAfterCommit_WhenOrderLostItsLastItem_ShouldSendZeroTotals() {
+        // Given
+        when(orderItemRepository.findTotalsByOrderIdIn(Set.of(1, 2))).thenReturn(List.of(totals(1, 2L, 7L)));
+
+        // When
+        orderItemsChangedPublisher.publishAfterCommit(List.of(1, 2, 1));
+
+        // Then
+        ArgumentCaptor<List<OrderItemsChangedEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(restTemplate).postForEntity(eq(OrderItemsChangedPublisher.ORDER_ITEMS_CHANGED_URL), events.capture(), eq(Integer.class));
+        List<OrderItemsChangedEvent> sorted = events.getValue().stream()
+                .sorted(Comparator.comparing(OrderItemsChangedEvent::getOrderId))
+                .collect(Collectors.toList());
+        assertEquals(2, sorted.size());
+        assertEquals(2, sorted.get(0).getItemCount());
+        assertEquals(7, sorted.get(0).getTotalQuantity());
+        assertEquals(0, sorted.get(1).getItemCount());
+        assertNotNull(sorted.get(1).getOccurredAt());
+    }
+
+    @Test
+    void publishAfterCommit_WhenOrderServiceDown_ShouldNotFail() {
+        // Given
+        when(orderItemRepository.findTotalsByOrderIdIn(Set.of(3))).thenReturn(List.of());
+        when(restTemplate.postForEntity(any(String.class), any(), eq(Integer.class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+
+        // When / Then
+        assertDoesNotThrow(() -> orderItemsChangedPublisher.publishAfterCommit(List.of(3)));
+    }
+
+    private static OrderItemTotals totals(final Integer orderId, final Long itemCount, final Long totalQuantity) {
+        return new OrderItemTotals() {
+
+            @Override
+            public Integer getOrderId() {
+                return orderId;
+            }
+
+            @Override
+            public Long getItemCount() {
+                return itemCount;
+            }
+
+            @Override
+            public Long getTotalQuantity() {
+                return totalQuantity;
+            }
+
+        };
+    }
+
+}
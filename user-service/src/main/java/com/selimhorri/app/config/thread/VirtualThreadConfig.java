@@ -0,0 +1,64 @@
+package com.selimhorri.app.config.thread;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opt-in execution mode serving every request on its own virtual thread (needs a Java 21+ runtime).
+ * Outbound RestTemplate and Feign calls are made from the request thread, so they park
+ * the virtual thread instead of holding a pooled one, server.tomcat.threads.max no longer
+ * bounds concurrency, server.tomcat.max-connections and the downstream pools do.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.virtual-threads.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+	
+	@Bean
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizerBean() {
+		final ExecutorService executor = newVirtualThreadPerTaskExecutor("tomcat-vt-");
+		log.info("*** Tomcat requests are served on virtual threads *");
+		return protocolHandler -> protocolHandler.setExecutor(executor);
+	}
+	
+	/**
+	 * Resolved reflectively so the build keeps targeting Java 11,
+	 * fails the startup when the running JVM has no virtual threads
+	 */
+	public static ExecutorService newVirtualThreadPerTaskExecutor(final String namePrefix) {
+		try {
+			final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			final Object builder = builderClass.getMethod("name", String.class, long.class)
+					.invoke(Thread.class.getMethod("ofVirtual").invoke(null), namePrefix, 0L);
+			final ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+			return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+					.invoke(null, threadFactory);
+		}
+		catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException(String.format("Virtual threads are not available on Java %s, "
+					+ "app.virtual-threads.enabled requires a Java 21+ runtime", Runtime.version()), e);
+		}
+	}
+	
+	
+	
+}
+
+
+
+
+
+
+
+
+
+
@@ -2,12 +2,17 @@ package com.selimhorri.app.repository;
 
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.selimhorri.app.domain.User;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
 	
+	Slice<User> findAllBy(final Pageable pageable);
+	Slice<User> findByUserIdGreaterThan(final Integer userId, final Pageable pageable);
+	
 	Optional<User> findByCredentialUsername(final String username);
 	
 }
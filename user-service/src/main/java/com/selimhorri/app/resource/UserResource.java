@@ -1,9 +1,13 @@
 package com.selimhorri.app.resource;
 
+import java.util.List;
+
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.selimhorri.app.dto.UserDto;
@@ -30,11 +35,27 @@ public class UserResource {
 	private final UserService userService;
 	
 	@GetMapping
-	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll() {
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll(
+			@RequestParam(value = "ids", required = false) final List<Integer> userIds) {
+		if (userIds != null) {
+			log.info("*** UserDto List, controller; fetch users by ids *");
+			return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAllById(userIds)));
+		}
 		log.info("*** UserDto List, controller; fetch all users *");
 		return ResponseEntity.ok(new DtoCollectionResponse<>(this.userService.findAll()));
 	}
 	
+	@GetMapping(params = "size")
+	public ResponseEntity<DtoCollectionResponse<UserDto>> findAll(
+			@RequestParam(value = "after", required = false) final Integer after, 
+			final Pageable pageable) {
+		log.info("*** UserDto Slice, controller; fetch users page *");
+		final Slice<UserDto> userDtos = (after != null) ? 
+				this.userService.findAllAfter(after, pageable.getPageSize()) : 
+				this.userService.findAll(pageable);
+		return ResponseEntity.ok(DtoCollectionResponse.of(userDtos, d -> String.valueOf(d.getUserId())));
+	}
+	
 	@GetMapping("/{userId}")
 	public ResponseEntity<UserDto> findById(
 			@PathVariable("userId") 
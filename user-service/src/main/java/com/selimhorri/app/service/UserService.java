@@ -1,12 +1,19 @@
 package com.selimhorri.app.service;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
 import com.selimhorri.app.dto.UserDto;
 
 public interface UserService {
 	
 	List<UserDto> findAll();
+	Slice<UserDto> findAll(final Pageable pageable);
+	Slice<UserDto> findAllAfter(final Integer userId, final int size);
+	List<UserDto> findAllById(final Collection<Integer> userIds);
 	UserDto findById(final Integer userId);
 	UserDto save(final UserDto userDto);
 	UserDto update(final UserDto userDto);
@@ -1,10 +1,15 @@
 package com.selimhorri.app.service.impl;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.selimhorri.app.dto.UserDto;
@@ -34,6 +39,30 @@ public class UserServiceImpl implements UserService {
 					.collect(Collectors.toUnmodifiableList());
 	}
 	
+	@Override
+	public List<UserDto> findAllById(final Collection<Integer> userIds) {
+		log.info("*** UserDto List, service; fetch users by ids *");
+		return this.userRepository.findAllById(userIds)
+				.stream()
+					.map(UserMappingHelper::map)
+					.distinct()
+					.collect(Collectors.toUnmodifiableList());
+	}
+	
+	@Override
+	public Slice<UserDto> findAll(final Pageable pageable) {
+		log.info("*** UserDto Slice, service; fetch users page *");
+		return this.userRepository.findAllBy(pageable)
+				.map(UserMappingHelper::map);
+	}
+	
+	@Override
+	public Slice<UserDto> findAllAfter(final Integer userId, final int size) {
+		log.info("*** UserDto Slice, service; fetch users after cursor *");
+		return this.userRepository.findByUserIdGreaterThan(userId, PageRequest.of(0, size, Sort.by("userId")))
+				.map(UserMappingHelper::map);
+	}
+	
 	@Override
 	public UserDto findById(final Integer userId) {
 		log.info("*** UserDto, service; fetch user by id *");
@@ -117,6 +117,22 @@ class UserServiceImplTest {
         verify(userRepository, times(1)).findAll();
     }
 
+    @Test
+    void findAllById_WhenUsersExist_ShouldReturnOnlyRequestedUsers() {
+        // Given
+        List<Integer> userIds = Arrays.asList(1, 3);
+        when(userRepository.findAllById(userIds)).thenReturn(Arrays.asList(testUser));
+
+        // When
+        List<UserDto> result = userService.findAllById(userIds);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("John", result.get(0).getFirstName());
+        verify(userRepository, times(1)).findAllById(userIds);
+        verify(userRepository, never()).findAll();
+    }
+
     @Test
     void findAll_WhenNoUsersExist_ShouldReturnEmptyList() {
         // Given